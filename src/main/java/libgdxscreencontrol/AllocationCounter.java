@@ -0,0 +1,33 @@
+package libgdxscreencontrol;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads the number of bytes allocated by the current thread, where the JVM supports it.
+ */
+public final class AllocationCounter {
+
+    private AllocationCounter() {}
+
+    /**
+     * Get the number of bytes allocated by the current thread so far, or -1 if this is not supported by the running JVM, as on Android.
+     *
+     * @return bytes allocated by the current thread or -1
+     */
+    public static long currentThreadAllocatedBytes() {
+	try {
+	    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+	    if (bean instanceof com.sun.management.ThreadMXBean) {
+		final com.sun.management.ThreadMXBean sunBean =
+		    (com.sun.management.ThreadMXBean) bean;
+		if (sunBean.isThreadAllocatedMemorySupported() &&
+		    sunBean.isThreadAllocatedMemoryEnabled()) {
+		    return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+	    }
+	} catch (LinkageError | UnsupportedOperationException e) {
+	    // Not available on this platform
+	}
+	return -1;
+    }
+}
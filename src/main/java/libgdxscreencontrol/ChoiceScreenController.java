@@ -1,13 +1,21 @@
 package libgdxscreencontrol;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
 import javax.annotation.Nullable;
 
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
 import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Table;
 
 import libgdxscreencontrol.screen.IChoiceScreen;
 import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
+import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFamilyFactory;
 import lombok.NonNull;
 
 /**
@@ -15,14 +23,22 @@ import lombok.NonNull;
  */
 public class ChoiceScreenController {
 
+    // Not final, as a controller replacing this one takes over its screens
     @NonNull
-    private final ObjectMap<String, IChoiceScreen> choiceScreens =
+    private ObjectMap<String, IChoiceScreen> choiceScreens =
 	new ObjectMap<>();
     @NonNull
     private final ObjectMap<String, IChoiceScreenFactory<?>> choiceScreenFactories =
 	new ObjectMap<>();
     @NonNull
     private final Table<String, Integer, String> choiceMap = HashBasedTable.create();
+    @NonNull
+    private final Array<ScreenFamily<IChoiceScreenFamilyFactory<?>>> families = new Array<>();
+    @NonNull
+    private ObjectMap<String, IChoiceScreen> familyScreens = new ObjectMap<>();
+    @NonNull
+    private final Table<String, Integer, IntFunction<String>> familyChoiceMap =
+	HashBasedTable.create();
 
     /**
      * Add the specified screen with the specified name to this controller.
@@ -48,6 +64,111 @@ public class ChoiceScreenController {
 	choiceScreenFactories.put(name, factory);
     }
 
+    /**
+     * Add a family of screens created by the specified factory, with a member named <code>family/parameter</code> for each parameter from first to last inclusive. Each member is created by the factory when it is first needed, so only the members visited hold any state. A screen added with the name of a member takes precedence over the member.
+     *
+     * @param family name of the family
+     * @param first first parameter of the family
+     * @param last last parameter of the family
+     * @param factory
+     * @throws IllegalArgumentException if first is negative or greater than last, or a family has already been added with the specified name
+     */
+    public void addFamily(
+	@NonNull final String family,
+	final int first,
+	final int last,
+	@NonNull final IChoiceScreenFamilyFactory<?> factory
+    ) throws IllegalArgumentException {
+	if (hasFamily(family)) {
+	    throw new IllegalArgumentException(
+		"A family with name: " + family + " has already been added"
+	    );
+	}
+	families.add(new ScreenFamily<>(family, first, last, factory));
+    }
+
+    /**
+     * Return true if a family has been added with the specified name, else false.
+     *
+     * @param family name of the family
+     * @return true if a family has been added with the name, else false
+     */
+    public boolean hasFamily(@NonNull final String family) {
+	return indexOfFamily(family) != -1;
+    }
+
+    /**
+     * Remove the family with the specified name, along with its choices and any of its members which have been created. Does nothing if no family has been added with the name.
+     *
+     * @param family name of the family
+     */
+    public void removeFamily(@NonNull final String family) {
+	final int index = indexOfFamily(family);
+	if (index == -1) {
+	    return;
+	}
+	final ScreenFamily<?> screenFamily = families.removeIndex(index);
+	for (String name : familyScreens.keys().toArray()) {
+	    if (screenFamily.contains(name)) {
+		familyScreens.remove(name);
+	    }
+	}
+	familyChoiceMap.row(family).clear();
+    }
+
+    private int indexOfFamily(@NonNull final String family) {
+	for (int i = 0; i < families.size; i++) {
+	    if (families.get(i).name.equals(family)) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    // Linear in the number of families, and does not allocate
+    @Nullable
+    private ScreenFamily<IChoiceScreenFamilyFactory<?>> familyOf(@NonNull final String name) {
+	for (int i = 0; i < families.size; i++) {
+	    if (families.get(i).contains(name)) {
+		return families.get(i);
+	    }
+	}
+	return null;
+    }
+
+    // Returns the family of the specified name, unless a screen has been added with the name
+    @Nullable
+    private ScreenFamily<IChoiceScreenFamilyFactory<?>> memberFamilyOf(
+	@NonNull final String name
+    ) {
+	if (families.size == 0 || choiceScreens.containsKey(name) ||
+	    choiceScreenFactories.containsKey(name)) {
+	    return null;
+	}
+	return familyOf(name);
+    }
+
+    /**
+     * Set a choice of every member of the specified family, to the screen named by the specified function of the member's parameter. A choice set for a member with <code>setChoice()</code> takes precedence. The function is called each time a member makes the choice.
+     *
+     * @param family name of the family
+     * @param choice
+     * @param choiceName function from parameter to the name of the chosen screen
+     * @throws IllegalArgumentException if no family has been added with the specified name
+     */
+    public void setFamilyChoice(
+	@NonNull final String family,
+	final int choice,
+	@NonNull final IntFunction<String> choiceName
+    ) throws IllegalArgumentException {
+	if (hasFamily(family)) {
+	    familyChoiceMap.put(family, choice, choiceName);
+	}
+	else {
+	    throw new IllegalArgumentException("No family exists with name: " + family);
+	}
+    }
+
     /**
      * Get the choice assigned to the specified choiceScreenName.
      *
@@ -59,8 +180,17 @@ public class ChoiceScreenController {
     public String getChoice(
 	@NonNull final String choiceScreenName, final int choice
     ) throws IllegalArgumentException {
-	if (choiceMap.contains(choiceScreenName, choice)) {
-	    return choiceMap.get(choiceScreenName, choice);
+	// Tables hold no null values, and contains() creates a row view on each call
+	final String choiceName = choiceMap.get(choiceScreenName, choice);
+	if (choiceName != null) {
+	    return choiceName;
+	}
+	final ScreenFamily<?> family = familyChoiceMap.isEmpty() ?
+	    null : memberFamilyOf(choiceScreenName);
+	final IntFunction<String> familyChoice = family == null ?
+	    null : familyChoiceMap.get(family.name, choice);
+	if (familyChoice != null) {
+	    return familyChoice.apply(ScreenFamily.parameterOf(choiceScreenName));
 	} else {
 	    throw new IllegalArgumentException(
 		"Choice " + choice + " does not exist for screen: " + choiceScreenName
@@ -68,6 +198,28 @@ public class ChoiceScreenController {
 	}
     }
 
+    /**
+     * Get every choice set for the specified screen, mapped to the names of the screens chosen.
+     *
+     * @param choiceScreenName of the screen
+     * @return choices of the screen, empty if none have been set
+     */
+    public Map<Integer, String> getChoices(@NonNull final String choiceScreenName) {
+	final ScreenFamily<?> family = familyChoiceMap.isEmpty() ?
+	    null : memberFamilyOf(choiceScreenName);
+	if (family == null) {
+	    return ImmutableMap.copyOf(choiceMap.row(choiceScreenName));
+	}
+	final int parameter = ScreenFamily.parameterOf(choiceScreenName);
+	final Map<Integer, String> choices = new HashMap<>();
+	for (Map.Entry<Integer, IntFunction<String>> entry :
+		 familyChoiceMap.row(family.name).entrySet()) {
+	    choices.put(entry.getKey(), entry.getValue().apply(parameter));
+	}
+	choices.putAll(choiceMap.row(choiceScreenName));
+	return ImmutableMap.copyOf(choices);
+    }
+
     /**
      * Return true if the specified name belongs to a screen, else false. False is returned if name is null.
      *
@@ -79,7 +231,9 @@ public class ChoiceScreenController {
 	    return false;
 	}
 	else if (choiceScreens.containsKey(name) ||
-		 choiceScreenFactories.containsKey(name)){
+		 choiceScreenFactories.containsKey(name) ||
+		 familyScreens.containsKey(name) ||
+		 familyOf(name) != null){
 	    return true;
 	}
 	else {
@@ -87,6 +241,355 @@ public class ChoiceScreenController {
 	}
     }
 
+    /**
+     * Return true if the screen registered with the specified name has been created, either by its factory or because it was added as an instance, else false. False is returned if name is null.
+     *
+     * @param name
+     * @return true if the screen registered with the specified name has been created, else false
+     */
+    public boolean isCreated(@Nullable final String name) {
+	return name != null &&
+	    (choiceScreens.containsKey(name) || familyScreens.containsKey(name));
+    }
+
+    /**
+     * Return true if the screen with the specified name is created from a factory, either one added with the name or that of the family the screen is a member of, else false.
+     *
+     * @param name
+     * @return true if the screen is created from a factory, else false
+     */
+    public boolean hasFactory(@NonNull final String name) {
+	return choiceScreenFactories.containsKey(name) || memberFamilyOf(name) != null;
+    }
+
+    /**
+     * Get the factory the screen with the specified name is created from, or null if the screen was added as an instance. For a member of a family, a factory is returned which creates the member from the family's factory.
+     *
+     * @param name
+     * @return factory of the screen or null
+     */
+    @Nullable
+    public IChoiceScreenFactory<?> getFactory(@NonNull final String name) {
+	if (choiceScreenFactories.containsKey(name)) {
+	    return choiceScreenFactories.get(name);
+	}
+	final ScreenFamily<IChoiceScreenFamilyFactory<?>> family = memberFamilyOf(name);
+	if (family == null) {
+	    return null;
+	}
+	final int parameter = ScreenFamily.parameterOf(name);
+	return new IChoiceScreenFactory<IChoiceScreen>() {
+
+	    @Override
+	    public IChoiceScreen create() {
+		return family.factory.create(parameter);
+	    }
+
+	    @Override
+	    public boolean isThreadSafe() {
+		return family.factory.isThreadSafe();
+	    }
+	};
+    }
+
+    /**
+     * Set the screen created from the factory added with the specified name, for screens created outside of this object, for example on another thread.
+     *
+     * @param name
+     * @param screen screen created by the factory
+     * @throws IllegalArgumentException if no factory has been added with the specified name, and it does not name a member of a family
+     */
+    public void setCreated(
+	@NonNull final String name, @NonNull final IChoiceScreen screen
+    ) throws IllegalArgumentException {
+	if (choiceScreenFactories.containsKey(name)) {
+	    choiceScreens.put(name, screen);
+	}
+	else if (hasFactory(name)) {
+	    familyScreens.put(name, screen);
+	}
+	else {
+	    throw new IllegalArgumentException("No screen factory exists with name: " + name);
+	}
+    }
+
+    /**
+     * Return true if the specified name is that of a member of a family, rather than of a screen added with the name, else false.
+     *
+     * @param name
+     * @return true if name belongs to a family member, else false
+     */
+    boolean isFamilyMember(@NonNull final String name) {
+	return memberFamilyOf(name) != null;
+    }
+
+    /**
+     * Get the names of the families of this controller which the specified controller does not hold, or holds with a different range or factory.
+     *
+     * @param next controller to compare against
+     * @return names of families removed or changed in next
+     */
+    Array<String> getChangedFamilyNames(@NonNull final ChoiceScreenController next) {
+	final Array<String> names = new Array<>();
+	for (ScreenFamily<IChoiceScreenFamilyFactory<?>> family : families) {
+	    final int index = next.indexOfFamily(family.name);
+	    if (index == -1 || !family.isSameAs(next.families.get(index))) {
+		names.add(family.name);
+	    }
+	}
+	return names;
+    }
+
+    /**
+     * Get the names of the members of the specified family which have been created.
+     *
+     * @param family name of the family
+     * @return names of created members, empty if no family has been added with the name
+     */
+    Array<String> getCreatedMemberNames(@NonNull final String family) {
+	final Array<String> names = new Array<>();
+	final int index = indexOfFamily(family);
+	if (index == -1) {
+	    return names;
+	}
+	for (String name : familyScreens.keys()) {
+	    if (families.get(index).contains(name)) {
+		names.add(name);
+	    }
+	}
+	return names;
+    }
+
+    /**
+     * Take the screens of the specified controller, which this one replaces, apart from those with the specified discarded names. Its screens are taken over without copying, along with the instances this controller holds for the specified changed names, so the cost depends only on the number of names which changed.
+     *
+     * @param from controller being replaced
+     * @param changedNames names of screens which differ between the two controllers
+     * @param discardedNames names of screens of from which have been discarded
+     */
+    void takeScreens(
+	@NonNull final ChoiceScreenController from,
+	@NonNull final ObjectSet<String> changedNames,
+	@NonNull final ObjectSet<String> discardedNames
+    ) {
+	for (String name : discardedNames) {
+	    from.choiceScreens.remove(name);
+	    from.familyScreens.remove(name);
+	}
+	for (String name : changedNames) {
+	    if (choiceScreens.containsKey(name) && !choiceScreenFactories.containsKey(name)) {
+		from.choiceScreens.put(name, choiceScreens.get(name));
+	    }
+	}
+	final ObjectMap<String, IChoiceScreen> screens = choiceScreens;
+	choiceScreens = from.choiceScreens;
+	from.choiceScreens = screens;
+	final ObjectMap<String, IChoiceScreen> members = familyScreens;
+	familyScreens = from.familyScreens;
+	from.familyScreens = members;
+    }
+
+    /**
+     * Move the screens created from factories, including members of families, from the specified controller to this one, for example from a copy of this controller, whose screens it then no longer holds.
+     *
+     * @param from controller holding the created screens
+     */
+    void moveCreatedScreens(@NonNull final ChoiceScreenController from) {
+	for (ObjectMap.Entry<String, IChoiceScreen> entry : from.choiceScreens) {
+	    if (from.choiceScreenFactories.containsKey(entry.key) &&
+		choiceScreenFactories.containsKey(entry.key)) {
+		choiceScreens.put(entry.key, entry.value);
+	    }
+	}
+	for (ObjectMap.Entry<String, IChoiceScreen> entry : from.familyScreens) {
+	    if (isFamilyMember(entry.key)) {
+		familyScreens.put(entry.key, entry.value);
+	    }
+	}
+	from.clearCreated();
+    }
+
+    /**
+     * Forget the screens created from factories, including members of families, so they are created again when next needed, for example because they have been disposed of. Screens added as instances are kept.
+     */
+    public void clearCreated() {
+	for (String name : choiceScreenFactories.keys()) {
+	    choiceScreens.remove(name);
+	}
+	familyScreens.clear();
+    }
+
+    /**
+     * Create a copy of this controller holding the same screens added as instances, factories, families and choices, but not the screens created from factories.
+     *
+     * @return copy of this controller
+     */
+    public ChoiceScreenController copy() {
+	final ChoiceScreenController copy = new ChoiceScreenController();
+	copy.choiceScreenFactories.putAll(choiceScreenFactories);
+	copy.families.addAll(families);
+	for (ObjectMap.Entry<String, IChoiceScreen> entry : choiceScreens) {
+	    if (!choiceScreenFactories.containsKey(entry.key)) {
+		copy.choiceScreens.put(entry.key, entry.value);
+	    }
+	}
+	copy.choiceMap.putAll(choiceMap);
+	copy.familyChoiceMap.putAll(familyChoiceMap);
+	return copy;
+    }
+
+    /**
+     * Add the screens added as instances, factories, families and choices of the specified controller to this one, under their names in the specified namespace. Screens created from factories are not added, so are created again when needed.
+     *
+     * @param from controller of the sub-graph
+     * @param namespace names of the sub-graph in this controller
+     * @throws IllegalArgumentException if a choice leads to a screen which is neither in the sub-graph nor mapped to an exit
+     */
+    void embed(
+	@NonNull final ChoiceScreenController from, @NonNull final ScreenNamespace namespace
+    ) throws IllegalArgumentException {
+	final Table<String, Integer, String> choices = HashBasedTable.create();
+	for (Table.Cell<String, Integer, String> cell : from.choiceMap.cellSet()) {
+	    choices.put(
+		namespace.name(cell.getRowKey()),
+		cell.getColumnKey(),
+		namespace.target(cell.getValue())
+	    );
+	}
+	choiceMap.putAll(choices);
+	for (ObjectMap.Entry<String, IChoiceScreenFactory<?>> entry : from.choiceScreenFactories) {
+	    choiceScreenFactories.put(namespace.name(entry.key), entry.value);
+	}
+	for (ObjectMap.Entry<String, IChoiceScreen> entry : from.choiceScreens) {
+	    if (!from.choiceScreenFactories.containsKey(entry.key)) {
+		choiceScreens.put(namespace.name(entry.key), entry.value);
+	    }
+	}
+	for (ScreenFamily<IChoiceScreenFamilyFactory<?>> family : from.families) {
+	    families.add(new ScreenFamily<>(
+		namespace.name(family.name), family.first, family.last, family.factory
+	    ));
+	}
+	for (Table.Cell<String, Integer, IntFunction<String>> cell :
+		 from.familyChoiceMap.cellSet()) {
+	    familyChoiceMap.put(
+		namespace.name(cell.getRowKey()),
+		cell.getColumnKey(),
+		namespace.targets(cell.getValue())
+	    );
+	}
+    }
+
+    /**
+     * Get the names of all families added to this controller.
+     *
+     * @return names of families added
+     */
+    public Array<String> getFamilyNames() {
+	final Array<String> names = new Array<>();
+	for (ScreenFamily<?> family : families) {
+	    names.add(family.name);
+	}
+	return names;
+    }
+
+    /**
+     * Get the names of all screens added to this controller, and of the members of families which have been created.
+     *
+     * @return names of screens added and family members created
+     */
+    public Array<String> getNames() {
+	final Array<String> names = new Array<>();
+	for (String name : choiceScreenFactories.keys()) {
+	    names.add(name);
+	}
+	for (String name : choiceScreens.keys()) {
+	    if (!choiceScreenFactories.containsKey(name)) {
+		names.add(name);
+	    }
+	}
+	for (String name : familyScreens.keys()) {
+	    names.add(name);
+	}
+	return names;
+    }
+
+    /**
+     * Get the object the screen with the specified name was added with, its factory if it was added with one or the factory of its family if it is a family member, else the screen itself.
+     *
+     * @param name
+     * @return factory or screen added with name, or null if no screen has been added with name
+     */
+    @Nullable
+    public Object getRegistration(@NonNull final String name) {
+	if (choiceScreenFactories.containsKey(name)) {
+	    return choiceScreenFactories.get(name);
+	}
+	else if (choiceScreens.containsKey(name)) {
+	    return choiceScreens.get(name);
+	}
+	else {
+	    final ScreenFamily<IChoiceScreenFamilyFactory<?>> family = memberFamilyOf(name);
+	    return family == null ? null : family.factory;
+	}
+    }
+
+    /**
+     * Remove the screen with the specified name from this controller, along with its choices. Does nothing if no screen has been added with the name.
+     *
+     * @param name
+     */
+    public void remove(@NonNull final String name) {
+	choiceScreenFactories.remove(name);
+	choiceScreens.remove(name);
+	familyScreens.remove(name);
+	choiceMap.row(name).clear();
+    }
+
+    /**
+     * Remove the specified choice of the specified screen, if it has been set.
+     *
+     * @param choiceScreenName
+     * @param choice
+     */
+    public void removeChoice(@NonNull final String choiceScreenName, final int choice) {
+	choiceMap.remove(choiceScreenName, choice);
+    }
+
+    /**
+     * Get the names of screens which have been created from factories added to this object, including members of families, and so can be removed with <code>evict()</code>.
+     *
+     * @return names of screens created from factories
+     */
+    public Array<String> getEvictableNames() {
+	final Array<String> names = new Array<>();
+	for (String name : choiceScreenFactories.keys()) {
+	    if (choiceScreens.containsKey(name)) {
+		names.add(name);
+	    }
+	}
+	for (String name : familyScreens.keys()) {
+	    names.add(name);
+	}
+	return names;
+    }
+
+    /**
+     * Remove the screen created from the factory added with the specified name, or from the factory of its family, so that the factory creates it again when it is next needed. Screens added as instances are never removed.
+     *
+     * @param name
+     * @return removed screen, or null if the screen has not been created or was added as an instance
+     */
+    @Nullable
+    public IChoiceScreen evict(@NonNull final String name) {
+	if (choiceScreenFactories.containsKey(name)) {
+	    return choiceScreens.remove(name);
+	}
+	else {
+	    return familyScreens.remove(name);
+	}
+    }
+
     /**
      * Get the {@link IChoiceScreen} object registered with the specified name.
      *
@@ -101,7 +604,15 @@ public class ChoiceScreenController {
 	else if (choiceScreenFactories.containsKey(name)) {
 	    final IChoiceScreen screen = choiceScreenFactories.get(name).create();
 	    choiceScreens.put(name, screen);
-	    choiceScreenFactories.remove(name);
+	    return screen;
+	}
+	else if (familyScreens.containsKey(name)) {
+	    return familyScreens.get(name);
+	}
+	final ScreenFamily<IChoiceScreenFamilyFactory<?>> family = memberFamilyOf(name);
+	if (family != null) {
+	    final IChoiceScreen screen = family.factory.create(ScreenFamily.parameterOf(name));
+	    familyScreens.put(name, screen);
 	    return screen;
 	}
 	else {
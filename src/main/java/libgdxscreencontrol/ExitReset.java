@@ -0,0 +1,69 @@
+package libgdxscreencontrol;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import libgdxscreencontrol.screen.ITransitionScreen;
+import lombok.NonNull;
+
+/**
+ * Reset of a screen which has just been left, run on a background executor or through a {@link FrameScheduler}. If the screen is needed again before the reset has started, the reset is cancelled and the screen is reset where it is needed instead, and if the reset is running, the screen waits for it.
+ */
+class ExitReset implements Runnable {
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+    private static final int CANCELLED = 3;
+
+    @NonNull
+    final ITransitionScreen screen;
+    @NonNull
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    ExitReset(@NonNull final ITransitionScreen screen) {
+	this.screen = screen;
+    }
+
+    @Override
+    public void run() {
+	if (!state.compareAndSet(PENDING, RUNNING)) {
+	    return;
+	}
+	int finalState = CANCELLED;
+	try {
+	    screen.reset();
+	    finalState = DONE;
+	} finally {
+	    // A failed reset is left to be retried where the screen is needed
+	    synchronized (this) {
+		state.set(finalState);
+		notifyAll();
+	    }
+	}
+    }
+
+    /**
+     * Cancel the reset if it has not started, else wait for it to finish.
+     *
+     * @return true if the screen has been reset, false if the reset was cancelled or failed
+     */
+    boolean settle() {
+	if (state.compareAndSet(PENDING, CANCELLED)) {
+	    return false;
+	}
+	boolean interrupted = false;
+	synchronized (this) {
+	    while (state.get() == RUNNING) {
+		try {
+		    wait();
+		} catch (InterruptedException e) {
+		    interrupted = true;
+		}
+	    }
+	}
+	if (interrupted) {
+	    Thread.currentThread().interrupt();
+	}
+	return state.get() == DONE;
+    }
+}
@@ -0,0 +1,167 @@
+package libgdxscreencontrol;
+
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+
+/**
+ * Cooperative scheduler for deferred work such as screen creation, preloading and disposal. Jobs are run in order of priority (ties in order of submission) within a time budget each time <code>run()</code> is called, which a {@link ScreenController} does once per <code>update()</code>. Jobs may be submitted from any thread, but are always run on the thread calling <code>run()</code>.
+ */
+public class FrameScheduler {
+
+    public static final int LOW_PRIORITY = 0;
+    public static final int NORMAL_PRIORITY = 1;
+    public static final int HIGH_PRIORITY = 2;
+
+    @NonNull
+    private final PriorityQueue<Job> jobs = new PriorityQueue<>();
+    @Nullable
+    private IOverrunListener overrunListener;
+    private long budgetNanos;
+    private long submitted;
+
+    /**
+     * Create a scheduler which runs jobs for at most the specified number of nanoseconds per <code>run()</code>.
+     *
+     * @param budgetNanos time budget per call to <code>run()</code> in nanoseconds
+     * @throws IllegalArgumentException if budgetNanos is negative
+     */
+    public FrameScheduler(final long budgetNanos) throws IllegalArgumentException {
+	setBudget(budgetNanos);
+    }
+
+    /**
+     * Submit the specified job with {@link #NORMAL_PRIORITY}.
+     *
+     * @param job job to run
+     */
+    public void submit(@NonNull final Runnable job) {
+	submit(job, NORMAL_PRIORITY);
+    }
+
+    /**
+     * Submit the specified job with the specified priority, jobs with a higher priority are run first.
+     *
+     * @param job job to run
+     * @param priority priority of the job
+     */
+    public void submit(@NonNull final Runnable job, final int priority) {
+	synchronized (jobs) {
+	    jobs.add(new Job(job, priority, submitted++));
+	}
+    }
+
+    /**
+     * Run pending jobs until none remain or the time budget has been spent. At least one job is run if any are pending, so a single job taking longer than the budget will still complete, and be reported to the overrun listener.
+     *
+     * @return number of jobs run
+     */
+    public int run() {
+	final long start = System.nanoTime();
+	long elapsed = 0;
+	int ran = 0;
+	Job job;
+	while ((ran == 0 || elapsed < budgetNanos) && (job = poll()) != null) {
+	    job.runnable.run();
+	    ran++;
+	    elapsed = System.nanoTime() - start;
+	}
+	if (elapsed > budgetNanos && overrunListener != null) {
+	    overrunListener.onOverrun(elapsed, budgetNanos);
+	}
+	return ran;
+    }
+
+    private Job poll() {
+	synchronized (jobs) {
+	    return jobs.poll();
+	}
+    }
+
+    /**
+     * Get the number of jobs which have been submitted but not yet run.
+     *
+     * @return number of pending jobs
+     */
+    public int pending() {
+	synchronized (jobs) {
+	    return jobs.size();
+	}
+    }
+
+    /**
+     * Discard all pending jobs.
+     */
+    public void clear() {
+	synchronized (jobs) {
+	    jobs.clear();
+	}
+    }
+
+    /**
+     * Set the time budget per call to <code>run()</code>.
+     *
+     * @param budgetNanos time budget in nanoseconds
+     * @throws IllegalArgumentException if budgetNanos is negative
+     */
+    public void setBudget(final long budgetNanos) throws IllegalArgumentException {
+	if (budgetNanos < 0) {
+	    throw new IllegalArgumentException(
+		"Frame budget must not be negative, got: " + budgetNanos
+	    );
+	}
+	this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Get the time budget per call to <code>run()</code>.
+     *
+     * @return time budget in nanoseconds
+     */
+    public long getBudget() {
+	return budgetNanos;
+    }
+
+    /**
+     * Set the listener notified when a call to <code>run()</code> exceeds the time budget, may be null.
+     *
+     * @param overrunListener listener to notify or null
+     */
+    public void setOverrunListener(@Nullable final IOverrunListener overrunListener) {
+	this.overrunListener = overrunListener;
+    }
+
+    private static final class Job implements Comparable<Job> {
+
+	private final Runnable runnable;
+	private final int priority;
+	private final long sequence;
+
+	private Job(final Runnable runnable, final int priority, final long sequence) {
+	    this.runnable = runnable;
+	    this.priority = priority;
+	    this.sequence = sequence;
+	}
+
+	@Override
+	public int compareTo(final Job other) {
+	    if (priority != other.priority) {
+		return Integer.compare(other.priority, priority);
+	    }
+	    return Long.compare(sequence, other.sequence);
+	}
+    }
+
+    public interface IOverrunListener {
+
+	/**
+	 * Called when a call to <code>run()</code> of a {@link FrameScheduler} takes longer than its budget.
+	 *
+	 * @param elapsedNanos time spent running jobs in nanoseconds
+	 * @param budgetNanos time budget in nanoseconds
+	 */
+	void onOverrun(long elapsedNanos, long budgetNanos);
+    }
+}
@@ -0,0 +1,150 @@
+package libgdxscreencontrol;
+
+import javax.annotation.Nullable;
+
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import lombok.NonNull;
+
+/**
+ * Manages transitions which are followed from many screens when a trigger is fired, such as to a pause or disconnect screen. A global transition is followed from every screen, and a group transition from every screen of its group, where each screen belongs to at most one group. Transitions are held once per trigger rather than once per screen, and are found with at most two hash lookups, so finding one does not depend on the size of the graph and does not allocate.
+ */
+public class GlobalTransitionController {
+
+    @NonNull
+    private final IntMap<String> globalTargets = new IntMap<>();
+    @NonNull
+    private final ObjectMap<String, IntMap<String>> groupTargets = new ObjectMap<>();
+    @NonNull
+    private final ObjectMap<String, String> screenGroups = new ObjectMap<>();
+    @NonNull
+    private final IntSet triggers = new IntSet();
+
+    /**
+     * Set the screen followed from every screen when the specified trigger is fired, unless the screen's group has a transition for the trigger.
+     *
+     * @param trigger trigger of the transition
+     * @param target name of the screen or route to follow
+     */
+    public void setGlobal(final int trigger, @NonNull final String target) {
+	globalTargets.put(trigger, target);
+	triggers.add(trigger);
+    }
+
+    /**
+     * Set the screen followed from every screen of the specified group when the specified trigger is fired, in place of any global transition for the trigger.
+     *
+     * @param group name of the group
+     * @param trigger trigger of the transition
+     * @param target name of the screen or route to follow
+     */
+    public void setGroup(
+	@NonNull final String group, final int trigger, @NonNull final String target
+    ) {
+	IntMap<String> targets = groupTargets.get(group);
+	if (targets == null) {
+	    targets = new IntMap<>();
+	    groupTargets.put(group, targets);
+	}
+	targets.put(trigger, target);
+	triggers.add(trigger);
+    }
+
+    /**
+     * Add the screen with the specified name to the specified group. Does nothing if the screen already belongs to the group.
+     *
+     * @param group name of the group
+     * @param screenName name of the screen
+     * @throws IllegalArgumentException if the screen belongs to another group
+     */
+    public void addToGroup(
+	@NonNull final String group, @NonNull final String screenName
+    ) throws IllegalArgumentException {
+	final String current = screenGroups.get(screenName);
+	if (current != null && !current.equals(group)) {
+	    throw new IllegalArgumentException(
+		"The screen: " + screenName + " already belongs to the group: " + current
+	    );
+	}
+	screenGroups.put(screenName, group);
+    }
+
+    /**
+     * Get the group the screen with the specified name belongs to.
+     *
+     * @param screenName name of the screen
+     * @return name of the group, or null if the screen belongs to no group
+     */
+    @Nullable
+    public String getGroup(@NonNull final String screenName) {
+	return screenGroups.get(screenName);
+    }
+
+    /**
+     * Return true if a global or group transition has been set for the specified trigger, else false.
+     *
+     * @param trigger trigger of the transition
+     * @return true if trigger has a transition, else false
+     */
+    public boolean hasTrigger(final int trigger) {
+	return triggers.contains(trigger);
+    }
+
+    /**
+     * Return true if no global or group transition has been set, else false.
+     *
+     * @return true if this controller holds no transitions, else false
+     */
+    public boolean isEmpty() {
+	return triggers.size == 0;
+    }
+
+    /**
+     * Get the screen followed from the screen with the specified name when the specified trigger is fired, its group's transition for the trigger if there is one, else the global transition for the trigger.
+     *
+     * @param screenName name of the screen the trigger is fired from
+     * @param trigger trigger fired
+     * @return name of the screen or route to follow, or null if no transition applies
+     */
+    @Nullable
+    public String getTarget(@NonNull final String screenName, final int trigger) {
+	final String group = screenGroups.get(screenName);
+	if (group != null) {
+	    final IntMap<String> targets = groupTargets.get(group);
+	    final String target = targets == null ? null : targets.get(trigger);
+	    if (target != null) {
+		return target;
+	    }
+	}
+	return globalTargets.get(trigger);
+    }
+
+    /**
+     * Remove the screen with the specified name from its group. Does nothing if the screen belongs to no group.
+     *
+     * @param screenName name of the screen
+     */
+    public void remove(@NonNull final String screenName) {
+	screenGroups.remove(screenName);
+    }
+
+    /**
+     * Create a copy of this controller holding the same transitions and groups.
+     *
+     * @return copy of this controller
+     */
+    public GlobalTransitionController copy() {
+	final GlobalTransitionController copy = new GlobalTransitionController();
+	copy.globalTargets.putAll(globalTargets);
+	for (ObjectMap.Entry<String, IntMap<String>> entry : groupTargets) {
+	    final IntMap<String> targets = new IntMap<>();
+	    targets.putAll(entry.value);
+	    copy.groupTargets.put(entry.key, targets);
+	}
+	copy.screenGroups.putAll(screenGroups);
+	copy.triggers.addAll(triggers);
+	return copy;
+    }
+}
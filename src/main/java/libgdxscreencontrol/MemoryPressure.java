@@ -0,0 +1,20 @@
+package libgdxscreencontrol;
+
+/**
+ * Severity of a low memory signal passed to <code>ScreenController.onMemoryPressure()</code>. On Android these correspond to the <code>TRIM_MEMORY_RUNNING_MODERATE</code>, <code>TRIM_MEMORY_RUNNING_LOW</code> and <code>TRIM_MEMORY_RUNNING_CRITICAL</code> levels of <code>onTrimMemory()</code>.
+ */
+public enum MemoryPressure {
+
+    /**
+     * Give up screens which have been preloaded but never shown, and cancel pending preloads.
+     */
+    MODERATE,
+    /**
+     * As {@link #MODERATE}, and also give up inactive screens, except the one <code>back()</code> would return to.
+     */
+    SEVERE,
+    /**
+     * Give up every screen which is not active.
+     */
+    CRITICAL
+}
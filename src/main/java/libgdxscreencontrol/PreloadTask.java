@@ -0,0 +1,54 @@
+package libgdxscreencontrol;
+
+/**
+ * Progress of a bulk preload started with <code>ScreenController.preloadReachable()</code>. Each screen to be created is settled once, when it has been created, when it turns out to be no longer needed, or when creating it on another thread fails, in which case it is created when first needed. A loading {@link libgdxscreencontrol.screen.ITransitionScreen} can return <code>isDone()</code> from <code>isFinished()</code>, and draw <code>getProgress()</code> as a progress bar.
+ */
+public class PreloadTask {
+
+    private final int screenCount;
+    private volatile int settledCount;
+
+    PreloadTask(final int screenCount) {
+	this.screenCount = screenCount;
+    }
+
+    void settle() {
+	settledCount++;
+    }
+
+    /**
+     * Get the number of screens this task creates, excluding those which had already been created when it was started.
+     *
+     * @return number of screens to create
+     */
+    public int getScreenCount() {
+	return screenCount;
+    }
+
+    /**
+     * Get the number of screens this task has settled.
+     *
+     * @return number of screens settled
+     */
+    public int getSettledCount() {
+	return settledCount;
+    }
+
+    /**
+     * Get the fraction of screens this task has settled, from 0 to 1. A task with no screens to create has a progress of 1.
+     *
+     * @return progress from 0 to 1
+     */
+    public float getProgress() {
+	return screenCount == 0 ? 1 : (float) settledCount / screenCount;
+    }
+
+    /**
+     * Return true if every screen of this task has been settled, else false.
+     *
+     * @return true if this task is done, else false
+     */
+    public boolean isDone() {
+	return settledCount >= screenCount;
+    }
+}
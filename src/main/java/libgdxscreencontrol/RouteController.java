@@ -0,0 +1,279 @@
+package libgdxscreencontrol;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+import javax.annotation.Nullable;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import lombok.NonNull;
+
+/**
+ * Manages routes, named branch points which are not screens. An edge to a route is followed by evaluating the route's guards in the order they were added, and taking the target of the first whose condition holds, else the route's default target. Targets may themselves be routes. Guards of all routes are held in flat arrays, so resolving a route does not allocate.
+ */
+public class RouteController {
+
+    @NonNull
+    private final ObjectIntMap<String> routeIds = new ObjectIntMap<>();
+    @NonNull
+    private final Array<String> routeNames = new Array<>();
+    @NonNull
+    private int[] firstGuards = new int[0];
+    @NonNull
+    private int[] guardCounts = new int[0];
+    @NonNull
+    private String[] defaultTargets = new String[0];
+    @NonNull
+    private BooleanSupplier[] conditions = new BooleanSupplier[0];
+    @NonNull
+    private String[] targets = new String[0];
+    private int guardCount;
+
+    /**
+     * Add a route with the specified name and no guards. Does nothing if a route has already been added with the name.
+     *
+     * @param name name of the route
+     */
+    public void add(@NonNull final String name) {
+	if (has(name)) {
+	    return;
+	}
+	final int id = routeNames.size;
+	routeIds.put(name, id);
+	routeNames.add(name);
+	firstGuards = Arrays.copyOf(firstGuards, id + 1);
+	guardCounts = Arrays.copyOf(guardCounts, id + 1);
+	defaultTargets = Arrays.copyOf(defaultTargets, id + 1);
+	firstGuards[id] = guardCount;
+    }
+
+    /**
+     * Return true if the specified name belongs to a route, else false. False is returned if name is null.
+     *
+     * @param name
+     * @return true if the specified name belongs to a route, else false
+     */
+    public boolean has(@Nullable final String name) {
+	return name != null && routeIds.containsKey(name);
+    }
+
+    /**
+     * Add a guard to the route with the specified name, which is taken if no guard added before it is and the specified condition holds. The condition is evaluated on the render thread each time the route is followed.
+     *
+     * @param name name of the route
+     * @param condition condition of the guard
+     * @param target name of the screen or route to follow if the condition holds
+     * @throws IllegalArgumentException if no route has been added with the specified name
+     */
+    public void addGuard(
+	@NonNull final String name,
+	@NonNull final BooleanSupplier condition,
+	@NonNull final String target
+    ) throws IllegalArgumentException {
+	final int id = idOf(name);
+	final int index = firstGuards[id] + guardCounts[id];
+	if (guardCount == conditions.length) {
+	    conditions = Arrays.copyOf(conditions, Math.max(8, guardCount * 2));
+	    targets = Arrays.copyOf(targets, conditions.length);
+	}
+	System.arraycopy(conditions, index, conditions, index + 1, guardCount - index);
+	System.arraycopy(targets, index, targets, index + 1, guardCount - index);
+	conditions[index] = condition;
+	targets[index] = target;
+	guardCount++;
+	guardCounts[id]++;
+	for (int i = 0; i < firstGuards.length; i++) {
+	    if (i != id && firstGuards[i] >= index) {
+		firstGuards[i]++;
+	    }
+	}
+    }
+
+    /**
+     * Set the target of the route with the specified name, followed if none of its guards are taken.
+     *
+     * @param name name of the route
+     * @param target name of the screen or route to follow
+     * @throws IllegalArgumentException if no route has been added with the specified name
+     */
+    public void setDefault(
+	@NonNull final String name, @NonNull final String target
+    ) throws IllegalArgumentException {
+	defaultTargets[idOf(name)] = target;
+    }
+
+    /**
+     * Follow the specified name through routes until it names something other than a route, normally a screen. Names which do not belong to a route are returned as they are.
+     *
+     * @param name name of a screen or route
+     * @return name reached by following routes from name
+     * @throws IllegalStateException if a route has no guard taken and no default target, or routes are followed in a cycle
+     */
+    public String resolve(@NonNull final String name) throws IllegalStateException {
+	String resolved = name;
+	for (int hops = 0; hops <= routeNames.size; hops++) {
+	    final int id = routeIds.get(resolved, -1);
+	    if (id == -1) {
+		return resolved;
+	    }
+	    resolved = follow(id);
+	}
+	throw new IllegalStateException("Routes form a cycle from: " + name);
+    }
+
+    private String follow(final int id) throws IllegalStateException {
+	final int end = firstGuards[id] + guardCounts[id];
+	for (int i = firstGuards[id]; i < end; i++) {
+	    if (conditions[i].getAsBoolean()) {
+		return targets[i];
+	    }
+	}
+	if (defaultTargets[id] == null) {
+	    throw new IllegalStateException(
+		"No guard taken and no default set for route: " + routeNames.get(id)
+	    );
+	}
+	return defaultTargets[id];
+    }
+
+    /**
+     * Get the names of every screen or route the route with the specified name may be followed to, its guard targets in order followed by its default target.
+     *
+     * @param name name of the route
+     * @return targets of the route
+     * @throws IllegalArgumentException if no route has been added with the specified name
+     */
+    public Array<String> getTargets(@NonNull final String name) throws IllegalArgumentException {
+	final int id = idOf(name);
+	final Array<String> routeTargets = new Array<>(
+	    true, targets, firstGuards[id], guardCounts[id]
+	);
+	if (defaultTargets[id] != null) {
+	    routeTargets.add(defaultTargets[id]);
+	}
+	return routeTargets;
+    }
+
+    /**
+     * Get the names of all routes added to this controller.
+     *
+     * @return names of routes added
+     */
+    public Array<String> getNames() {
+	return new Array<>(routeNames);
+    }
+
+    /**
+     * Remove the route with the specified name, along with its guards. Does nothing if no route has been added with the name.
+     *
+     * @param name name of the route
+     */
+    public void remove(@NonNull final String name) {
+	if (!has(name)) {
+	    return;
+	}
+	final RouteController remaining = new RouteController();
+	for (String routeName : routeNames) {
+	    if (!routeName.equals(name)) {
+		copyRoute(routeName, remaining);
+	    }
+	}
+	routeIds.clear();
+	routeIds.putAll(remaining.routeIds);
+	routeNames.clear();
+	routeNames.addAll(remaining.routeNames);
+	firstGuards = remaining.firstGuards;
+	guardCounts = remaining.guardCounts;
+	defaultTargets = remaining.defaultTargets;
+	conditions = remaining.conditions;
+	targets = remaining.targets;
+	guardCount = remaining.guardCount;
+    }
+
+    /**
+     * Create a copy of this controller holding the same routes and guards.
+     *
+     * @return copy of this controller
+     */
+    public RouteController copy() {
+	final RouteController copy = new RouteController();
+	for (String routeName : routeNames) {
+	    copyRoute(routeName, copy);
+	}
+	return copy;
+    }
+
+    /**
+     * Add the routes of the specified controller to this one, under their names in the specified namespace.
+     *
+     * @param from controller of the sub-graph
+     * @param namespace names of the sub-graph in this controller
+     * @throws IllegalArgumentException if a route leads to a screen which is neither in the sub-graph nor mapped to an exit
+     */
+    void embed(
+	@NonNull final RouteController from, @NonNull final ScreenNamespace namespace
+    ) throws IllegalArgumentException {
+	// Targets are checked before any route is added
+	final String[] embeddedTargets = new String[from.guardCount];
+	final String[] embeddedDefaults = new String[from.routeNames.size];
+	for (int i = 0; i < from.guardCount; i++) {
+	    embeddedTargets[i] = namespace.target(from.targets[i]);
+	}
+	for (int id = 0; id < from.routeNames.size; id++) {
+	    if (from.defaultTargets[id] != null) {
+		embeddedDefaults[id] = namespace.target(from.defaultTargets[id]);
+	    }
+	}
+	for (int id = 0; id < from.routeNames.size; id++) {
+	    final String name = namespace.name(from.routeNames.get(id));
+	    add(name);
+	    final int end = from.firstGuards[id] + from.guardCounts[id];
+	    for (int i = from.firstGuards[id]; i < end; i++) {
+		addGuard(name, from.conditions[i], embeddedTargets[i]);
+	    }
+	    if (embeddedDefaults[id] != null) {
+		setDefault(name, embeddedDefaults[id]);
+	    }
+	}
+    }
+
+    /**
+     * Follow the specified name through routes which have no guards, to the first name which is not such a route. Unlike <code>resolve()</code>, no conditions are evaluated, so the result does not depend on when it is called.
+     *
+     * @param name name of a screen or route
+     * @return name reached by following routes without guards from name
+     */
+    String resolveUnconditional(@NonNull final String name) {
+	String resolved = name;
+	for (int hops = 0; hops <= routeNames.size; hops++) {
+	    final int id = routeIds.get(resolved, -1);
+	    if (id == -1 || guardCounts[id] != 0 || defaultTargets[id] == null) {
+		return resolved;
+	    }
+	    resolved = defaultTargets[id];
+	}
+	return resolved;
+    }
+
+    private void copyRoute(@NonNull final String name, @NonNull final RouteController to) {
+	final int id = routeIds.get(name, -1);
+	to.add(name);
+	final int end = firstGuards[id] + guardCounts[id];
+	for (int i = firstGuards[id]; i < end; i++) {
+	    to.addGuard(name, conditions[i], targets[i]);
+	}
+	if (defaultTargets[id] != null) {
+	    to.setDefault(name, defaultTargets[id]);
+	}
+    }
+
+    private int idOf(@NonNull final String name) throws IllegalArgumentException {
+	final int id = routeIds.get(name, -1);
+	if (id == -1) {
+	    throw new IllegalArgumentException("No route exists with name: " + name);
+	}
+	return id;
+    }
+}
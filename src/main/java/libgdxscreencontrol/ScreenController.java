@@ -1,7 +1,26 @@
 package libgdxscreencontrol;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.google.common.annotations.VisibleForTesting;
 
 import libgdxscreencontrol.screen.IChoiceScreen;
 import libgdxscreencontrol.screen.ITransitionScreen;
@@ -12,27 +31,172 @@ import lombok.NonNull;
  */
 public class ScreenController {
 
+    /**
+     * Name which an edge may lead to in place of a screen, to return to the screen left by the most recent global or group transition, without resetting it. See <code>ScreenControllerBuilder.globalTransition()</code>.
+     */
+    public static final String RETURN = "<return>";
+
     @NonNull
-    private final TransitionScreenController transitionController;
+    private TransitionScreenController transitionController;
     @NonNull
-    private final ChoiceScreenController choiceController;
+    private ChoiceScreenController choiceController;
+    @NonNull
+    private RouteController routeController;
+    @NonNull
+    private GlobalTransitionController globalController;
+    // Screens left by global transitions, the most recent last, returned to through RETURN
+    private final Array<String> interruptedScreenNames = new Array<>();
+    private boolean triggerFired;
+    private int firedTrigger;
     @NonNull
     private Screen currentScreen;
     @NonNull
     private String currentScreenName;
+    // Name under which currentScreen was shown, currentScreenName changes first
+    @Nullable
+    private String shownScreenName;
     @NonNull
     private ObjectMap<String, Screen> usedScreens = new ObjectMap<>();
+    @NonNull
+    private final ObjectIntMap<String> screenIds = new ObjectIntMap<>();
+    @NonNull
+    private final Array<String> screenNames = new Array<>();
+    @NonNull
+    private final ScreenHistory history;
+    private final boolean resetOnBack;
+    @NonNull
+    private final FrameScheduler scheduler;
+    @NonNull
+    private final ScreenWarmer warmer;
+    @Nullable
+    private final SessionRecording recording;
+    private int lastChoice;
+    @Nullable
+    private final SoftScreenCache softCache;
+    // Read by preloads on executor threads, and advanced by onMemoryPressure() on any thread
+    @NonNull
+    private final AtomicInteger preloadGeneration = new AtomicInteger();
+    @Nullable
+    private final Executor preloadExecutor;
+    @NonNull
+    private final ObjectSet<String> preparedScreens = new ObjectSet<>();
+    @Nullable
+    private CompletableFuture<Screen> goToFuture;
+    @Nullable
+    private String goToScreenName;
+    @Nullable
+    private final TransitionStream transitionStream;
+    private long frame;
+    @Nullable
+    private final ScreenLeakDetector leakDetector;
+    // Appended to by reload() on any thread
+    @NonNull
+    private final CopyOnWriteArrayList<SharedScreenRegistry> sharedRegistries =
+	new CopyOnWriteArrayList<>();
+    private final boolean resetOnExit;
+    @Nullable
+    private final Executor resetExecutor;
+    @NonNull
+    private final ObjectMap<String, ExitReset> exitResets = new ObjectMap<>();
+    @Nullable
+    private final ScreenTimings timings;
+    @NonNull
+    private final Object graphLock = new Object();
+    @NonNull
+    private ScreenGraph committedGraph;
+    @NonNull
+    private final AtomicReference<PendingGraph> pendingGraph = new AtomicReference<>();
+    @NonNull
+    private final ScreenInputRouter inputRouter;
 
     ScreenController(
 	@NonNull TransitionScreenController transitionScreenController,
 	@NonNull ChoiceScreenController choiceScreenController,
 	@NonNull String startingScreen
+    ) throws IllegalArgumentException {
+	this(
+	    transitionScreenController,
+	    choiceScreenController,
+	    startingScreen,
+	    new ScreenControllerConfig()
+	);
+    }
+
+    ScreenController(
+	@NonNull TransitionScreenController transitionScreenController,
+	@NonNull ChoiceScreenController choiceScreenController,
+	@NonNull String startingScreen,
+	@NonNull ScreenControllerConfig config
+    ) throws IllegalArgumentException {
+	this(
+	    transitionScreenController,
+	    choiceScreenController,
+	    new RouteController(),
+	    startingScreen,
+	    config
+	);
+    }
+
+    ScreenController(
+	@NonNull TransitionScreenController transitionScreenController,
+	@NonNull ChoiceScreenController choiceScreenController,
+	@NonNull RouteController routeController,
+	@NonNull String startingScreen,
+	@NonNull ScreenControllerConfig config
+    ) throws IllegalArgumentException {
+	this(
+	    transitionScreenController,
+	    choiceScreenController,
+	    routeController,
+	    new GlobalTransitionController(),
+	    startingScreen,
+	    config
+	);
+    }
+
+    ScreenController(
+	@NonNull TransitionScreenController transitionScreenController,
+	@NonNull ChoiceScreenController choiceScreenController,
+	@NonNull RouteController routeController,
+	@NonNull GlobalTransitionController globalController,
+	@NonNull String startingScreen,
+	@NonNull ScreenControllerConfig config
     ) throws IllegalArgumentException {
 	this.transitionController = transitionScreenController;
 	this.choiceController = choiceScreenController;
+	this.routeController = routeController;
+	this.globalController = globalController;
 	this.currentScreenName = startingScreen;
+	this.history = new ScreenHistory(config.historyDepth);
+	this.resetOnBack = config.resetOnBack;
+	this.scheduler = new FrameScheduler(config.frameBudgetNanos);
+	this.scheduler.setOverrunListener(config.overrunListener);
+	this.warmer = new ScreenWarmer(config.warmUpIterations, config.warmUpDelta);
+	this.recording = config.recording;
+	this.softCache = config.softRetention ? new SoftScreenCache() : null;
+	this.preloadExecutor = config.preloadExecutor;
+	this.transitionStream = config.transitionStream;
+	this.leakDetector = config.leakDetector;
+	for (SharedScreenRegistry registry : config.sharedRegistries) {
+	    this.sharedRegistries.add(registry);
+	}
+	// Screens left are returned to unreset through back() unless resetOnBack
+	this.resetOnExit = config.resetOnExit && config.resetOnBack;
+	this.resetExecutor = config.resetExecutor;
+	this.timings = config.timings;
+	this.inputRouter = new ScreenInputRouter(
+	    config.inputProcessors, config.globalInputProcessors
+	);
+	this.committedGraph = new ScreenGraph(
+	    transitionScreenController.copy(),
+	    choiceScreenController.copy(),
+	    routeController.copy(),
+	    globalController.copy(),
+	    startingScreen
+	);
 	try {
-	    setCurrentScreenFromName();
+	    this.currentScreenName = routeController.resolve(startingScreen);
+	    setCurrentScreenFromName(true);
 	} catch (IllegalStateException e) {
 	    throw new IllegalArgumentException(
 		"The screen: " + startingScreen + " does not refer to any" +
@@ -56,43 +220,277 @@ public class ScreenController {
     }
 
     /**
-     * Query the active {@link Screen}, if it has finished processing, return true, else false. If this method returns true, it signifies that this object has a new active screen, which can be accessed throught the <code>get()</code> method. No change in screen is made if the string designating the new screen is not associated with an existing screen and an IllegalStateException is thrown
+     * Query the active {@link Screen}, if it has finished processing, return true, else false. If this method returns true, it signifies that this object has a new active screen, which can be accessed throught the <code>get()</code> method. A trigger passed to <code>fire()</code> is followed first, whether or not the active screen has finished. Edges to routes are followed by evaluating the routes' guards, without creating or showing any screen for them. No change in screen is made if the string designating the new screen is not associated with an existing screen and an IllegalStateException is thrown. Changes committed through <code>edit()</code> since the last call are adopted, and deferred jobs submitted to this object's {@link FrameScheduler} are run within the frame budget, beforehand.
      *
      * @return true if the active screen has been changed, else false
      * @throws IllegalStateException if a new active screen is not registered
      */
     public boolean update() throws IllegalStateException {
+	frame++;
+	final long timestamp = recording == null ? 0 : System.nanoTime();
+	final boolean adopted = pendingGraph.get() != null && adoptPendingGraph();
+	// Ahead of the scheduler, which then disposes of the screens evicted
+	evictCollectedScreens();
+	scheduler.run();
+	if (goToFuture != null && goToFuture.isDone() && switchToPreparedScreen()) {
+	    if (recording != null) {
+		recording.record(
+		    timestamp, SessionRecording.GO_TO, recording.idOf(currentScreenName)
+		);
+	    }
+	    return true;
+	}
+	if (triggerFired) {
+	    triggerFired = false;
+	    final String target = globalController.getTarget(currentScreenName, firedTrigger);
+	    if (target != null && follow(target, TransitionStream.GLOBAL, firedTrigger, true)) {
+		if (recording != null) {
+		    recording.record(timestamp, SessionRecording.GLOBAL, firedTrigger);
+		}
+		return true;
+	    }
+	}
+	final boolean changed;
+	final byte kind;
 	if (transitionController.has(currentScreenName)) {
-	    return updateTransition();
+	    changed = updateTransition();
+	    kind = SessionRecording.TRANSITION;
 	}
 	else if (choiceController.has(currentScreenName)) {
-	    return updateChoice();
+	    changed = updateChoice();
+	    kind = SessionRecording.CHOICE;
 	}
 	else {
 	    throw new IllegalStateException(
 		"No screen found with name: " + currentScreenName
 	    );
-	}	
+	}
+	if (recording != null) {
+	    recording.record(timestamp, changed ? kind : SessionRecording.NONE, lastChoice);
+	}
+	return adopted || changed;
+    }
+
+    /**
+     * Create an editor through which screens and edges can be added to or removed from this object after it has been built. Changes committed through the editor are adopted at the start of the next <code>update()</code>, so editors may be used from any thread while this object is in use on the render thread.
+     *
+     * @return editor for this object
+     */
+    public ScreenGraphEditor edit() {
+	return new ScreenGraphEditor(this);
+    }
+
+    void commit(
+	@NonNull final Array<Consumer<ScreenGraph>> edits
+    ) throws IllegalArgumentException, IllegalStateException {
+	synchronized (graphLock) {
+	    final ScreenGraph graph = committedGraph.copy();
+	    for (Consumer<ScreenGraph> edit : edits) {
+		edit.accept(graph);
+	    }
+	    publish(graph, committedGraph.diff(graph));
+	}
+    }
+
+    /**
+     * Replace the screens and edges of this object with those registered with the specified builder, for example after reloading a screen flow definition. Screens which this object has already created keep their instances if they are registered with an equal instance or factory, so factories which should survive reloads should implement <code>equals()</code>. Other screens are disposed of and created again when needed. The active screen is kept if it is still registered, else the builder's starting screen becomes active. Like changes made through <code>edit()</code>, the new graph is adopted at the start of the next <code>update()</code>. Options of the builder, such as the history depth, are not reloaded.
+     *
+     * @param builder builder holding the new screen graph
+     * @return screens which differ between the old and new graphs
+     * @throws IllegalStateException if the builder's starting screen has not been set
+     */
+    public ScreenGraphDiff reload(
+	@NonNull final ScreenControllerBuilder builder
+    ) throws IllegalStateException {
+	final ScreenGraph graph = builder.toGraph();
+	for (SharedScreenRegistry registry : builder.getSharedRegistries()) {
+	    sharedRegistries.addIfAbsent(registry);
+	}
+	synchronized (graphLock) {
+	    final ScreenGraphDiff diff = committedGraph.diff(graph);
+	    publish(graph, diff);
+	    return diff;
+	}
+    }
+
+    // Finds what differs from the committed graph here, on the committing thread, so adopting the graph costs only as much as what changed
+    private void publish(
+	@NonNull final ScreenGraph graph, @NonNull final ScreenGraphDiff diff
+    ) throws IllegalStateException {
+	if (!graph.hasScreenOrRoute(graph.startingScreenName)) {
+	    throw new IllegalStateException(
+		"The starting screen: " + graph.startingScreenName +
+		" is not registered"
+	    );
+	}
+	final ObjectSet<String> changedNames = new ObjectSet<>();
+	changedNames.addAll(diff.getAdded());
+	changedNames.addAll(diff.getRemoved());
+	changedNames.addAll(diff.getChanged());
+	final ObjectSet<String> changedFamilies = new ObjectSet<>();
+	changedFamilies.addAll(committedGraph.changedFamilies(graph));
+	committedGraph = graph;
+	// A graph committed since the last update() is replaced, so what it changed must still be applied
+	final PendingGraph previous = pendingGraph.getAndSet(null);
+	if (previous != null) {
+	    changedNames.addAll(previous.changedNames);
+	    changedFamilies.addAll(previous.changedFamilies);
+	}
+	pendingGraph.set(new PendingGraph(graph.copy(), changedNames, changedFamilies));
+    }
+
+    // Returns true if the active screen was changed by adopting the graph
+    private boolean adoptPendingGraph() {
+	final PendingGraph pending = pendingGraph.getAndSet(null);
+	if (pending == null) {
+	    return false;
+	}
+	final ScreenGraph graph = pending.graph;
+	final ObjectSet<String> discarded = new ObjectSet<>();
+	for (String family : pending.changedFamilies) {
+	    for (String name : transitionController.getCreatedMemberNames(family)) {
+		discardIfReplaced(name, graph, discarded);
+	    }
+	    for (String name : choiceController.getCreatedMemberNames(family)) {
+		discardIfReplaced(name, graph, discarded);
+	    }
+	}
+	for (String name : pending.changedNames) {
+	    discardIfReplaced(name, graph, discarded);
+	}
+	graph.transitionController.takeScreens(transitionController, pending.changedNames, discarded);
+	graph.choiceController.takeScreens(choiceController, pending.changedNames, discarded);
+	transitionController = graph.transitionController;
+	choiceController = graph.choiceController;
+	routeController = graph.routeController;
+	globalController = graph.globalController;
+	if (!graph.has(currentScreenName)) {
+	    currentScreenName = routeController.resolve(graph.startingScreenName);
+	}
+	if (get() != currentScreen) {
+	    setCurrentScreenFromName(true);
+	    return true;
+	}
+	else {
+	    return false;
+	}
+    }
+
+    // Discards the created screen with the specified name unless the graph registers it the same way
+    private void discardIfReplaced(
+	@NonNull final String name,
+	@NonNull final ScreenGraph graph,
+	@NonNull final ObjectSet<String> discarded
+    ) {
+	if (discarded.contains(name)) {
+	    return;
+	}
+	final Screen screen;
+	final Object registration;
+	final Object nextRegistration;
+	if (transitionController.isCreated(name)) {
+	    screen = transitionController.get(name);
+	    registration = transitionController.getRegistration(name);
+	    nextRegistration = graph.transitionController.has(name) ?
+		graph.transitionController.getRegistration(name) : null;
+	}
+	else if (choiceController.isCreated(name)) {
+	    screen = choiceController.get(name);
+	    registration = choiceController.getRegistration(name);
+	    nextRegistration = graph.choiceController.has(name) ?
+		graph.choiceController.getRegistration(name) : null;
+	}
+	else {
+	    return;
+	}
+	if (nextRegistration == null || !Objects.equals(registration, nextRegistration)) {
+	    discard(name, screen, registration != screen);
+	    discarded.add(name);
+	}
+    }
+
+    private void discard(
+	@NonNull final String name,
+	@NonNull final Screen screen,
+	final boolean createdFromFactory
+    ) {
+	if (createdFromFactory || usedScreens.containsKey(name)) {
+	    disposeScreen(name, screen);
+	}
+	usedScreens.remove(name);
+	preparedScreens.remove(name);
+	if (softCache != null) {
+	    softCache.release(name);
+	}
+	warmer.forget(name);
     }
 
     private boolean updateTransition() throws IllegalStateException {
 	final ITransitionScreen screen = transitionController.get(currentScreenName);
 	if (screen.isFinished()) {
-	    currentScreenName = transitionController.getTransition(currentScreenName);
-	    setCurrentScreenFromName();
+	    follow(
+		transitionController.getTransition(currentScreenName),
+		TransitionStream.TRANSITION,
+		-1,
+		false
+	    );
 	    return true;
 	}
 	else {
+	    warmUpSuccessor();
 	    return false;
 	}
     }
 
+    private void warmUpSuccessor() {
+	if (!warmer.isEnabled() || !transitionController.hasTransition(currentScreenName)) {
+	    return;
+	}
+	final String nextScreenName = transitionController.getTransition(currentScreenName);
+	if (!warmer.needsWarmUp(nextScreenName)) {
+	    return;
+	}
+	if (transitionController.has(nextScreenName)) {
+	    final ITransitionScreen screen = transitionController.get(nextScreenName);
+	    settleExitReset(nextScreenName, screen);
+	    warmer.step(nextScreenName, screen);
+	}
+	else if (choiceController.has(nextScreenName)) {
+	    final IChoiceScreen screen = choiceController.get(nextScreenName);
+	    settleExitReset(nextScreenName, screen);
+	    warmer.step(nextScreenName, screen);
+	}
+    }
+
+    /**
+     * Return true if a screen is being rendered to warm it up before it is first shown, else false. Screens can check this in <code>render()</code> to skip work with side effects, such as playing sounds.
+     *
+     * @return true if a screen is being warmed up, else false
+     */
+    public boolean isWarmingUp() {
+	return warmer.isWarmingUp();
+    }
+
     private boolean updateChoice() throws IllegalStateException {
 	final IChoiceScreen screen = choiceController.get(currentScreenName);
 	if (screen.isFinished()) {
 	    final int choice = screen.getChoice();
-	    currentScreenName = choiceController.getChoice(currentScreenName, choice);
-	    setCurrentScreenFromName();
+	    lastChoice = choice;
+	    // Choices which are triggers are reserved for global transitions
+	    final String globalTarget = globalController.isEmpty() ?
+		null : globalController.getTarget(currentScreenName, choice);
+	    if (globalTarget != null) {
+		// Followed as an edge of the screen, so the screen is not interrupted
+		follow(globalTarget, TransitionStream.CHOICE, choice, false);
+	    }
+	    else {
+		follow(
+		    choiceController.getChoice(currentScreenName, choice),
+		    TransitionStream.CHOICE,
+		    choice,
+		    false
+		);
+	    }
 	    return true;
 	}
 	else {
@@ -100,33 +498,733 @@ public class ScreenController {
 	}	
     }
 
-    private void setCurrentScreenFromName() throws IllegalStateException {
-	if (transitionController.has(currentScreenName)) {
-	    this.currentScreen = transitionController.get(currentScreenName);
-	    if (usedScreens.containsKey(currentScreenName)) {
-		transitionController.get(currentScreenName).reset();
+    // Returns false if a global transition leads to the active screen, which is then left as it is
+    private boolean follow(
+	@NonNull final String target, final byte kind, final int choice, final boolean interrupt
+    ) throws IllegalStateException {
+	final String previousScreenName = currentScreenName;
+	final int interruptedCount = interruptedScreenNames.size;
+	final boolean returning = RETURN.equals(target);
+	if (returning) {
+	    if (interruptedCount == 0) {
+		throw new IllegalStateException(
+		    "No interrupted screen to return to from: " + currentScreenName
+		);
 	    }
+	    // Popped once shown, by setCurrentScreenFromName()
+	    currentScreenName = interruptedScreenNames.peek();
 	}
-	else if (choiceController.has(currentScreenName)) {
-	    this.currentScreen = choiceController.get(currentScreenName);
-	    if (usedScreens.containsKey(currentScreenName)) {
-		choiceController.get(currentScreenName).reset();
+	else {
+	    currentScreenName = routeController.resolve(target);
+	}
+	if (interrupt) {
+	    if (currentScreenName.equals(previousScreenName)) {
+		return false;
+	    }
+	    if (!returning) {
+		// Pushed first so the screen interrupted is not reset on exit
+		interruptedScreenNames.add(previousScreenName);
+	    }
+	}
+	try {
+	    setCurrentScreenFromName(!returning);
+	} catch (IllegalStateException e) {
+	    currentScreenName = previousScreenName;
+	    interruptedScreenNames.truncate(interruptedCount);
+	    throw e;
+	}
+	if (returning) {
+	    if (history.peek() == screenIds.get(currentScreenName, -1)) {
+		history.pop();
 	    }
 	}
 	else {
+	    history.push(idOf(previousScreenName));
+	}
+	retainIfInactive(previousScreenName);
+	publishTransition(kind, previousScreenName, choice);
+	return true;
+    }
+
+    /**
+     * Follow the global or group transition registered for the specified trigger from the active screen during the next <code>update()</code>, whether or not the active screen has finished, as if it were an edge from the active screen. The screen left is remembered, so that an edge to {@link #RETURN} returns to it without resetting it, and is not reset on exit. Interruptions nest, so a trigger fired from a screen reached through another trigger is returned from first. A later call replaces an earlier one which has not been followed yet. Nothing happens if no transition for the trigger applies to the active screen's group, or the transition leads to the active screen. Transitions followed through this method are logged to a {@link SessionRecording} with the trigger, so are replayed by firing it again.
+     *
+     * @param trigger value of the trigger
+     * @throws IllegalArgumentException if no global or group transition is registered for trigger
+     */
+    public void fire(final int trigger) throws IllegalArgumentException {
+	if (!globalController.hasTrigger(trigger)) {
+	    throw new IllegalArgumentException(
+		"No global or group transition exists for trigger: " + trigger
+	    );
+	}
+	firedTrigger = trigger;
+	triggerFired = true;
+    }
+
+    /**
+     * Return true if there is a previous screen which can be returned to using <code>back()</code>, else false.
+     *
+     * @return true if there is a previous screen to return to, else false
+     */
+    public boolean canGoBack() {
+	return !history.isEmpty();
+    }
+
+    /**
+     * Set the active {@link Screen} to the screen which was active before the current one. The returned to screen is not reset if this object was built with <code>withResetOnBack(false)</code>. No change is made if there is no previous screen.
+     *
+     * @return true if the active screen has been changed, else false
+     * @throws IllegalStateException if the previous screen is no longer registered
+     */
+    public boolean back() throws IllegalStateException {
+	if (history.isEmpty()) {
+	    return false;
+	}
+	final long timestamp = recording == null ? 0 : System.nanoTime();
+	final String previousScreenName = currentScreenName;
+	currentScreenName = screenNames.get(history.peek());
+	try {
+	    setCurrentScreenFromName(resetOnBack);
+	} catch (IllegalStateException e) {
+	    currentScreenName = previousScreenName;
+	    throw e;
+	}
+	history.pop();
+	retainIfInactive(previousScreenName);
+	publishTransition(TransitionStream.BACK, previousScreenName, -1);
+	if (recording != null) {
+	    recording.record(timestamp, SessionRecording.BACK, -1);
+	}
+	return true;
+    }
+
+    private int idOf(final String screenName) {
+	int id = screenIds.get(screenName, -1);
+	if (id == -1) {
+	    id = screenNames.size;
+	    screenIds.put(screenName, id);
+	    screenNames.add(screenName);
+	    if (transitionStream != null) {
+		transitionStream.putName(id, screenName);
+	    }
+	}
+	return id;
+    }
+
+    private void publishTransition(
+	final byte kind, @NonNull final String previousScreenName, final int choice
+    ) {
+	if (transitionStream != null) {
+	    transitionStream.publish(
+		kind,
+		idOf(previousScreenName),
+		idOf(currentScreenName),
+		choice,
+		System.nanoTime(),
+		frame
+	    );
+	}
+    }
+
+    /**
+     * Get the {@link ScreenInputRouter} which forwards input events to the active screen of this object. Set it once with <code>Gdx.input.setInputProcessor()</code>, rather than setting a processor each time the active screen changes.
+     *
+     * @return input router of this object
+     */
+    public ScreenInputRouter getInputRouter() {
+	return inputRouter;
+    }
+
+    /**
+     * Get the number of times <code>update()</code> has been called on this object.
+     *
+     * @return current frame number
+     */
+    public long getFrame() {
+	return frame;
+    }
+
+    private void setCurrentScreenFromName(
+	final boolean resetIfUsed
+    ) throws IllegalStateException {
+	if (!transitionController.has(currentScreenName) &&
+	    !choiceController.has(currentScreenName)) {
 	    throw new IllegalStateException(
 		"No screen found with name: '" + currentScreenName + "'"
 	    );
 	}
+	final ITransitionScreen screen = getScreen(currentScreenName);
+	final boolean warmedUp = warmer.onShown(currentScreenName);
+	final boolean prepared = preparedScreens.remove(currentScreenName);
+	final boolean clean = settleExitReset(currentScreenName, screen);
+	if (warmedUp || resetIfUsed && !prepared && !clean &&
+	    usedScreens.containsKey(currentScreenName)) {
+	    resetScreen(currentScreenName, screen);
+	}
+	if (resetOnExit && currentScreen != null && currentScreen != screen &&
+	    usedScreens.get(shownScreenName) == currentScreen &&
+	    !interruptedScreenNames.contains(shownScreenName, false)) {
+	    resetOnExit(shownScreenName, (ITransitionScreen) currentScreen);
+	}
+	this.currentScreen = screen;
+	this.shownScreenName = currentScreenName;
+	inputRouter.route(currentScreenName, screen);
+	if (interruptedScreenNames.size > 0) {
+	    // However it is reached, an interrupted screen is no longer interrupted, nor are those interrupted after it
+	    final int index = interruptedScreenNames.lastIndexOf(currentScreenName, false);
+	    if (index != -1) {
+		interruptedScreenNames.truncate(index);
+	    }
+	}
+	if (leakDetector != null) {
+	    leakDetector.onShown(currentScreenName, screen);
+	}
+	if (softCache != null) {
+	    softCache.release(currentScreenName);
+	}
 	usedScreens.put(currentScreenName, currentScreen);	    
     }
 
+    private void resetOnExit(@NonNull final String name, @NonNull final ITransitionScreen screen) {
+	final ExitReset exitReset = new ExitReset(screen);
+	exitResets.put(name, exitReset);
+	if (resetExecutor != null && screen.isResetThreadSafe()) {
+	    try {
+		resetExecutor.execute(exitReset);
+		return;
+	    } catch (RejectedExecutionException e) {
+		// Fall through to the scheduler
+	    }
+	}
+	scheduler.submit(exitReset, FrameScheduler.LOW_PRIORITY);
+    }
+
+    // Returns true if the screen has been reset since it was left, so need not be reset again
+    private boolean settleExitReset(@NonNull final String name, @NonNull final Screen screen) {
+	if (exitResets.size == 0) {
+	    return false;
+	}
+	final ExitReset exitReset = exitResets.remove(name);
+	return exitReset != null && exitReset.settle() && exitReset.screen == screen;
+    }
+
+    /**
+     * Schedule the screen registered with the specified name to be created from its factory during a later <code>update()</code>, so that it is not created on the frame it becomes active. Does nothing if the screen has already been created.
+     *
+     * @param name name of the screen
+     * @throws IllegalArgumentException if no screen is registered with the specified name
+     */
+    public void preload(@NonNull final String name) throws IllegalArgumentException {
+	if (!transitionController.has(name) && !choiceController.has(name)) {
+	    throw new IllegalArgumentException("No screen exists with name: " + name);
+	}
+	final int generation = preloadGeneration.get();
+	scheduler.submit(() -> {
+	    if (generation == preloadGeneration.get()) {
+		createIfRegistered(name);
+	    }
+	}, FrameScheduler.LOW_PRIORITY);
+    }
+
     /**
-     * Dispose of all screens which have at some point been the active screen of this object.
+     * Prepare the screen registered with the specified name to be shown, by creating it if it has not been created and resetting it if it has been shown before, during later <code>update()</code>s through this object's {@link FrameScheduler}. A screen which has to be created is created and reset in separate jobs, so each fits the frame budget on its own, and factories which are thread safe are run on the executor set with <code>ScreenControllerBuilder.withPreloadExecutor()</code>, if any, rather than on the render thread. The screen is not reset again when it is next shown, unless it is shown after being prepared and then left. If name belongs to a route, the route is followed when the screen is prepared. The active screen is not reset.
+     *
+     * @param name name of the screen or route
+     * @return future completed with the prepared screen, or exceptionally if the screen could not be prepared
+     * @throws IllegalArgumentException if no screen or route is registered with the specified name
+     */
+    public CompletableFuture<Screen> prepare(@NonNull final String name) throws IllegalArgumentException {
+	if (!transitionController.has(name) && !choiceController.has(name) &&
+	    !routeController.has(name)) {
+	    throw new IllegalArgumentException("No screen exists with name: " + name);
+	}
+	final CompletableFuture<Screen> future = new CompletableFuture<>();
+	scheduler.submit(() -> {
+	    try {
+		final String screenName = routeController.resolve(name);
+		if (!transitionController.has(screenName) && !choiceController.has(screenName)) {
+		    throw new IllegalStateException("No screen found with name: " + screenName);
+		}
+		final boolean transition = transitionController.has(screenName);
+		if (!isUncreated(screenName, transition)) {
+		    finishPreparing(screenName, future);
+		}
+		else if (preloadExecutor != null && (transition ?
+		    transitionController.getFactory(screenName).isThreadSafe() :
+		    choiceController.getFactory(screenName).isThreadSafe())) {
+		    preloadOffThread(
+			screenName,
+			transition,
+			transition ? transitionController.getFactory(screenName)::create :
+			choiceController.getFactory(screenName)::create,
+			preloadGeneration.get(),
+			() -> finishPreparing(screenName, future)
+		    );
+		}
+		else {
+		    getScreen(screenName);
+		    scheduler.submit(
+			() -> finishPreparing(screenName, future), FrameScheduler.HIGH_PRIORITY
+		    );
+		}
+	    } catch (RuntimeException e) {
+		future.completeExceptionally(e);
+	    }
+	}, FrameScheduler.HIGH_PRIORITY);
+	return future;
+    }
+
+    private boolean isUncreated(@NonNull final String name, final boolean transition) {
+	return transition ?
+	    transitionController.hasFactory(name) && !transitionController.isCreated(name) :
+	    choiceController.hasFactory(name) && !choiceController.isCreated(name);
+    }
+
+    // Resets the screen being prepared, which has been created by now unless its creation failed or was cancelled
+    private void finishPreparing(
+	@NonNull final String screenName, @NonNull final CompletableFuture<Screen> future
+    ) {
+	try {
+	    if (!transitionController.has(screenName) && !choiceController.has(screenName)) {
+		throw new IllegalStateException("No screen found with name: " + screenName);
+	    }
+	    final ITransitionScreen screen = getScreen(screenName);
+	    if (!screenName.equals(currentScreenName)) {
+		final boolean warmedUp = warmer.onShown(screenName);
+		final boolean clean = settleExitReset(screenName, screen);
+		if (warmedUp || !clean && usedScreens.containsKey(screenName)) {
+		    resetScreen(screenName, screen);
+		}
+		preparedScreens.add(screenName);
+	    }
+	    if (future == goToFuture) {
+		goToScreenName = screenName;
+	    }
+	    future.complete(screen);
+	} catch (RuntimeException e) {
+	    future.completeExceptionally(e);
+	}
+    }
+
+    /**
+     * Make the screen registered with the specified name the active screen, outside of the edges of the screen graph, for example to follow a deep link. The screen is prepared as by <code>prepare()</code>, and becomes active during the first <code>update()</code> after it has been prepared, which then returns true, so the switch never waits for the screen to be created or reset. The screen left is remembered for <code>back()</code>. A later call to <code>goTo()</code> replaces an earlier one which has not switched yet. The switch is abandoned if the screen can't be prepared or is unregistered before it happens, and nothing happens if the screen is already active when it would. Switches made through this method are logged to a {@link SessionRecording} with the screen switched to, so are replayed by going to it again.
+     *
+     * @param name name of the screen or route
+     * @return future completed with the screen to switch to once it has been prepared
+     * @throws IllegalArgumentException if no screen or route is registered with the specified name
+     */
+    public CompletableFuture<Screen> goTo(@NonNull final String name) throws IllegalArgumentException {
+	goToScreenName = null;
+	goToFuture = null;
+	final CompletableFuture<Screen> future = prepare(name);
+	goToFuture = future;
+	return future;
+    }
+
+    // Returns true if the active screen was changed to the screen passed to goTo()
+    private boolean switchToPreparedScreen() {
+	final String screenName = goToScreenName;
+	goToFuture = null;
+	goToScreenName = null;
+	if (screenName == null || screenName.equals(currentScreenName) ||
+	    !transitionController.has(screenName) && !choiceController.has(screenName)) {
+	    return false;
+	}
+	final String previousScreenName = currentScreenName;
+	currentScreenName = screenName;
+	try {
+	    setCurrentScreenFromName(true);
+	} catch (IllegalStateException e) {
+	    currentScreenName = previousScreenName;
+	    throw e;
+	}
+	history.push(idOf(previousScreenName));
+	retainIfInactive(previousScreenName);
+	publishTransition(TransitionStream.GO_TO, previousScreenName, -1);
+	return true;
+    }
+
+    boolean hasScreen(@NonNull final String name) {
+	return transitionController.has(name) || choiceController.has(name);
+    }
+
+    private void createIfRegistered(@NonNull final String name) {
+	if (transitionController.has(name) || choiceController.has(name)) {
+	    getScreen(name);
+	}
+    }
+
+    // Gets the registered screen with the specified name, timing and tracking its creation if enabled
+    ITransitionScreen getScreen(@NonNull final String name) {
+	final boolean transition = transitionController.has(name);
+	if (timings == null && leakDetector == null || (transition ?
+	    transitionController.isCreated(name) : choiceController.isCreated(name))) {
+	    return transition ? transitionController.get(name) : choiceController.get(name);
+	}
+	final long start = System.nanoTime();
+	final ITransitionScreen screen = transition ?
+	    transitionController.get(name) : choiceController.get(name);
+	if (timings != null) {
+	    timings.recordCreate(name, System.nanoTime() - start);
+	}
+	if (leakDetector != null) {
+	    leakDetector.onCreated(name, screen);
+	}
+	return screen;
+    }
+
+    private void resetScreen(@NonNull final String name, @NonNull final ITransitionScreen screen) {
+	if (timings == null) {
+	    screen.reset();
+	    return;
+	}
+	final long start = System.nanoTime();
+	screen.reset();
+	timings.recordReset(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Preload every screen reachable from the specified screen through at most the specified number of successions and choices, such as everything the next play session needs. Routes are followed to all of their targets without counting as a hop. Screens registered through factories which have not been created yet are created over later <code>update()</code>s through this object's {@link FrameScheduler}, or on the executor set with <code>ScreenControllerBuilder.withPreloadExecutor()</code> if their factories are thread safe. Pending creations are cancelled by <code>onMemoryPressure()</code>.
+     *
+     * @param root name of the screen or route to start from
+     * @param hops maximum number of edges followed from root
+     * @return task reporting the progress of the preload
+     * @throws IllegalArgumentException if no screen or route is registered with root, or hops is negative
+     */
+    public PreloadTask preloadReachable(
+	@NonNull final String root, final int hops
+    ) throws IllegalArgumentException {
+	if (hops < 0) {
+	    throw new IllegalArgumentException("Hops must not be negative, got: " + hops);
+	}
+	if (!transitionController.has(root) && !choiceController.has(root) &&
+	    !routeController.has(root)) {
+	    throw new IllegalArgumentException("No screen exists with name: " + root);
+	}
+	final Array<String> names = uncreatedScreensReachableFrom(root, hops);
+	final PreloadTask task = new PreloadTask(names.size);
+	final int generation = preloadGeneration.get();
+	for (String name : names) {
+	    if (preloadExecutor != null && transitionController.has(name) &&
+		transitionController.getFactory(name).isThreadSafe()) {
+		preloadOffThread(
+		    name, true, transitionController.getFactory(name)::create, generation, task::settle
+		);
+	    }
+	    else if (preloadExecutor != null && choiceController.has(name) &&
+		     choiceController.getFactory(name).isThreadSafe()) {
+		preloadOffThread(
+		    name, false, choiceController.getFactory(name)::create, generation, task::settle
+		);
+	    }
+	    else {
+		scheduler.submit(() -> {
+		    if (generation == preloadGeneration.get()) {
+			createIfRegistered(name);
+		    }
+		    task.settle();
+		}, FrameScheduler.LOW_PRIORITY);
+	    }
+	}
+	return task;
+    }
+
+    private Array<String> uncreatedScreensReachableFrom(
+	@NonNull final String root, final int hops
+    ) {
+	final ObjectIntMap<String> depths = new ObjectIntMap<>();
+	final Array<String> queue = new Array<>();
+	final Array<String> names = new Array<>();
+	depths.put(root, 0);
+	queue.add(root);
+	for (int i = 0; i < queue.size; i++) {
+	    final String name = queue.get(i);
+	    final int depth = depths.get(name, 0);
+	    final Array<String> next = new Array<>();
+	    int nextDepth = depth + 1;
+	    if (routeController.has(name)) {
+		next.addAll(routeController.getTargets(name));
+		nextDepth = depth;
+	    }
+	    else if (transitionController.has(name)) {
+		if (transitionController.hasFactory(name) && !transitionController.isCreated(name)) {
+		    names.add(name);
+		}
+		if (transitionController.hasTransition(name)) {
+		    next.add(transitionController.getTransition(name));
+		}
+	    }
+	    else if (choiceController.has(name)) {
+		if (choiceController.hasFactory(name) && !choiceController.isCreated(name)) {
+		    names.add(name);
+		}
+		for (String choiceName : choiceController.getChoices(name).values()) {
+		    next.add(choiceName);
+		}
+	    }
+	    if (nextDepth > hops) {
+		continue;
+	    }
+	    for (String nextName : next) {
+		if (!depths.containsKey(nextName)) {
+		    depths.put(nextName, nextDepth);
+		    queue.add(nextName);
+		}
+	    }
+	}
+	return names;
+    }
+
+    // Creates the screen on the preload executor, and installs it on the render thread before running then
+    private void preloadOffThread(
+	@NonNull final String name,
+	final boolean transition,
+	@NonNull final Supplier<? extends ITransitionScreen> factory,
+	final int generation,
+	@NonNull final Runnable then
+    ) {
+	final Object registration = transition ?
+	    transitionController.getRegistration(name) : choiceController.getRegistration(name);
+	final Runnable create = () -> {
+	    ITransitionScreen created = null;
+	    if (generation == preloadGeneration.get()) {
+		try {
+		    created = factory.get();
+		} catch (RuntimeException e) {
+		    // Left to be created when first needed
+		}
+	    }
+	    final ITransitionScreen screen = created;
+	    scheduler.submit(() -> {
+		installPreloaded(name, transition, registration, screen);
+		then.run();
+	    }, FrameScheduler.HIGH_PRIORITY);
+	};
+	try {
+	    preloadExecutor.execute(create);
+	} catch (RejectedExecutionException e) {
+	    scheduler.submit(create, FrameScheduler.LOW_PRIORITY);
+	}
+    }
+
+    private void installPreloaded(
+	@NonNull final String name,
+	final boolean transition,
+	@NonNull final Object registration,
+	@Nullable final ITransitionScreen screen
+    ) {
+	if (screen == null) {
+	    return;
+	}
+	if (leakDetector != null) {
+	    leakDetector.onCreated(name, screen);
+	}
+	if (transition && transitionController.has(name) &&
+	    !transitionController.isCreated(name) &&
+	    registration.equals(transitionController.getRegistration(name))) {
+	    transitionController.setCreated(name, screen);
+	}
+	else if (!transition && choiceController.has(name) &&
+		 !choiceController.isCreated(name) &&
+		 registration.equals(choiceController.getRegistration(name))) {
+	    choiceController.setCreated(name, (IChoiceScreen) screen);
+	}
+	else {
+	    disposeScreen(name, screen);
+	}
+    }
+
+    private void retainIfInactive(@NonNull final String screenName) {
+	if (softCache != null && !screenName.equals(currentScreenName) &&
+	    (transitionController.hasFactory(screenName) ||
+	     choiceController.hasFactory(screenName))) {
+	    softCache.retain(screenName);
+	}
+    }
+
+    private void evictCollectedScreens() {
+	if (softCache == null) {
+	    return;
+	}
+	String screenName;
+	while ((screenName = softCache.poll()) != null) {
+	    evict(screenName);
+	}
+    }
+
+    /**
+     * Give up screens to free memory, according to the specified severity. Only screens registered through factories are given up, these are disposed of and created again by their factories when next needed. The active screen is never given up. Low memory signals are usually delivered off the render thread, such as Android's <code>onTrimMemory()</code> on the UI thread, so this method may be called from any thread: pending preloads are cancelled at once, while the screens are given up on the render thread through this object's {@link FrameScheduler}, ahead of other jobs, during the next <code>update()</code>.
+     *
+     * @param pressure severity of the low memory signal
+     * @return future completed with the sum of the memory weights of the screens given up
+     */
+    public CompletableFuture<Long> onMemoryPressure(@NonNull final MemoryPressure pressure) {
+	preloadGeneration.incrementAndGet();
+	final CompletableFuture<Long> freed = new CompletableFuture<>();
+	scheduler.submit(() -> freed.complete(shed(pressure)), FrameScheduler.HIGH_PRIORITY);
+	return freed;
+    }
+
+    private long shed(@NonNull final MemoryPressure pressure) {
+	final int keptId = pressure == MemoryPressure.SEVERE ?
+	    history.peek() : ScreenHistory.EMPTY;
+	final String keptScreenName = keptId == ScreenHistory.EMPTY ?
+	    null : screenNames.get(keptId);
+	long freed = 0;
+	final Array<String> evictableNames = new Array<>(
+	    transitionController.getEvictableNames()
+	);
+	evictableNames.addAll(choiceController.getEvictableNames());
+	for (String screenName : evictableNames) {
+	    final boolean preloaded = !usedScreens.containsKey(screenName);
+	    if (preloaded ||
+		pressure == MemoryPressure.CRITICAL ||
+		pressure == MemoryPressure.SEVERE && !screenName.equals(keptScreenName)) {
+		freed += Math.max(0, evict(screenName));
+	    }
+	}
+	return freed;
+    }
+
+    // Returns the memory weight of the evicted screen, or -1 if nothing was evicted
+    private long evict(@NonNull final String screenName) {
+	if (screenName.equals(currentScreenName)) {
+	    return -1;
+	}
+	ITransitionScreen screen = transitionController.evict(screenName);
+	if (screen == null) {
+	    screen = choiceController.evict(screenName);
+	}
+	if (screen == null) {
+	    return -1;
+	}
+	final long weight = screen.getMemoryWeight();
+	usedScreens.remove(screenName);
+	preparedScreens.remove(screenName);
+	if (softCache != null) {
+	    softCache.release(screenName);
+	}
+	warmer.forget(screenName);
+	disposeScreen(screenName, screen);
+	return weight;
+    }
+
+    // Screens given up while this object is in use are disposed of through the scheduler, so disposing of them fits the frame budget
+    private void disposeScreen(@NonNull final String name, @NonNull final Screen screen) {
+	settleExitReset(name, screen);
+	scheduler.submit(() -> disposeNow(name, screen), FrameScheduler.LOW_PRIORITY);
+    }
+
+    // Every screen disposed of by this object is disposed of here
+    private void disposeNow(@NonNull final String name, @NonNull final Screen screen) {
+	for (SharedScreenRegistry registry : sharedRegistries) {
+	    final int remaining = registry.release(screen);
+	    if (remaining != -1) {
+		if (remaining == 0 && leakDetector != null) {
+		    leakDetector.onDisposed(name, screen);
+		}
+		return;
+	    }
+	}
+	if (leakDetector != null) {
+	    leakDetector.onDisposed(name, screen);
+	}
+	screen.dispose();
+    }
+
+    @VisibleForTesting
+    @Nullable
+    SoftScreenCache getSoftScreenCache() {
+	return softCache;
+    }
+
+    /**
+     * Get the number of screens held by this object which have at some point been the active screen.
+     *
+     * @return number of resident screens
+     */
+    public int getResidentScreenCount() {
+	return usedScreens.size;
+    }
+
+    /**
+     * Get the {@link FrameScheduler} used by this object to run deferred jobs during <code>update()</code>.
+     *
+     * @return scheduler of this object
+     */
+    public FrameScheduler getScheduler() {
+	return scheduler;
+    }
+
+    /**
+     * Dispose of all screens which have at some point been the active screen of this object, and of all screens created from factories which have not, such as preloaded screens. Each screen is disposed of once. Screens held by a {@link SharedScreenRegistry} are released instead, and are disposed of once no other controller holds them. This object drops its references to the screens disposed of, so a {@link ScreenLeakDetector} only reports those referenced elsewhere, and must not be used afterwards. Unlike screens given up while this object is in use, which are disposed of through its {@link FrameScheduler} within the frame budget, screens are disposed of at once, as no later <code>update()</code> would run the jobs. Pending jobs of the scheduler are run too, so that screens preloaded on another thread but not yet installed, and screens whose disposal was deferred, are disposed of.
      */
     public void dispose() {
-	for (Screen screen : usedScreens.values()) {
-	    screen.dispose();
+	// A screen instance may be registered and shown under several names
+	final Set<Screen> disposed = Collections.newSetFromMap(new IdentityHashMap<>());
+	for (ObjectMap.Entry<String, Screen> entry : usedScreens) {
+	    if (disposed.add(entry.value)) {
+		settleExitReset(entry.key, entry.value);
+		disposeNow(entry.key, entry.value);
+	    }
+	}
+	// Screens created but never shown, by preloading or eager creation
+	for (String name : transitionController.getNames()) {
+	    if (transitionController.hasFactory(name) && transitionController.isCreated(name) &&
+		!usedScreens.containsKey(name) && disposed.add(transitionController.get(name))) {
+		disposeNow(name, transitionController.get(name));
+	    }
+	}
+	for (String name : choiceController.getNames()) {
+	    if (choiceController.hasFactory(name) && choiceController.isCreated(name) &&
+		!usedScreens.containsKey(name) && disposed.add(choiceController.get(name))) {
+		disposeNow(name, choiceController.get(name));
+	    }
+	}
+	// Replaced rather than cleared, as the map's cached iterator still references the last screen visited
+	usedScreens = new ObjectMap<>();
+	preparedScreens.clear();
+	exitResets.clear();
+	interruptedScreenNames.clear();
+	goToFuture = null;
+	goToScreenName = null;
+	currentScreen = null;
+	warmer.clear();
+	inputRouter.clear();
+	transitionController = new TransitionScreenController();
+	choiceController = new ChoiceScreenController();
+	pendingGraph.set(null);
+	synchronized (graphLock) {
+	    committedGraph = new ScreenGraph(
+		transitionController, choiceController, committedGraph.startingScreenName
+	    );
+	}
+	// Preloads still pending find no screens, so dispose of whatever they created. No update() follows to run them, so pending jobs, including deferred disposals, are run here regardless of the frame budget
+	preloadGeneration.incrementAndGet();
+	while (scheduler.pending() > 0) {
+	    scheduler.run();
+	}
+    }
+
+    // Graph committed but not yet adopted, with what differs from the graph adopted before it
+    private static final class PendingGraph {
+
+	@NonNull
+	private final ScreenGraph graph;
+	@NonNull
+	private final ObjectSet<String> changedNames;
+	@NonNull
+	private final ObjectSet<String> changedFamilies;
+
+	private PendingGraph(
+	    @NonNull final ScreenGraph graph,
+	    @NonNull final ObjectSet<String> changedNames,
+	    @NonNull final ObjectSet<String> changedFamilies
+	) {
+	    this.graph = graph;
+	    this.changedNames = changedNames;
+	    this.changedFamilies = changedFamilies;
 	}
     }
 }
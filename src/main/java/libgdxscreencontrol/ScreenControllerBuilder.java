@@ -1,11 +1,28 @@
 package libgdxscreencontrol;
 
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+
 import javax.annotation.Nullable;
 
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
 import libgdxscreencontrol.screen.IChoiceScreen;
 import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
+import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFamilyFactory;
 import libgdxscreencontrol.screen.ITransitionScreen;
 import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFamilyFactory;
 import lombok.NonNull;
 
 /**
@@ -19,19 +36,32 @@ public class ScreenControllerBuilder {
     @NonNull
     private final ChoiceScreenController choiceController =
 	new ChoiceScreenController();
+    @NonNull
+    private final RouteController routeController = new RouteController();
+    @NonNull
+    private final GlobalTransitionController globalController =
+	new GlobalTransitionController();
+    @NonNull
+    private final ScreenControllerConfig config = new ScreenControllerConfig();
+    @NonNull
+    private final Array<String> eagerScreenNames = new Array<>();
+    private long eagerTimeoutNanos = TimeUnit.SECONDS.toNanos(30);
     private String startingScreenName;
+    // Holds the screens created once built, which get() then looks up
+    @Nullable
+    private ScreenController controller;
 
     /**
      * Set the initial screen of the {@link ScreenController}. Must not be null.
      *
      * @param screenName name of the initial screen.
      * @return this instance for chaining
-     * @throws IllegalArgumentException if no screen instance has been registered with this object with the specified name
+     * @throws IllegalArgumentException if no screen instance or route has been registered with this object with the specified name
      */
     public ScreenControllerBuilder withStartingScreen(
 	@NonNull String screenName
     ) throws IllegalArgumentException {
-	if (isScreenRegistered(screenName)) {
+	if (isScreenRegistered(screenName) || routeController.has(screenName)) {
 	    this.startingScreenName = screenName;
 	    return this;
 	}
@@ -42,6 +72,249 @@ public class ScreenControllerBuilder {
 	}
     }
 
+    /**
+     * Set the maximum number of previous screens the {@link ScreenController} remembers for <code>back()</code>. Defaults to 16, a depth of zero disables back navigation.
+     *
+     * @param depth maximum number of screens remembered
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if depth is negative
+     */
+    public ScreenControllerBuilder withHistoryDepth(
+	int depth
+    ) throws IllegalArgumentException {
+	if (depth < 0) {
+	    throw new IllegalArgumentException(
+		"History depth must not be negative, got: " + depth
+	    );
+	}
+	config.historyDepth = depth;
+	return this;
+    }
+
+    /**
+     * Set whether a screen returned to through <code>back()</code> of the {@link ScreenController} is reset. Defaults to true.
+     *
+     * @param resetOnBack true if screens should be reset when returned to, else false
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withResetOnBack(boolean resetOnBack) {
+	config.resetOnBack = resetOnBack;
+	return this;
+    }
+
+    /**
+     * Set the time the {@link ScreenController} may spend per <code>update()</code> running deferred jobs such as preloading screens and disposing of the screens it gives up. Defaults to two milliseconds.
+     *
+     * @param budgetNanos time budget in nanoseconds
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if budgetNanos is negative
+     */
+    public ScreenControllerBuilder withFrameBudget(
+	long budgetNanos
+    ) throws IllegalArgumentException {
+	if (budgetNanos < 0) {
+	    throw new IllegalArgumentException(
+		"Frame budget must not be negative, got: " + budgetNanos
+	    );
+	}
+	config.frameBudgetNanos = budgetNanos;
+	return this;
+    }
+
+    /**
+     * Set the listener notified when deferred jobs run by the {@link ScreenController} exceed the frame budget.
+     *
+     * @param listener listener to notify
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withOverrunListener(
+	@NonNull FrameScheduler.IOverrunListener listener
+    ) {
+	config.overrunListener = listener;
+	return this;
+    }
+
+    /**
+     * Set the input processor to which the {@link ScreenInputRouter} of the {@link ScreenController} forwards events while the screen with the specified name is active, in place of the screen itself.
+     *
+     * @param screenName name of the screen
+     * @param processor input processor of the screen
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if no screen has been registered with the specified name
+     */
+    public ScreenControllerBuilder withInputProcessor(
+	@NonNull String screenName, @NonNull InputProcessor processor
+    ) throws IllegalArgumentException {
+	if (!isScreenRegistered(screenName)) {
+	    throw new IllegalArgumentException(
+		"A screen with name: " + screenName + " has not been registered"
+	    );
+	}
+	config.inputProcessors.put(screenName, processor);
+	return this;
+    }
+
+    /**
+     * Add an input processor to which the {@link ScreenInputRouter} of the {@link ScreenController} passes every event before the active screen's processor, such as a debug console or a handler of global hotkeys. Processors are passed events in the order they were added.
+     *
+     * @param processor input processor to add
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withGlobalInputProcessor(@NonNull InputProcessor processor) {
+	config.globalInputProcessors.add(processor);
+	return this;
+    }
+
+    /**
+     * Create the screens registered through factories with the specified names when <code>build()</code> is called, rather than when they are first needed. Screens whose factories are thread safe are created in parallel on a {@link ScreenExecutors} executor, the rest are created on the thread calling <code>build()</code> while the thread safe ones are being created. A screen which fails to be created, or is not created in time, is instead created when first needed.
+     *
+     * @param names names of the screens to create
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if any of the names has not been registered with this object
+     */
+    public ScreenControllerBuilder withEagerCreation(
+	@NonNull String... names
+    ) throws IllegalArgumentException {
+	for (String name : names) {
+	    if (!isScreenRegistered(name)) {
+		throw new IllegalArgumentException(
+		    "A screen with name: " + name + " has not been registered"
+		);
+	    }
+	}
+	eagerScreenNames.addAll(names);
+	return this;
+    }
+
+    /**
+     * Set how long <code>build()</code> waits for screens passed to <code>withEagerCreation()</code> to be created. Defaults to thirty seconds. Factories still running at the deadline are interrupted, and a screen they create anyway is disposed of.
+     *
+     * @param timeout time to wait
+     * @param unit unit of timeout
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if timeout is negative
+     */
+    public ScreenControllerBuilder withEagerCreationTimeout(
+	long timeout, @NonNull TimeUnit unit
+    ) throws IllegalArgumentException {
+	if (timeout < 0) {
+	    throw new IllegalArgumentException(
+		"Timeout must not be negative, got: " + timeout
+	    );
+	}
+	eagerTimeoutNanos = unit.toNanos(timeout);
+	return this;
+    }
+
+    /**
+     * While an {@link ITransitionScreen} is active and not finished, render the screen set to follow it once per <code>update()</code> of the {@link ScreenController}, up to the specified number of times, and then reset it. This moves the cost of JIT compiling a screen's render path to the time the previous screen, typically a loading screen, is active. The screen is warmed up as if shown: <code>show()</code> and <code>resize()</code> are called before its first warm-up render and <code>hide()</code> after its last, and with a GL context it draws into an off-screen frame buffer rather than the window. Disabled by default.
+     *
+     * @param iterations number of times to render each screen before it is first shown
+     * @param delta delta passed to <code>render()</code>
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if iterations is negative
+     */
+    public ScreenControllerBuilder withWarmUp(
+	int iterations, float delta
+    ) throws IllegalArgumentException {
+	if (iterations < 0) {
+	    throw new IllegalArgumentException(
+		"Warm up iterations must not be negative, got: " + iterations
+	    );
+	}
+	config.warmUpIterations = iterations;
+	config.warmUpDelta = delta;
+	return this;
+    }
+
+    /**
+     * Log every <code>update()</code> and <code>back()</code> of the {@link ScreenController} to the specified recording, so that the session can later be replayed with a {@link SessionReplayer}.
+     *
+     * @param recording recording to log to
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withRecording(@NonNull SessionRecording recording) {
+	config.recording = recording;
+	return this;
+    }
+
+    /**
+     * Allow inactive screens registered through factories to be disposed of by the {@link ScreenController} when the JVM is low on heap space, to be created again by their factories when next needed. Disposal happens during <code>update()</code>, on the render thread, before the screen can be garbage collected. Screens registered as instances are always kept. Disabled by default.
+     *
+     * @param softRetention true if inactive factory screens may be disposed under heap pressure, else false
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withSoftRetention(boolean softRetention) {
+	config.softRetention = softRetention;
+	return this;
+    }
+
+    /**
+     * Publish every change of active screen made by the {@link ScreenController} to the specified stream, which consumers on other threads can read without locking.
+     *
+     * @param stream stream to publish to
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withTransitionStream(@NonNull TransitionStream stream) {
+	config.transitionStream = stream;
+	return this;
+    }
+
+    /**
+     * Track the screens shown and disposed of by the {@link ScreenController} with the specified detector, to find screens still referenced after being disposed of, disposed of twice, or shown after being disposed of. Intended for debug builds and soak tests.
+     *
+     * @param detector detector to notify
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withLeakDetection(@NonNull ScreenLeakDetector detector) {
+	config.leakDetector = detector;
+	return this;
+    }
+
+    /**
+     * Record the time taken to create and reset each screen on the render thread to the specified {@link ScreenTimings}, for analysis with a {@link ScreenGraphAnalyzer}.
+     *
+     * @param timings timings to record to
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withTimings(@NonNull ScreenTimings timings) {
+	config.timings = timings;
+	return this;
+    }
+
+    /**
+     * Set whether screens are reset as soon as they are left, instead of when they become active again, so that returning to a screen does not wait for its reset. Screens whose <code>isResetThreadSafe()</code> returns true are reset on the executor set with <code>withResetExecutor()</code>, if any, others during a later <code>update()</code> through the {@link ScreenController}'s {@link FrameScheduler}. A screen which becomes active again before its reset has started is reset as it becomes active, and one whose reset is running is waited for. Has no effect if screens are not reset on back navigation, see <code>withResetOnBack()</code>. Defaults to false.
+     *
+     * @param resetOnExit true if screens should be reset when left, else false
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withResetOnExit(boolean resetOnExit) {
+	config.resetOnExit = resetOnExit;
+	return this;
+    }
+
+    /**
+     * Set the executor on which screens whose <code>isResetThreadSafe()</code> returns true are reset when left, see <code>withResetOnExit()</code>, for example one created by <code>ScreenExecutors.newFactoryExecutor()</code>.
+     *
+     * @param executor executor to reset thread safe screens on
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withResetExecutor(@NonNull Executor executor) {
+	config.resetExecutor = executor;
+	return this;
+    }
+
+    /**
+     * Set the executor on which <code>preloadReachable()</code> of the {@link ScreenController} calls factories which are thread safe, for example one created by <code>ScreenExecutors.newFactoryExecutor()</code>. Screens created on the executor are handed to the {@link ScreenController} during its next <code>update()</code>. By default, every factory is called on the render thread through the controller's {@link FrameScheduler}.
+     *
+     * @param executor executor to call thread safe factories on
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder withPreloadExecutor(@NonNull Executor executor) {
+	config.preloadExecutor = executor;
+	return this;
+    }
+
     /**
      * Register the specified {@link ITransitionScreen} with this object with the specified name. If either argument is null, a {@link NullPointerException} is thrown.
      *
@@ -99,6 +372,123 @@ public class ScreenControllerBuilder {
 	return this;
     }    
 
+    /**
+     * Register the screen with the specified name held by the specified {@link SharedScreenRegistry}, so that it is created by the first {@link ScreenController} to need it and shared with the others it is registered with. The screen is disposed of once every controller holding it has disposed of it. If either argument is null, a {@link NullPointerException} is thrown.
+     *
+     * @param name name of the screen in the registry, also associated with the screen in this builder
+     * @param registry registry holding the screen
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if no screen is registered with the specified name in the registry
+     */
+    public ScreenControllerBuilder registerShared(
+	@NonNull String name, @NonNull SharedScreenRegistry registry
+    ) throws IllegalArgumentException {
+	if (!registry.has(name)) {
+	    throw new IllegalArgumentException(
+		"No screen is registered with name: " + name + " in the shared registry"
+	    );
+	}
+	if (registry.isChoiceScreen(name)) {
+	    choiceController.add(name, registry.choiceFactory(name));
+	}
+	else {
+	    transitionController.add(name, registry.transitionFactory(name));
+	}
+	if (!config.sharedRegistries.contains(registry, true)) {
+	    config.sharedRegistries.add(registry);
+	}
+	return this;
+    }
+
+    /**
+     * Register a family of {@link ITransitionScreen}s created by the specified {@link ITransitionScreenFamilyFactory}, with a screen named <code>family/parameter</code> for each parameter from first to last inclusive, see {@link ScreenFamily#memberName(String, int)}. Each screen is created by the factory when it is first needed, so registering a family costs the same however large its range. If any argument is null, a {@link NullPointerException} is thrown.
+     *
+     * @param family name of the family
+     * @param first first parameter of the family
+     * @param last last parameter of the family
+     * @param factory {@link ITransitionScreenFamilyFactory} to register
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if first is negative or greater than last, or a family has already been registered with the specified name
+     */
+    public ScreenControllerBuilder registerTransitionFamily(
+	@NonNull String family, int first, int last,
+	@NonNull ITransitionScreenFamilyFactory<?> factory
+    ) throws IllegalArgumentException {
+	checkFamilyNotRegistered(family);
+	transitionController.addFamily(family, first, last, factory);
+	return this;
+    }
+
+    /**
+     * Register a family of {@link IChoiceScreen}s created by the specified {@link IChoiceScreenFamilyFactory}, with a screen named <code>family/parameter</code> for each parameter from first to last inclusive, see {@link ScreenFamily#memberName(String, int)}. Each screen is created by the factory when it is first needed, so registering a family costs the same however large its range. If any argument is null, a {@link NullPointerException} is thrown.
+     *
+     * @param family name of the family
+     * @param first first parameter of the family
+     * @param last last parameter of the family
+     * @param factory {@link IChoiceScreenFamilyFactory} to register
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if first is negative or greater than last, or a family has already been registered with the specified name
+     */
+    public ScreenControllerBuilder registerChoiceFamily(
+	@NonNull String family, int first, int last,
+	@NonNull IChoiceScreenFamilyFactory<?> factory
+    ) throws IllegalArgumentException {
+	checkFamilyNotRegistered(family);
+	choiceController.addFamily(family, first, last, factory);
+	return this;
+    }
+
+    private void checkFamilyNotRegistered(
+	@NonNull String family
+    ) throws IllegalArgumentException {
+	if (transitionController.hasFamily(family) || choiceController.hasFamily(family)) {
+	    throw new IllegalArgumentException(
+		"A family with name: " + family + " has already been registered"
+	    );
+	}
+    }
+
+    /**
+     * When a screen of the {@link ITransitionScreen} family specified by <code>family</code> has finished processing, set the next screen to the screen named by <code>successor</code> applied to the finished screen's parameter. A succession set for a single screen of the family with <code>setSuccession()</code> takes precedence.
+     *
+     * @param family name of the family
+     * @param successor function from parameter to the name of the next screen
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if no transition screen family has been registered with the name <code>family</code>
+     */
+    public ScreenControllerBuilder setFamilySuccession(
+	@NonNull String family, @NonNull IntFunction<String> successor
+    ) throws IllegalArgumentException {
+	if (!transitionController.hasFamily(family)) {
+	    throw new IllegalArgumentException(
+		"Cannot find a registered transition screen family with name: " + family
+	    );
+	}
+	transitionController.setFamilyTransition(family, successor);
+	return this;
+    }
+
+    /**
+     * When a screen of the {@link IChoiceScreen} family specified by <code>family</code> has finished processing and returned the specified value <code>choice</code>, set the next screen to the screen named by <code>choiceName</code> applied to the finished screen's parameter. A choice set for a single screen of the family with <code>choice()</code> takes precedence.
+     *
+     * @param family name of the family
+     * @param choiceName function from parameter to the name of the screen to follow
+     * @param choice the choice returned by the {@link IChoiceScreen}
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if no choice screen family has been registered with the name <code>family</code>
+     */
+    public ScreenControllerBuilder familyChoice(
+	@NonNull String family, @NonNull IntFunction<String> choiceName, int choice
+    ) throws IllegalArgumentException {
+	if (!choiceController.hasFamily(family)) {
+	    throw new IllegalArgumentException(
+		"Cannot find a registered choice screen family with name: " + family
+	    );
+	}
+	choiceController.setFamilyChoice(family, choice, choiceName);
+	return this;
+    }
+
     /**
      * When the {@link IChoiceScreen} specified by choiceScreenName has finished processing and returned the specified value <code>choice</code>, set the next screen to the screen specified by <code>choiceName</code>.
      *
@@ -146,7 +536,225 @@ public class ScreenControllerBuilder {
     }
 
     /**
-     * Get the screen registered with the specified name.
+     * Add a guard to the route with the specified name, registering the route if necessary. A route is a branch point which is not a screen: when an edge leading to it is followed, its guards are checked in the order they were added, and the target of the first whose condition holds is followed instead. No screen is created or shown for the route. Conditions are evaluated on the render thread during <code>update()</code> of the {@link ScreenController}, and should not allocate. The target may be a screen or another route.
+     *
+     * <pre>
+     * builder.guard("start", settings::isFirstRun, "tutorial-screen")
+     *     .otherwise("start", "menu-screen")
+     *     .setSuccession("loading-screen", "start");
+     * </pre>
+     *
+     * @param routeName name of the route
+     * @param condition condition of the guard
+     * @param target name of the screen or route to follow if the condition holds
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if a screen has been registered with the name <code>routeName</code>
+     */
+    public ScreenControllerBuilder guard(
+	@NonNull String routeName, @NonNull BooleanSupplier condition, @NonNull String target
+    ) throws IllegalArgumentException {
+	addRoute(routeName);
+	routeController.addGuard(routeName, condition, target);
+	return this;
+    }
+
+    /**
+     * Set the target of the route with the specified name followed if none of its guards hold, registering the route if necessary. See <code>guard()</code>.
+     *
+     * @param routeName name of the route
+     * @param target name of the screen or route to follow
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if a screen has been registered with the name <code>routeName</code>
+     */
+    public ScreenControllerBuilder otherwise(
+	@NonNull String routeName, @NonNull String target
+    ) throws IllegalArgumentException {
+	addRoute(routeName);
+	routeController.setDefault(routeName, target);
+	return this;
+    }
+
+    private void addRoute(@NonNull String routeName) throws IllegalArgumentException {
+	if (isScreenRegistered(routeName)) {
+	    throw new IllegalArgumentException(
+		"A screen with name: " + routeName + " has already been registered"
+	    );
+	}
+	routeController.add(routeName);
+    }
+
+    /**
+     * When the specified trigger is fired from any screen, set the next screen to the screen specified by <code>target</code>, without adding an edge to each screen. A trigger is fired with <code>ScreenController.fire()</code>, or by an {@link IChoiceScreen} returning it as its choice, in which case it takes precedence over the screen's own choice of the same value, so triggers should be values no choice screen uses otherwise. The target may be a route, or {@link ScreenController#RETURN}, and edges of the target may lead to {@link ScreenController#RETURN} to go back to the screen the trigger was fired from through <code>fire()</code>. A choice screen returning a trigger is left as through any other edge, so is not returned to.
+     *
+     * <pre>
+     * builder.globalTransition(PAUSE, "pause-screen")
+     *     .choice("pause-screen", ScreenController.RETURN, RESUME)
+     *     .choice("pause-screen", "menu-screen", QUIT);
+     * </pre>
+     *
+     * @param trigger value of the trigger
+     * @param target name of the screen or route to follow
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder globalTransition(int trigger, @NonNull String target) {
+	globalController.setGlobal(trigger, target);
+	return this;
+    }
+
+    /**
+     * Add the screens with the specified names to the specified group, whose group transitions are followed from them. Each screen belongs to at most one group.
+     *
+     * @param group name of the group
+     * @param screenNames names of the screens
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if a screen is not registered with this object or already belongs to another group
+     */
+    public ScreenControllerBuilder group(
+	@NonNull String group, @NonNull String... screenNames
+    ) throws IllegalArgumentException {
+	for (String screenName : screenNames) {
+	    if (!isScreenRegistered(screenName)) {
+		throw new IllegalArgumentException(
+		    "Cannot find a registered screen with name: " + screenName
+		);
+	    }
+	}
+	for (String screenName : screenNames) {
+	    globalController.addToGroup(group, screenName);
+	}
+	return this;
+    }
+
+    /**
+     * When the specified trigger is fired from a screen of the specified group, set the next screen to the screen specified by <code>target</code>, in place of any global transition for the trigger. See <code>globalTransition()</code>.
+     *
+     * @param group name of the group
+     * @param trigger value of the trigger
+     * @param target name of the screen or route to follow
+     * @return this instance for chaining
+     */
+    public ScreenControllerBuilder groupTransition(
+	@NonNull String group, int trigger, @NonNull String target
+    ) {
+	globalController.setGroup(group, trigger, target);
+	return this;
+    }
+
+    /**
+     * Embed the screens, routes and edges registered with the specified builder, such as a reusable onboarding or store flow, in this one. Each screen, route and family of the sub-graph is registered in this builder under its name prefixed by <code>prefix/</code>, and a route named <code>prefix</code> is added leading to the sub-graph's starting screen, so edges of this builder can enter the sub-graph through it. Edges of the sub-graph leading to names it does not register are its exits, and lead to the names of this builder they are mapped to. Screens registered through factories are still created when first needed. Screens registered as instances are embedded as they are, so a sub-graph holding any can only be embedded once in a builder, as otherwise one screen would be shown and disposed of under two names; register its screens through factories to embed it more than once. Embedding happens when this method is called, so the {@link ScreenController} built holds a single flat graph, whose transitions cost the same however deeply sub-graphs are nested. Options of the sub-graph's builder, such as its history depth, are ignored, except for its shared screens and screens to create eagerly, as are its global and group transitions.
+     *
+     * <pre>
+     * builder.embed("onboarding", onboardingBuilder, Collections.singletonMap("done", "menu-screen"))
+     *     .setSuccession("loading-screen", "onboarding");
+     * </pre>
+     *
+     * @param prefix name of the entry route of the sub-graph, and prefix of its names
+     * @param subgraph builder holding the sub-graph
+     * @param exits map from the names the sub-graph's edges lead to but it does not register, to names of this builder
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if a prefixed name or the prefix is already registered with this builder, a screen registered as an instance with the sub-graph is already registered with this builder, or an edge of the sub-graph leads to a name which is neither registered with it nor mapped to an exit
+     * @throws IllegalStateException if the starting screen of the sub-graph has not been set
+     */
+    public ScreenControllerBuilder embed(
+	@NonNull String prefix,
+	@NonNull ScreenControllerBuilder subgraph,
+	@NonNull Map<String, String> exits
+    ) throws IllegalArgumentException, IllegalStateException {
+	final ScreenGraph graph = subgraph.toGraph();
+	final ScreenNamespace namespace = new ScreenNamespace(prefix, graph, exits);
+	checkNameNotRegistered(prefix);
+	checkFamilyNotRegistered(prefix);
+	final Array<String> names = new Array<>();
+	names.addAll(graph.transitionController.getNames());
+	names.addAll(graph.choiceController.getNames());
+	names.addAll(graph.routeController.getNames());
+	for (String name : names) {
+	    checkNameNotRegistered(namespace.name(name));
+	}
+	for (String family : graph.transitionController.getFamilyNames()) {
+	    checkFamilyNotRegistered(namespace.name(family));
+	}
+	for (String family : graph.choiceController.getFamilyNames()) {
+	    checkFamilyNotRegistered(namespace.name(family));
+	}
+	for (String name : graph.transitionController.getNames()) {
+	    if (!graph.transitionController.hasFactory(name)) {
+		checkInstanceNotRegistered(name, graph.transitionController.get(name));
+	    }
+	}
+	for (String name : graph.choiceController.getNames()) {
+	    if (!graph.choiceController.hasFactory(name)) {
+		checkInstanceNotRegistered(name, graph.choiceController.get(name));
+	    }
+	}
+	// Every exit is checked before anything is embedded
+	for (String name : graph.transitionController.getNames()) {
+	    if (graph.transitionController.hasTransition(name)) {
+		namespace.target(graph.transitionController.getTransition(name));
+	    }
+	}
+	for (String name : graph.choiceController.getNames()) {
+	    for (String target : graph.choiceController.getChoices(name).values()) {
+		namespace.target(target);
+	    }
+	}
+	for (String name : graph.routeController.getNames()) {
+	    for (String target : graph.routeController.getTargets(name)) {
+		namespace.target(target);
+	    }
+	}
+	final String entry = namespace.target(
+	    graph.routeController.resolveUnconditional(graph.startingScreenName)
+	);
+	transitionController.embed(graph.transitionController, namespace);
+	choiceController.embed(graph.choiceController, namespace);
+	routeController.embed(graph.routeController, namespace);
+	routeController.add(prefix);
+	routeController.setDefault(prefix, entry);
+	for (String name : subgraph.eagerScreenNames) {
+	    eagerScreenNames.add(namespace.name(name));
+	}
+	for (SharedScreenRegistry registry : subgraph.getSharedRegistries()) {
+	    if (!config.sharedRegistries.contains(registry, true)) {
+		config.sharedRegistries.add(registry);
+	    }
+	}
+	return this;
+    }
+
+    private void checkInstanceNotRegistered(
+	@NonNull String subgraphName, @NonNull ITransitionScreen screen
+    ) throws IllegalArgumentException {
+	final Array<String> names = new Array<>();
+	names.addAll(transitionController.getNames());
+	names.addAll(choiceController.getNames());
+	for (String name : names) {
+	    if (isRegisteredInstance(name, screen)) {
+		throw new IllegalArgumentException(
+		    "The screen: " + subgraphName + " of the sub-graph is already registered" +
+		    " with name: " + name + ", register it through a factory to embed it again"
+		);
+	    }
+	}
+    }
+
+    private boolean isRegisteredInstance(@NonNull String name, @NonNull ITransitionScreen screen) {
+	if (transitionController.has(name)) {
+	    return !transitionController.hasFactory(name) && transitionController.get(name) == screen;
+	}
+	return !choiceController.hasFactory(name) && choiceController.get(name) == screen;
+    }
+
+    private void checkNameNotRegistered(@NonNull String name) throws IllegalArgumentException {
+	if (isScreenRegistered(name) || routeController.has(name)) {
+	    throw new IllegalArgumentException(
+		"A screen or route with name: " + name + " has already been registered"
+	    );
+	}
+    }
+
+    /**
+     * Get the screen registered with the specified name. Once this object has been built, the screen is looked up in the {@link ScreenController} last built, and created by it if it has not been created yet.
      * 
      * @param name name of the screen
      * @param clazz class of the screen
@@ -157,10 +765,13 @@ public class ScreenControllerBuilder {
 	@NonNull String name, @NonNull Class<T> clazz
     ) throws IllegalArgumentException {
 	final ITransitionScreen screen;
-	if (transitionController.has(name)) {
+	if (controller != null && controller.hasScreen(name)) {
+	    screen = controller.getScreen(name);
+	}
+	else if (controller == null && transitionController.has(name)) {
 	    screen = transitionController.get(name);
 	}
-	else if (choiceController.has(name)) {
+	else if (controller == null && choiceController.has(name)) {
 	    screen = choiceController.get(name);
 	}
 	else {
@@ -197,14 +808,166 @@ public class ScreenControllerBuilder {
      */
     public ScreenController build() throws IllegalArgumentException {
 	// validate more?
+	checkStartingScreenSet();
+	createEagerScreens();
+	// The controller gets copies, so toGraph() never reads screens it is creating on the render thread
+	final TransitionScreenController transitions = transitionController.copy();
+	transitions.moveCreatedScreens(transitionController);
+	final ChoiceScreenController choices = choiceController.copy();
+	choices.moveCreatedScreens(choiceController);
+	controller = new ScreenController(
+	    transitions,
+	    choices,
+	    routeController.copy(),
+	    globalController.copy(),
+	    startingScreenName,
+	    config
+	);
+	return controller;
+    }
+
+    Array<SharedScreenRegistry> getSharedRegistries() {
+	return config.sharedRegistries;
+    }
+
+    /**
+     * Create a snapshot of the screens and edges registered with this object, for reloading an existing {@link ScreenController}.
+     *
+     * @return snapshot of this object's screen graph
+     * @throws IllegalStateException if the starting screen has not been set
+     */
+    ScreenGraph toGraph() throws IllegalStateException {
+	checkStartingScreenSet();
+	return new ScreenGraph(
+	    transitionController.copy(),
+	    choiceController.copy(),
+	    routeController.copy(),
+	    globalController.copy(),
+	    startingScreenName
+	);
+    }
+
+    private void checkStartingScreenSet() throws IllegalStateException {
 	if (startingScreenName == null) {
 	    throw new IllegalStateException(
 		"The starting screen has not been set!" +
 		" Use .withStartingScreen(myScreen) to set a starting screen"
 	    );
 	}
-	return new ScreenController(
-	    transitionController, choiceController, startingScreenName
-	);
+    }
+
+    private void createEagerScreens() {
+	if (eagerScreenNames.size == 0) {
+	    return;
+	}
+	final ExecutorService executor = ScreenExecutors.newFactoryExecutor();
+	try {
+	    final ObjectMap<String, CompletableFuture<ITransitionScreen>> futures =
+		new ObjectMap<>();
+	    for (String name : eagerScreenNames) {
+		final Callable<ITransitionScreen> task = threadSafeFactoryTask(name);
+		if (task != null) {
+		    futures.put(name, createEagerScreen(task, executor));
+		}
+	    }
+	    for (String name : eagerScreenNames) {
+		if (!futures.containsKey(name)) {
+		    try {
+			get(name, ITransitionScreen.class);
+		    } catch (RuntimeException e) {
+			// Left to be created when first needed
+		    }
+		}
+	    }
+	    final long deadline = System.nanoTime() + eagerTimeoutNanos;
+	    for (ObjectMap.Entry<String, CompletableFuture<ITransitionScreen>> entry : futures) {
+		ITransitionScreen screen = null;
+		try {
+		    screen = entry.value.get(
+			Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS
+		    );
+		} catch (ExecutionException e) {
+		    // Left to be created when first needed
+		} catch (TimeoutException e) {
+		    screen = abandon(entry.value);
+		} catch (InterruptedException e) {
+		    screen = abandon(entry.value);
+		    Thread.currentThread().interrupt();
+		}
+		if (screen == null) {
+		    continue;
+		}
+		if (transitionController.has(entry.key)) {
+		    transitionController.setCreated(entry.key, screen);
+		}
+		else {
+		    choiceController.setCreated(entry.key, (IChoiceScreen) screen);
+		}
+	    }
+	} finally {
+	    executor.shutdownNow();
+	}
+	if (config.leakDetector != null) {
+	    for (String name : eagerScreenNames) {
+		notifyCreated(name);
+	    }
+	}
+    }
+
+    // Screens created once their future has been abandoned are disposed of, as nothing else will
+    private static CompletableFuture<ITransitionScreen> createEagerScreen(
+	@NonNull final Callable<ITransitionScreen> task, @NonNull final Executor executor
+    ) {
+	final CompletableFuture<ITransitionScreen> future = new CompletableFuture<>();
+	executor.execute(() -> {
+	    final ITransitionScreen screen;
+	    try {
+		screen = task.call();
+	    } catch (Throwable e) {
+		future.completeExceptionally(e);
+		return;
+	    }
+	    if (!future.complete(screen) && screen != null) {
+		screen.dispose();
+	    }
+	});
+	return future;
+    }
+
+    // Returns the screen if it was created before the future could be abandoned, else null
+    @Nullable
+    private static ITransitionScreen abandon(
+	@NonNull final CompletableFuture<ITransitionScreen> future
+    ) {
+	if (future.cancel(false) || future.isCompletedExceptionally()) {
+	    return null;
+	}
+	return future.join();
+    }
+
+    private void notifyCreated(@NonNull final String name) {
+	if (transitionController.hasFactory(name) && transitionController.isCreated(name)) {
+	    config.leakDetector.onCreated(name, transitionController.get(name));
+	}
+	else if (choiceController.hasFactory(name) && choiceController.isCreated(name)) {
+	    config.leakDetector.onCreated(name, choiceController.get(name));
+	}
+    }
+
+    @Nullable
+    private Callable<ITransitionScreen> threadSafeFactoryTask(@NonNull String name) {
+	if (transitionController.has(name) && !transitionController.isCreated(name)) {
+	    final ITransitionScreenFactory<?> factory = transitionController.getFactory(name);
+	    if (factory != null && factory.isThreadSafe()) {
+		return factory::create;
+	    }
+	}
+	else if (choiceController.has(name) && !choiceController.isCreated(name)) {
+	    final IChoiceScreenFactory<?> factory = choiceController.getFactory(name);
+	    if (factory != null && factory.isThreadSafe()) {
+		return factory::create;
+	    }
+	}
+	return null;
     }
 }
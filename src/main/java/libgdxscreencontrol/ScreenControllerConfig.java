@@ -0,0 +1,82 @@
+package libgdxscreencontrol;
+
+import java.util.concurrent.Executor;
+
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Options passed from a {@link ScreenControllerBuilder} to the {@link ScreenController} it builds.
+ */
+class ScreenControllerConfig {
+
+    /**
+     * Maximum number of screens remembered for back navigation.
+     */
+    int historyDepth = 16;
+    /**
+     * Whether a screen returned to through back navigation is reset.
+     */
+    boolean resetOnBack = true;
+    /**
+     * Time in nanoseconds the {@link FrameScheduler} may spend running deferred jobs per update.
+     */
+    long frameBudgetNanos = 2_000_000L;
+    /**
+     * Listener notified when deferred jobs exceed the frame budget, may be null.
+     */
+    FrameScheduler.IOverrunListener overrunListener;
+    /**
+     * Number of times the predicted next screen is rendered before it is first shown, zero disables warming up.
+     */
+    int warmUpIterations;
+    /**
+     * Delta passed to <code>render()</code> when warming up screens.
+     */
+    float warmUpDelta = 1 / 60f;
+    /**
+     * Recording to which each update is logged, may be null.
+     */
+    SessionRecording recording;
+    /**
+     * Whether inactive screens created from factories may be disposed under heap pressure.
+     */
+    boolean softRetention;
+    /**
+     * Executor on which thread safe factories are called when preloading, may be null to call every factory through the {@link FrameScheduler}.
+     */
+    Executor preloadExecutor;
+    /**
+     * Stream to which each change of active screen is published, may be null.
+     */
+    TransitionStream transitionStream;
+    /**
+     * Detector notified of each screen shown and disposed of, may be null.
+     */
+    ScreenLeakDetector leakDetector;
+    /**
+     * Registries holding the shared screens registered with the builder.
+     */
+    final Array<SharedScreenRegistry> sharedRegistries = new Array<>();
+    /**
+     * Whether screens are reset when left rather than when returned to.
+     */
+    boolean resetOnExit;
+    /**
+     * Executor on which screens whose reset is thread safe are reset when left, may be null to reset every screen through the {@link FrameScheduler}.
+     */
+    Executor resetExecutor;
+    /**
+     * Timings to which the creation and reset of screens on the render thread are recorded, may be null.
+     */
+    ScreenTimings timings;
+    /**
+     * Input processors of screens, by name of the screen.
+     */
+    final ObjectMap<String, InputProcessor> inputProcessors = new ObjectMap<>();
+    /**
+     * Input processors passed every event before the active screen's processor.
+     */
+    final Array<InputProcessor> globalInputProcessors = new Array<>();
+}
@@ -0,0 +1,42 @@
+package libgdxscreencontrol;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors for screen work off the render thread, such as eager creation, <code>ScreenControllerBuilder.withPreloadExecutor()</code> and <code>ScreenControllerBuilder.withResetExecutor()</code>. When the library is built as a multi-release jar, by passing <code>-Pjdk21Home</code> to Gradle, each task runs on its own virtual thread on Java 21 and later, so factories blocked on I/O, such as reading level data, are cheap. Otherwise, and on older runtimes, tasks share a bounded pool of platform threads. Threads of either kind never keep the application alive.
+ */
+public final class ScreenExecutors {
+
+    private ScreenExecutors() {}
+
+    /**
+     * Create an executor for factory and reset work. This version of the class, used before Java 21, creates a pool of at most as many daemon threads as there are processors, which time out when idle.
+     *
+     * @return new executor
+     */
+    public static ExecutorService newFactoryExecutor() {
+	final int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+	final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+	    threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+	    runnable -> {
+		final Thread thread = new Thread(runnable, "screen-factory");
+		thread.setDaemon(true);
+		return thread;
+	    }
+	);
+	executor.allowCoreThreadTimeOut(true);
+	return executor;
+    }
+
+    /**
+     * Return true if executors created by this class run each task on its own virtual thread, else false.
+     *
+     * @return true if virtual threads are used, else false
+     */
+    public static boolean isVirtual() {
+	return false;
+    }
+}
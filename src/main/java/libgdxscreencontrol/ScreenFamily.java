@@ -0,0 +1,99 @@
+package libgdxscreencontrol;
+
+import java.util.Objects;
+
+import lombok.NonNull;
+
+/**
+ * Family of screens created by a single factory from an int parameter, registered through <code>ScreenControllerBuilder.registerTransitionFamily()</code> or <code>registerChoiceFamily()</code>. The member of a family with a given parameter is named by the family's name, followed by {@link #SEPARATOR} and the parameter, for example <code>level/42</code>, see {@link #memberName(String, int)}.
+ *
+ * @param <F> type of the family's factory
+ */
+public final class ScreenFamily<F> {
+
+    /**
+     * Character separating the name of a family from the parameter in the names of its members.
+     */
+    public static final char SEPARATOR = '/';
+
+    @NonNull
+    final String name;
+    final int first;
+    final int last;
+    @NonNull
+    final F factory;
+
+    ScreenFamily(
+	@NonNull final String name, final int first, final int last, @NonNull final F factory
+    ) throws IllegalArgumentException {
+	if (first < 0 || last < first) {
+	    throw new IllegalArgumentException(
+		"Invalid parameter range for family: " + name + ", got: " +
+		first + " to " + last
+	    );
+	}
+	this.name = name;
+	this.first = first;
+	this.last = last;
+	this.factory = factory;
+    }
+
+    /**
+     * Get the name of the member of the specified family with the specified parameter.
+     *
+     * @param family name of the family
+     * @param parameter parameter of the member
+     * @return name of the member
+     */
+    public static String memberName(@NonNull final String family, final int parameter) {
+	return family + SEPARATOR + parameter;
+    }
+
+    /**
+     * Return true if the specified name is that of the member of this family with a parameter in its range, else false. Does not allocate.
+     *
+     * @param memberName name to check
+     * @return true if memberName names a member of this family, else false
+     */
+    boolean contains(@NonNull final String memberName) {
+	final int parameter = parameterOf(memberName);
+	return parameter >= first && parameter <= last &&
+	    memberName.lastIndexOf(SEPARATOR) == name.length() &&
+	    memberName.startsWith(name);
+    }
+
+    /**
+     * Return true if the specified family has the same name, range and factory as this one, so its members are interchangeable with this family's, else false.
+     *
+     * @param other family to compare
+     * @return true if the families have the same members, else false
+     */
+    boolean isSameAs(@NonNull final ScreenFamily<?> other) {
+	return name.equals(other.name) && first == other.first && last == other.last &&
+	    Objects.equals(factory, other.factory);
+    }
+
+    /**
+     * Get the parameter of the specified member name, or -1 if the name does not end with {@link #SEPARATOR} followed by a non negative int without leading zeros. Does not allocate.
+     *
+     * @param memberName name of a family member
+     * @return parameter of the member or -1
+     */
+    static int parameterOf(@NonNull final String memberName) {
+	final int separator = memberName.lastIndexOf(SEPARATOR);
+	final int digits = memberName.length() - separator - 1;
+	if (separator <= 0 || digits == 0 || digits > 9 ||
+	    digits > 1 && memberName.charAt(separator + 1) == '0') {
+	    return -1;
+	}
+	int parameter = 0;
+	for (int i = separator + 1; i < memberName.length(); i++) {
+	    final char c = memberName.charAt(i);
+	    if (c < '0' || c > '9') {
+		return -1;
+	    }
+	    parameter = parameter * 10 + (c - '0');
+	}
+	return parameter;
+    }
+}
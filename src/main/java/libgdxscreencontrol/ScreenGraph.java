@@ -0,0 +1,190 @@
+package libgdxscreencontrol;
+
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import com.badlogic.gdx.utils.Array;
+
+import lombok.NonNull;
+
+/**
+ * The screens, routes and edges of a {@link ScreenController} at a point in time. Snapshots published by a {@link ScreenGraphEditor} are never modified by the thread which committed them, so the render thread can adopt them without locking.
+ */
+final class ScreenGraph {
+
+    @NonNull
+    final TransitionScreenController transitionController;
+    @NonNull
+    final ChoiceScreenController choiceController;
+    @NonNull
+    final RouteController routeController;
+    @NonNull
+    final GlobalTransitionController globalController;
+    @NonNull
+    String startingScreenName;
+
+    ScreenGraph(
+	TransitionScreenController transitionController,
+	ChoiceScreenController choiceController,
+	String startingScreenName
+    ) {
+	this(transitionController, choiceController, new RouteController(), startingScreenName);
+    }
+
+    ScreenGraph(
+	TransitionScreenController transitionController,
+	ChoiceScreenController choiceController,
+	RouteController routeController,
+	String startingScreenName
+    ) {
+	this(
+	    transitionController,
+	    choiceController,
+	    routeController,
+	    new GlobalTransitionController(),
+	    startingScreenName
+	);
+    }
+
+    ScreenGraph(
+	TransitionScreenController transitionController,
+	ChoiceScreenController choiceController,
+	RouteController routeController,
+	GlobalTransitionController globalController,
+	String startingScreenName
+    ) {
+	this.transitionController = transitionController;
+	this.choiceController = choiceController;
+	this.routeController = routeController;
+	this.globalController = globalController;
+	this.startingScreenName = startingScreenName;
+    }
+
+    /**
+     * Create a copy of this graph, which shares screens added as instances but not screens created from factories.
+     *
+     * @return copy of this graph
+     */
+    ScreenGraph copy() {
+	return new ScreenGraph(
+	    transitionController.copy(),
+	    choiceController.copy(),
+	    routeController.copy(),
+	    globalController.copy(),
+	    startingScreenName
+	);
+    }
+
+    /**
+     * Return true if a screen is registered with the specified name, else false.
+     *
+     * @param name name of the screen
+     * @return true if a screen is registered with name, else false
+     */
+    boolean has(@Nullable final String name) {
+	return transitionController.has(name) || choiceController.has(name);
+    }
+
+    /**
+     * Return true if a screen or route is registered with the specified name, else false.
+     *
+     * @param name name of the screen or route
+     * @return true if a screen or route is registered with name, else false
+     */
+    boolean hasScreenOrRoute(@Nullable final String name) {
+	return has(name) || routeController.has(name);
+    }
+
+    /**
+     * Remove any screen or route registered with the specified name, along with the edges from it and its membership of a group.
+     *
+     * @param name name of the screen or route
+     */
+    void remove(@NonNull final String name) {
+	transitionController.remove(name);
+	choiceController.remove(name);
+	routeController.remove(name);
+	globalController.remove(name);
+    }
+
+    /**
+     * Find the screens which differ between this graph and the specified graph.
+     *
+     * @param next graph to compare against
+     * @return screens added, removed or changed in next
+     */
+    ScreenGraphDiff diff(@NonNull final ScreenGraph next) {
+	final ScreenGraphDiff diff = new ScreenGraphDiff();
+	for (String name : transitionController.getNames()) {
+	    if (!next.has(name)) {
+		diff.removed(name);
+	    }
+	    else if (!next.transitionController.has(name) ||
+		     !Objects.equals(
+			 transitionController.getRegistration(name),
+			 next.transitionController.getRegistration(name)
+		     ) ||
+		     !Objects.equals(successor(name), next.successor(name))) {
+		diff.changed(name);
+	    }
+	}
+	for (String name : choiceController.getNames()) {
+	    if (!next.has(name)) {
+		diff.removed(name);
+	    }
+	    else if (!next.choiceController.has(name) ||
+		     !Objects.equals(
+			 choiceController.getRegistration(name),
+			 next.choiceController.getRegistration(name)
+		     ) ||
+		     !choiceController.getChoices(name).equals(
+			 next.choiceController.getChoices(name)
+		     )) {
+		diff.changed(name);
+	    }
+	}
+	for (String name : next.transitionController.getNames()) {
+	    if (!has(name)) {
+		diff.added(name);
+	    }
+	    else if (isFamilyMember(name)) {
+		// Now added in place of a family member
+		diff.changed(name);
+	    }
+	}
+	for (String name : next.choiceController.getNames()) {
+	    if (!has(name)) {
+		diff.added(name);
+	    }
+	    else if (isFamilyMember(name)) {
+		diff.changed(name);
+	    }
+	}
+	return diff;
+    }
+
+    /**
+     * Find the families which the specified graph does not hold, or holds with a different range or factory, whose created members may need to be created again.
+     *
+     * @param next graph to compare against
+     * @return names of families removed or changed in next
+     */
+    Array<String> changedFamilies(@NonNull final ScreenGraph next) {
+	final Array<String> families = transitionController.getChangedFamilyNames(
+	    next.transitionController
+	);
+	families.addAll(choiceController.getChangedFamilyNames(next.choiceController));
+	return families;
+    }
+
+    private boolean isFamilyMember(@NonNull final String name) {
+	return transitionController.isFamilyMember(name) || choiceController.isFamilyMember(name);
+    }
+
+    @Nullable
+    private String successor(@NonNull final String name) {
+	return transitionController.hasTransition(name) ?
+	    transitionController.getTransition(name) : null;
+    }
+}
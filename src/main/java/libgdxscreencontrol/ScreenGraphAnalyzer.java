@@ -0,0 +1,258 @@
+package libgdxscreencontrol;
+
+import java.util.PriorityQueue;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import libgdxscreencontrol.ScreenGraphReport.EdgeCost;
+import libgdxscreencontrol.ScreenGraphReport.Recommendation;
+import libgdxscreencontrol.ScreenGraphReport.ScreenCost;
+import lombok.NonNull;
+
+/**
+ * Finds the startup critical path of a screen graph, by combining the screens and edges registered with a {@link ScreenControllerBuilder} with {@link ScreenTimings}. The cost of reaching a screen is the time spent creating screens along the cheapest path to it from the starting screen, which is the least time a player spends waiting to reach it however the graph is navigated, since any other path creates at least as much. Routes are followed through every target, at no cost. Members of screen families are analysed if they are reached through edges.
+ */
+public class ScreenGraphAnalyzer {
+
+    @NonNull
+    private final ScreenGraph graph;
+    @NonNull
+    private final ScreenTimings timings;
+    private long frameBudgetNanos = 16_666_667L;
+    private long splitThresholdNanos = 10 * 16_666_667L;
+    private int worstEdgeCount = 10;
+
+    /**
+     * Create an analyzer for the screens and edges currently registered with the specified builder.
+     *
+     * @param builder builder holding the screen graph
+     * @param timings timings of the screens
+     * @throws IllegalStateException if the builder's starting screen has not been set
+     */
+    public ScreenGraphAnalyzer(
+	@NonNull final ScreenControllerBuilder builder,
+	@NonNull final ScreenTimings timings
+    ) throws IllegalStateException {
+	this.graph = builder.toGraph();
+	this.timings = timings;
+    }
+
+    /**
+     * Set the time a screen may take to be created or reset without being recommended for preloading or pooling. Defaults to a frame at 60 frames per second.
+     *
+     * @param nanos time in nanoseconds
+     * @return this instance for chaining
+     */
+    public ScreenGraphAnalyzer withFrameBudget(final long nanos) {
+	this.frameBudgetNanos = nanos;
+	return this;
+    }
+
+    /**
+     * Set the time a screen may take to be created without being recommended for splitting. Defaults to ten frames at 60 frames per second.
+     *
+     * @param nanos time in nanoseconds
+     * @return this instance for chaining
+     */
+    public ScreenGraphAnalyzer withSplitThreshold(final long nanos) {
+	this.splitThresholdNanos = nanos;
+	return this;
+    }
+
+    /**
+     * Set the number of most expensive edges reported. Defaults to 10.
+     *
+     * @param count number of edges to report
+     * @return this instance for chaining
+     */
+    public ScreenGraphAnalyzer withWorstEdgeCount(final int count) {
+	this.worstEdgeCount = count;
+	return this;
+    }
+
+    /**
+     * Analyse the screen graph.
+     *
+     * @return report of the analysis
+     */
+    public ScreenGraphReport analyze() {
+	final ScreenGraphReport report = new ScreenGraphReport(graph.startingScreenName);
+	final ObjectMap<String, Long> pathNanos = new ObjectMap<>();
+	final ObjectMap<String, String> previous = new ObjectMap<>();
+	final ObjectSet<String> settled = new ObjectSet<>();
+	final PriorityQueue<Node> queue = new PriorityQueue<>();
+	if (graph.hasScreenOrRoute(graph.startingScreenName)) {
+	    final long startNanos = costOf(graph.startingScreenName);
+	    pathNanos.put(graph.startingScreenName, startNanos);
+	    queue.add(new Node(graph.startingScreenName, startNanos));
+	}
+	final Array<ScreenCost> reached = new Array<>();
+	while (!queue.isEmpty()) {
+	    final Node node = queue.poll();
+	    if (!settled.add(node.name)) {
+		continue;
+	    }
+	    if (!graph.routeController.has(node.name)) {
+		reached.add(new ScreenCost(
+		    node.name,
+		    node.nanos,
+		    timings.getCreateNanos(node.name),
+		    timings.getResetNanos(node.name),
+		    pathTo(node.name, previous)
+		));
+	    }
+	    for (String successor : successors(node.name)) {
+		final long nanos = node.nanos + costOf(successor);
+		final Long known = pathNanos.get(successor);
+		if (!settled.contains(successor) && (known == null || nanos < known)) {
+		    pathNanos.put(successor, nanos);
+		    previous.put(successor, node.name);
+		    queue.add(new Node(successor, nanos));
+		}
+	    }
+	}
+	reached.sort((a, b) -> Long.compare(b.getPathNanos(), a.getPathNanos()));
+	for (ScreenCost cost : reached) {
+	    report.reached(cost);
+	    if (!timings.has(cost.getName())) {
+		report.untimed(cost.getName());
+	    }
+	}
+	for (String name : graph.transitionController.getNames()) {
+	    if (!settled.contains(name)) {
+		report.unreached(name);
+	    }
+	}
+	for (String name : graph.choiceController.getNames()) {
+	    if (!settled.contains(name)) {
+		report.unreached(name);
+	    }
+	}
+	addWorstEdges(reached, report);
+	addRecommendations(reached, report);
+	return report;
+    }
+
+    private long costOf(@NonNull final String name) {
+	return graph.routeController.has(name) ? 0 : timings.getCreateNanos(name);
+    }
+
+    private Array<String> successors(@NonNull final String name) {
+	final Array<String> successors = new Array<>();
+	if (graph.routeController.has(name)) {
+	    successors.addAll(graph.routeController.getTargets(name));
+	}
+	else if (graph.transitionController.hasTransition(name)) {
+	    successors.add(graph.transitionController.getTransition(name));
+	}
+	else if (graph.choiceController.has(name)) {
+	    for (String successor : graph.choiceController.getChoices(name).values()) {
+		successors.add(successor);
+	    }
+	}
+	// Edges to unregistered screens fail at runtime, so lead nowhere here
+	for (int i = successors.size - 1; i >= 0; i--) {
+	    if (!graph.hasScreenOrRoute(successors.get(i))) {
+		successors.removeIndex(i);
+	    }
+	}
+	return successors;
+    }
+
+    private static Array<String> pathTo(
+	@NonNull final String name, @NonNull final ObjectMap<String, String> previous
+    ) {
+	final Array<String> path = new Array<>();
+	for (String step = name; step != null; step = previous.get(step)) {
+	    path.add(step);
+	}
+	path.reverse();
+	return path;
+    }
+
+    private void addWorstEdges(
+	@NonNull final Array<ScreenCost> reached, @NonNull final ScreenGraphReport report
+    ) {
+	final Array<EdgeCost> edges = new Array<>();
+	for (ScreenCost cost : reached) {
+	    final ObjectSet<String> targets = new ObjectSet<>();
+	    collectScreens(cost.getName(), targets, new ObjectSet<>());
+	    for (String target : targets) {
+		edges.add(new EdgeCost(
+		    cost.getName(),
+		    target,
+		    timings.getCreateNanos(target),
+		    timings.getResetNanos(target)
+		));
+	    }
+	}
+	edges.sort((a, b) -> a.getFirstNanos() != b.getFirstNanos() ?
+		   Long.compare(b.getFirstNanos(), a.getFirstNanos()) :
+		   Long.compare(b.getAgainNanos(), a.getAgainNanos()));
+	for (int i = 0; i < Math.min(worstEdgeCount, edges.size); i++) {
+	    report.edge(edges.get(i));
+	}
+    }
+
+    // Collects the screens reached from name in one edge, following routes
+    private void collectScreens(
+	@NonNull final String name,
+	@NonNull final ObjectSet<String> screens,
+	@NonNull final ObjectSet<String> routes
+    ) {
+	for (String successor : successors(name)) {
+	    if (!graph.routeController.has(successor)) {
+		screens.add(successor);
+	    }
+	    else if (routes.add(successor)) {
+		collectScreens(successor, screens, routes);
+	    }
+	}
+    }
+
+    private void addRecommendations(
+	@NonNull final Array<ScreenCost> reached, @NonNull final ScreenGraphReport report
+    ) {
+	final Array<Recommendation> recommendations = new Array<>();
+	for (ScreenCost cost : reached) {
+	    if (cost.getCreateNanos() > splitThresholdNanos) {
+		recommendations.add(new Recommendation(
+		    cost.getName(), ScreenGraphReport.SPLIT, cost.getCreateNanos()
+		));
+	    }
+	    else if (cost.getCreateNanos() > frameBudgetNanos) {
+		recommendations.add(new Recommendation(
+		    cost.getName(), ScreenGraphReport.PRELOAD, cost.getCreateNanos()
+		));
+	    }
+	    if (cost.getResetNanos() > frameBudgetNanos) {
+		recommendations.add(new Recommendation(
+		    cost.getName(), ScreenGraphReport.POOL, cost.getResetNanos()
+		));
+	    }
+	}
+	recommendations.sort((a, b) -> Long.compare(b.getNanos(), a.getNanos()));
+	for (Recommendation recommendation : recommendations) {
+	    report.recommend(recommendation);
+	}
+    }
+
+    private static final class Node implements Comparable<Node> {
+
+	@NonNull
+	private final String name;
+	private final long nanos;
+
+	private Node(@NonNull final String name, final long nanos) {
+	    this.name = name;
+	    this.nanos = nanos;
+	}
+
+	@Override
+	public int compareTo(final Node other) {
+	    return Long.compare(nanos, other.nanos);
+	}
+    }
+}
@@ -0,0 +1,72 @@
+package libgdxscreencontrol;
+
+import com.badlogic.gdx.utils.Array;
+
+import lombok.NonNull;
+
+/**
+ * Names of the screens which differ between two screen graphs, as returned by <code>ScreenController.reload()</code>.
+ */
+public class ScreenGraphDiff {
+
+    @NonNull
+    private final Array<String> added = new Array<>();
+    @NonNull
+    private final Array<String> removed = new Array<>();
+    @NonNull
+    private final Array<String> changed = new Array<>();
+
+    void added(@NonNull final String name) {
+	added.add(name);
+    }
+
+    void removed(@NonNull final String name) {
+	removed.add(name);
+    }
+
+    void changed(@NonNull final String name) {
+	changed.add(name);
+    }
+
+    /**
+     * Get the names of screens registered only in the new graph.
+     *
+     * @return names of added screens
+     */
+    public Array<String> getAdded() {
+	return added;
+    }
+
+    /**
+     * Get the names of screens registered only in the old graph.
+     *
+     * @return names of removed screens
+     */
+    public Array<String> getRemoved() {
+	return removed;
+    }
+
+    /**
+     * Get the names of screens registered in both graphs, whose registration or edges differ between them. Screens whose registration differs are created again, those whose registration is unchanged keep their instances.
+     *
+     * @return names of changed screens
+     */
+    public Array<String> getChanged() {
+	return changed;
+    }
+
+    /**
+     * Return true if no screens differ between the two graphs, else false.
+     *
+     * @return true if no screens differ, else false
+     */
+    public boolean isEmpty() {
+	return added.size == 0 && removed.size == 0 && changed.size == 0;
+    }
+
+    @Override
+    public String toString() {
+	return "ScreenGraphDiff(added=" + added + ", removed=" + removed +
+	    ", changed=" + changed + ")";
+    }
+}
@@ -0,0 +1,262 @@
+package libgdxscreencontrol;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import com.badlogic.gdx.utils.Array;
+
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
+import libgdxscreencontrol.screen.ITransitionScreen;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+import lombok.NonNull;
+
+/**
+ * Batch of changes to the screens and edges of a live {@link ScreenController}, created with <code>ScreenController.edit()</code>. Changes are recorded by this object and applied together on <code>commit()</code>, which may be called from any thread. The controller adopts the new graph at the start of its next <code>update()</code>, keeping screens it has already created whose registration is unchanged.
+ *
+ * <pre>
+ * screenController.edit()
+ *     .register("event-screen", new EventScreenFactory())
+ *     .choice("menu-screen", "event-screen", 3)
+ *     .setSuccession("event-screen", "menu-screen")
+ *     .commit();
+ * </pre>
+ */
+public class ScreenGraphEditor {
+
+    @NonNull
+    private final ScreenController controller;
+    @NonNull
+    private final Array<Consumer<ScreenGraph>> edits = new Array<>();
+
+    ScreenGraphEditor(@NonNull final ScreenController controller) {
+	this.controller = controller;
+    }
+
+    /**
+     * Register the specified {@link ITransitionScreen} with the specified name, replacing any screen already registered with the name.
+     *
+     * @param name name to associate with the screen
+     * @param screen {@link ITransitionScreen} instance to register
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor register(
+	@NonNull final String name, @NonNull final ITransitionScreen screen
+    ) {
+	edits.add(graph -> {
+	    graph.remove(name);
+	    graph.transitionController.add(name, screen);
+	});
+	return this;
+    }
+
+    /**
+     * Register the specified {@link ITransitionScreenFactory} with the specified name, replacing any screen already registered with the name.
+     *
+     * @param name name to associate with the screen
+     * @param factory {@link ITransitionScreenFactory} to register
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor register(
+	@NonNull final String name, @NonNull final ITransitionScreenFactory<?> factory
+    ) {
+	edits.add(graph -> {
+	    graph.remove(name);
+	    graph.transitionController.add(name, factory);
+	});
+	return this;
+    }
+
+    /**
+     * Register the specified {@link IChoiceScreen} with the specified name, replacing any screen already registered with the name.
+     *
+     * @param name name to associate with the screen
+     * @param screen {@link IChoiceScreen} instance to register
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor register(
+	@NonNull final String name, @NonNull final IChoiceScreen screen
+    ) {
+	edits.add(graph -> {
+	    graph.remove(name);
+	    graph.choiceController.add(name, screen);
+	});
+	return this;
+    }
+
+    /**
+     * Register the specified {@link IChoiceScreenFactory} with the specified name, replacing any screen already registered with the name.
+     *
+     * @param name name to associate with the screen
+     * @param factory {@link IChoiceScreenFactory} to register
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor register(
+	@NonNull final String name, @NonNull final IChoiceScreenFactory<?> factory
+    ) {
+	edits.add(graph -> {
+	    graph.remove(name);
+	    graph.choiceController.add(name, factory);
+	});
+	return this;
+    }
+
+    /**
+     * Remove the screen or route registered with the specified name, along with the edges from it. Edges to the screen from other screens are kept, so they should be removed or replaced in the same batch. If the screen is active when the change is adopted, the starting screen becomes active.
+     *
+     * @param name name of the screen
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor unregister(@NonNull final String name) {
+	edits.add(graph -> {
+	    if (!graph.hasScreenOrRoute(name)) {
+		throw new IllegalArgumentException(
+		    "Could not find a screen or route registered with name: " + name
+		);
+	    }
+	    graph.remove(name);
+	});
+	return this;
+    }
+
+    /**
+     * Set the screen to become active when the active screen is removed. It must be registered when this batch is committed.
+     *
+     * @param screenName name of the screen
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor withStartingScreen(@NonNull final String screenName) {
+	edits.add(graph -> graph.startingScreenName = screenName);
+	return this;
+    }
+
+    /**
+     * When the {@link ITransitionScreen} specified by <code>transitionScreenName</code> has finished processing, set the next screen to the screen specified by <code>screenName</code>.
+     *
+     * @param transitionScreenName the name of the {@link ITransitionScreen}
+     * @param screenName name of the next screen
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor setSuccession(
+	@NonNull final String transitionScreenName, @NonNull final String screenName
+    ) {
+	edits.add(graph -> {
+	    if (!graph.transitionController.has(transitionScreenName)) {
+		throw new IllegalArgumentException(
+		    "Cannot find a registered transition screen with name: " +
+		    transitionScreenName
+		);
+	    }
+	    graph.transitionController.setTransition(transitionScreenName, screenName);
+	});
+	return this;
+    }
+
+    /**
+     * Remove the screen set to follow the specified {@link ITransitionScreen}.
+     *
+     * @param transitionScreenName the name of the {@link ITransitionScreen}
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor removeSuccession(@NonNull final String transitionScreenName) {
+	edits.add(graph -> graph.transitionController.removeTransition(transitionScreenName));
+	return this;
+    }
+
+    /**
+     * When the {@link IChoiceScreen} specified by choiceScreenName has finished processing and returned the specified value <code>choice</code>, set the next screen to the screen specified by <code>choiceName</code>.
+     *
+     * @param choiceScreenName the name of the {@link IChoiceScreen}
+     * @param choiceName the name of the screen to follow
+     * @param choice the choice returned by the {@link IChoiceScreen}
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor choice(
+	@NonNull final String choiceScreenName,
+	@NonNull final String choiceName,
+	final int choice
+    ) {
+	edits.add(graph -> {
+	    if (!graph.choiceController.has(choiceScreenName)) {
+		throw new IllegalArgumentException(
+		    "Cannot find a registered choice screen with name: " + choiceScreenName
+		);
+	    }
+	    graph.choiceController.setChoice(choiceScreenName, choice, choiceName);
+	});
+	return this;
+    }
+
+    /**
+     * Remove the specified choice of the specified {@link IChoiceScreen}.
+     *
+     * @param choiceScreenName the name of the {@link IChoiceScreen}
+     * @param choice the choice to remove
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor removeChoice(
+	@NonNull final String choiceScreenName, final int choice
+    ) {
+	edits.add(graph -> graph.choiceController.removeChoice(choiceScreenName, choice));
+	return this;
+    }
+
+    /**
+     * Add a guard to the route with the specified name, registering the route if necessary. See <code>ScreenControllerBuilder.guard()</code>.
+     *
+     * @param routeName name of the route
+     * @param condition condition of the guard
+     * @param target name of the screen or route to follow if the condition holds
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor guard(
+	@NonNull final String routeName,
+	@NonNull final BooleanSupplier condition,
+	@NonNull final String target
+    ) {
+	edits.add(graph -> {
+	    addRoute(graph, routeName);
+	    graph.routeController.addGuard(routeName, condition, target);
+	});
+	return this;
+    }
+
+    /**
+     * Set the target of the route with the specified name followed if none of its guards hold, registering the route if necessary.
+     *
+     * @param routeName name of the route
+     * @param target name of the screen or route to follow
+     * @return this instance for chaining
+     */
+    public ScreenGraphEditor otherwise(
+	@NonNull final String routeName, @NonNull final String target
+    ) {
+	edits.add(graph -> {
+	    addRoute(graph, routeName);
+	    graph.routeController.setDefault(routeName, target);
+	});
+	return this;
+    }
+
+    private static void addRoute(
+	@NonNull final ScreenGraph graph, @NonNull final String routeName
+    ) throws IllegalArgumentException {
+	if (graph.has(routeName)) {
+	    throw new IllegalArgumentException(
+		"A screen with name: " + routeName + " is registered"
+	    );
+	}
+	graph.routeController.add(routeName);
+    }
+
+    /**
+     * Apply the changes recorded by this object and publish the resulting graph to the {@link ScreenController}. If any change is invalid, none are applied.
+     *
+     * @throws IllegalArgumentException if a change refers to a screen which is not registered
+     * @throws IllegalStateException if the starting screen is not registered after the changes
+     */
+    public void commit() throws IllegalArgumentException, IllegalStateException {
+	controller.commit(edits);
+	edits.clear();
+    }
+}
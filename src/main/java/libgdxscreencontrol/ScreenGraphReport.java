@@ -0,0 +1,390 @@
+package libgdxscreencontrol;
+
+import javax.annotation.Nullable;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import lombok.NonNull;
+
+/**
+ * Costs of reaching the screens of a screen graph, as found by a {@link ScreenGraphAnalyzer}. <code>toJson()</code> gives the report in a machine readable form, for example so that a build can fail when the time to reach the main menu grows.
+ */
+public class ScreenGraphReport {
+
+    /**
+     * Recommendation for a screen created more slowly than a frame; creating it ahead of time, for example with <code>ScreenController.preload()</code>.
+     */
+    public static final String PRELOAD = "preload";
+    /**
+     * Recommendation for a screen reset more slowly than a frame; keeping a reset instance ready, for example with <code>ScreenControllerBuilder.withResetOnExit()</code>.
+     */
+    public static final String POOL = "pool";
+    /**
+     * Recommendation for a screen created so slowly that preloading it is unlikely to hide the cost; splitting it into smaller screens, or moving its work behind a loading screen.
+     */
+    public static final String SPLIT = "split";
+
+    @NonNull
+    private final String startingScreenName;
+    @NonNull
+    private final ObjectMap<String, ScreenCost> costs = new ObjectMap<>();
+    @NonNull
+    private final Array<ScreenCost> reachedScreens = new Array<>();
+    @NonNull
+    private final Array<String> unreachedScreenNames = new Array<>();
+    @NonNull
+    private final Array<String> untimedScreenNames = new Array<>();
+    @NonNull
+    private final Array<EdgeCost> worstEdges = new Array<>();
+    @NonNull
+    private final Array<Recommendation> recommendations = new Array<>();
+
+    ScreenGraphReport(@NonNull final String startingScreenName) {
+	this.startingScreenName = startingScreenName;
+    }
+
+    void reached(@NonNull final ScreenCost cost) {
+	costs.put(cost.name, cost);
+	reachedScreens.add(cost);
+    }
+
+    void unreached(@NonNull final String name) {
+	unreachedScreenNames.add(name);
+    }
+
+    void untimed(@NonNull final String name) {
+	untimedScreenNames.add(name);
+    }
+
+    void edge(@NonNull final EdgeCost edge) {
+	worstEdges.add(edge);
+    }
+
+    void recommend(@NonNull final Recommendation recommendation) {
+	recommendations.add(recommendation);
+    }
+
+    /**
+     * Get the name of the screen or route the analysed paths start from.
+     *
+     * @return name of the starting screen
+     */
+    public String getStartingScreenName() {
+	return startingScreenName;
+    }
+
+    /**
+     * Get the cost of reaching the screen with the specified name from the starting screen.
+     *
+     * @param name name of the screen
+     * @return cost of reaching the screen, or null if it can't be reached
+     */
+    @Nullable
+    public ScreenCost getCost(@NonNull final String name) {
+	return costs.get(name);
+    }
+
+    /**
+     * Get the cost of reaching each screen which can be reached from the starting screen, most expensive first.
+     *
+     * @return costs of the screens reached
+     */
+    public Array<ScreenCost> getReachedScreens() {
+	return reachedScreens;
+    }
+
+    /**
+     * Get the names of registered screens which can't be reached from the starting screen.
+     *
+     * @return names of screens not reached
+     */
+    public Array<String> getUnreachedScreenNames() {
+	return unreachedScreenNames;
+    }
+
+    /**
+     * Get the names of screens reached which have no recorded timings, and so are costed as free.
+     *
+     * @return names of screens not timed
+     */
+    public Array<String> getUntimedScreenNames() {
+	return untimedScreenNames;
+    }
+
+    /**
+     * Get the most expensive edges between screens, most expensive first.
+     *
+     * @return most expensive edges
+     */
+    public Array<EdgeCost> getWorstEdges() {
+	return worstEdges;
+    }
+
+    /**
+     * Get the recommendations made for screens, in order of the cost they address, most expensive first.
+     *
+     * @return recommendations made
+     */
+    public Array<Recommendation> getRecommendations() {
+	return recommendations;
+    }
+
+    /**
+     * Get this report as a JSON document.
+     *
+     * @return JSON form of this report
+     */
+    public String toJson() {
+	final JsonValue root = new JsonValue(JsonValue.ValueType.object);
+	root.addChild("startingScreen", new JsonValue(startingScreenName));
+	final JsonValue screens = new JsonValue(JsonValue.ValueType.array);
+	for (ScreenCost cost : reachedScreens) {
+	    final JsonValue screen = new JsonValue(JsonValue.ValueType.object);
+	    screen.addChild("name", new JsonValue(cost.name));
+	    screen.addChild("pathNanos", new JsonValue(cost.pathNanos));
+	    screen.addChild("createNanos", new JsonValue(cost.createNanos));
+	    screen.addChild("resetNanos", new JsonValue(cost.resetNanos));
+	    screen.addChild("path", strings(cost.path));
+	    screens.addChild(screen);
+	}
+	root.addChild("screens", screens);
+	root.addChild("unreached", strings(unreachedScreenNames));
+	root.addChild("untimed", strings(untimedScreenNames));
+	final JsonValue edges = new JsonValue(JsonValue.ValueType.array);
+	for (EdgeCost cost : worstEdges) {
+	    final JsonValue edge = new JsonValue(JsonValue.ValueType.object);
+	    edge.addChild("from", new JsonValue(cost.from));
+	    edge.addChild("to", new JsonValue(cost.to));
+	    edge.addChild("firstNanos", new JsonValue(cost.firstNanos));
+	    edge.addChild("againNanos", new JsonValue(cost.againNanos));
+	    edges.addChild(edge);
+	}
+	root.addChild("worstEdges", edges);
+	final JsonValue recommended = new JsonValue(JsonValue.ValueType.array);
+	for (Recommendation recommendation : recommendations) {
+	    final JsonValue value = new JsonValue(JsonValue.ValueType.object);
+	    value.addChild("screen", new JsonValue(recommendation.screenName));
+	    value.addChild("action", new JsonValue(recommendation.action));
+	    value.addChild("nanos", new JsonValue(recommendation.nanos));
+	    recommended.addChild(value);
+	}
+	root.addChild("recommendations", recommended);
+	return root.toJson(JsonWriter.OutputType.json);
+    }
+
+    private static JsonValue strings(@NonNull final Array<String> strings) {
+	final JsonValue array = new JsonValue(JsonValue.ValueType.array);
+	for (String string : strings) {
+	    array.addChild(new JsonValue(string));
+	}
+	return array;
+    }
+
+    @Override
+    public String toString() {
+	return "ScreenGraphReport(startingScreen=" + startingScreenName +
+	    ", reached=" + reachedScreens.size + ", unreached=" + unreachedScreenNames +
+	    ", untimed=" + untimedScreenNames + ", recommendations=" + recommendations + ")";
+    }
+
+    /**
+     * Cost of reaching a screen along the cheapest path from the starting screen, where following an edge costs the time taken to create the screen it leads to.
+     */
+    public static final class ScreenCost {
+
+	@NonNull
+	private final String name;
+	private final long pathNanos;
+	private final long createNanos;
+	private final long resetNanos;
+	@NonNull
+	private final Array<String> path;
+
+	ScreenCost(
+	    @NonNull final String name,
+	    final long pathNanos,
+	    final long createNanos,
+	    final long resetNanos,
+	    @NonNull final Array<String> path
+	) {
+	    this.name = name;
+	    this.pathNanos = pathNanos;
+	    this.createNanos = createNanos;
+	    this.resetNanos = resetNanos;
+	    this.path = path;
+	}
+
+	/**
+	 * Get the name of the screen.
+	 *
+	 * @return name of the screen
+	 */
+	public String getName() {
+	    return name;
+	}
+
+	/**
+	 * Get the time spent creating screens along the path to this screen, including the starting screen and this one.
+	 *
+	 * @return cost of the path in nanoseconds
+	 */
+	public long getPathNanos() {
+	    return pathNanos;
+	}
+
+	/**
+	 * Get the time taken to create this screen.
+	 *
+	 * @return time in nanoseconds
+	 */
+	public long getCreateNanos() {
+	    return createNanos;
+	}
+
+	/**
+	 * Get the time taken to reset this screen.
+	 *
+	 * @return time in nanoseconds
+	 */
+	public long getResetNanos() {
+	    return resetNanos;
+	}
+
+	/**
+	 * Get the names of the screens and routes along the path to this screen, from the starting screen to this one.
+	 *
+	 * @return names along the path
+	 */
+	public Array<String> getPath() {
+	    return path;
+	}
+
+	@Override
+	public String toString() {
+	    return "ScreenCost(name=" + name + ", pathNanos=" + pathNanos + ", path=" + path + ")";
+	}
+    }
+
+    /**
+     * Cost of following an edge between two screens, through any routes between them.
+     */
+    public static final class EdgeCost {
+
+	@NonNull
+	private final String from;
+	@NonNull
+	private final String to;
+	private final long firstNanos;
+	private final long againNanos;
+
+	EdgeCost(
+	    @NonNull final String from,
+	    @NonNull final String to,
+	    final long firstNanos,
+	    final long againNanos
+	) {
+	    this.from = from;
+	    this.to = to;
+	    this.firstNanos = firstNanos;
+	    this.againNanos = againNanos;
+	}
+
+	/**
+	 * Get the name of the screen the edge leaves.
+	 *
+	 * @return name of the screen left
+	 */
+	public String getFrom() {
+	    return from;
+	}
+
+	/**
+	 * Get the name of the screen the edge leads to.
+	 *
+	 * @return name of the screen shown
+	 */
+	public String getTo() {
+	    return to;
+	}
+
+	/**
+	 * Get the time the edge takes when it is first followed, creating the screen it leads to.
+	 *
+	 * @return time in nanoseconds
+	 */
+	public long getFirstNanos() {
+	    return firstNanos;
+	}
+
+	/**
+	 * Get the time the edge takes when it is followed again, resetting the screen it leads to.
+	 *
+	 * @return time in nanoseconds
+	 */
+	public long getAgainNanos() {
+	    return againNanos;
+	}
+
+	@Override
+	public String toString() {
+	    return "EdgeCost(from=" + from + ", to=" + to + ", firstNanos=" + firstNanos +
+		", againNanos=" + againNanos + ")";
+	}
+    }
+
+    /**
+     * Action recommended for a screen, one of {@link ScreenGraphReport#PRELOAD}, {@link ScreenGraphReport#POOL} or {@link ScreenGraphReport#SPLIT}.
+     */
+    public static final class Recommendation {
+
+	@NonNull
+	private final String screenName;
+	@NonNull
+	private final String action;
+	private final long nanos;
+
+	Recommendation(
+	    @NonNull final String screenName, @NonNull final String action, final long nanos
+	) {
+	    this.screenName = screenName;
+	    this.action = action;
+	    this.nanos = nanos;
+	}
+
+	/**
+	 * Get the name of the screen the recommendation is for.
+	 *
+	 * @return name of the screen
+	 */
+	public String getScreenName() {
+	    return screenName;
+	}
+
+	/**
+	 * Get the action recommended.
+	 *
+	 * @return action recommended
+	 */
+	public String getAction() {
+	    return action;
+	}
+
+	/**
+	 * Get the time the recommendation addresses, that taken to create or reset the screen.
+	 *
+	 * @return time in nanoseconds
+	 */
+	public long getNanos() {
+	    return nanos;
+	}
+
+	@Override
+	public String toString() {
+	    return "Recommendation(screen=" + screenName + ", action=" + action +
+		", nanos=" + nanos + ")";
+	}
+    }
+}
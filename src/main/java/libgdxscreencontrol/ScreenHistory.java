@@ -0,0 +1,106 @@
+package libgdxscreencontrol;
+
+/**
+ * Bounded history of screen ids, backed by a preallocated ring buffer. Once the history is full, pushing a new id overwrites the oldest one.
+ */
+public class ScreenHistory {
+
+    /**
+     * Value returned by <code>pop()</code> when the history is empty.
+     */
+    public static final int EMPTY = -1;
+
+    private final int[] ids;
+    private int head;
+    private int size;
+
+    /**
+     * Create a history which holds at most <code>depth</code> screen ids.
+     *
+     * @param depth maximum number of ids held, may be zero to disable history
+     * @throws IllegalArgumentException if depth is negative
+     */
+    public ScreenHistory(final int depth) throws IllegalArgumentException {
+	if (depth < 0) {
+	    throw new IllegalArgumentException(
+		"History depth must not be negative, got: " + depth
+	    );
+	}
+	this.ids = new int[depth];
+    }
+
+    /**
+     * Push the specified screen id onto this history, overwriting the oldest id if the history is full. Does nothing if this history has a depth of zero.
+     *
+     * @param id screen id
+     */
+    public void push(final int id) {
+	if (ids.length == 0) {
+	    return;
+	}
+	head = (head + 1) % ids.length;
+	ids[head] = id;
+	if (size < ids.length) {
+	    size++;
+	}
+    }
+
+    /**
+     * Remove and return the most recently pushed id, or {@link #EMPTY} if this history is empty.
+     *
+     * @return most recently pushed id or {@link #EMPTY}
+     */
+    public int pop() {
+	if (size == 0) {
+	    return EMPTY;
+	}
+	final int id = ids[head];
+	head = (head + ids.length - 1) % ids.length;
+	size--;
+	return id;
+    }
+
+    /**
+     * Return the most recently pushed id without removing it, or {@link #EMPTY} if this history is empty.
+     *
+     * @return most recently pushed id or {@link #EMPTY}
+     */
+    public int peek() {
+	return size == 0 ? EMPTY : ids[head];
+    }
+
+    /**
+     * Return true if this history holds no ids, else false.
+     *
+     * @return true if this history holds no ids, else false
+     */
+    public boolean isEmpty() {
+	return size == 0;
+    }
+
+    /**
+     * Get the number of ids held by this history.
+     *
+     * @return number of ids held
+     */
+    public int size() {
+	return size;
+    }
+
+    /**
+     * Get the maximum number of ids this history can hold.
+     *
+     * @return maximum number of ids held
+     */
+    public int depth() {
+	return ids.length;
+    }
+
+    /**
+     * Remove all ids from this history.
+     */
+    public void clear() {
+	head = 0;
+	size = 0;
+    }
+}
@@ -0,0 +1,152 @@
+package libgdxscreencontrol;
+
+import javax.annotation.Nullable;
+
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import lombok.NonNull;
+
+/**
+ * {@link InputProcessor} which forwards input events to the input processor of the active screen of a {@link ScreenController}, so it can be set once with <code>Gdx.input.setInputProcessor()</code> rather than on every change of screen. Events are passed to the global processors in the order they were added and then to the active screen's processor, until one of them handles the event, like an <code>InputMultiplexer</code>. The active screen's processor is the one passed for it to <code>ScreenControllerBuilder.withInputProcessor()</code>, else the screen itself if it implements {@link InputProcessor}, else none. It is looked up when the screen becomes active and held in a single field, so there is always a processor to receive events, events are dispatched without allocating, and no lookup is made per event.
+ */
+public class ScreenInputRouter implements InputProcessor {
+
+    @NonNull
+    private final ObjectMap<String, InputProcessor> screenProcessors;
+    @NonNull
+    private final InputProcessor[] globalProcessors;
+    @Nullable
+    private InputProcessor activeProcessor;
+
+    ScreenInputRouter(
+	@NonNull final ObjectMap<String, InputProcessor> screenProcessors,
+	@NonNull final Array<InputProcessor> globalProcessors
+    ) {
+	this.screenProcessors = new ObjectMap<>(screenProcessors);
+	this.globalProcessors = globalProcessors.toArray(InputProcessor.class);
+    }
+
+    /**
+     * Route events to the processor of the specified screen, which has become active.
+     *
+     * @param screenName name of the screen
+     * @param screen the screen
+     */
+    void route(@NonNull final String screenName, @NonNull final Screen screen) {
+	final InputProcessor processor = screenProcessors.get(screenName);
+	if (processor != null) {
+	    activeProcessor = processor;
+	}
+	else {
+	    activeProcessor = screen instanceof InputProcessor ? (InputProcessor) screen : null;
+	}
+    }
+
+    /**
+     * Stop forwarding events to a screen's processor, for example because the screens have been disposed of.
+     */
+    void clear() {
+	activeProcessor = null;
+    }
+
+    /**
+     * Get the processor events are forwarded to after the global processors.
+     *
+     * @return processor of the active screen, or null if it has none
+     */
+    @Nullable
+    public InputProcessor getActiveProcessor() {
+	return activeProcessor;
+    }
+
+    @Override
+    public boolean keyDown(final int keycode) {
+	for (int i = 0; i < globalProcessors.length; i++) {
+	    if (globalProcessors[i].keyDown(keycode)) {
+		return true;
+	    }
+	}
+	final InputProcessor processor = activeProcessor;
+	return processor != null && processor.keyDown(keycode);
+    }
+
+    @Override
+    public boolean keyUp(final int keycode) {
+	for (int i = 0; i < globalProcessors.length; i++) {
+	    if (globalProcessors[i].keyUp(keycode)) {
+		return true;
+	    }
+	}
+	final InputProcessor processor = activeProcessor;
+	return processor != null && processor.keyUp(keycode);
+    }
+
+    @Override
+    public boolean keyTyped(final char character) {
+	for (int i = 0; i < globalProcessors.length; i++) {
+	    if (globalProcessors[i].keyTyped(character)) {
+		return true;
+	    }
+	}
+	final InputProcessor processor = activeProcessor;
+	return processor != null && processor.keyTyped(character);
+    }
+
+    @Override
+    public boolean touchDown(final int screenX, final int screenY, final int pointer, final int button) {
+	for (int i = 0; i < globalProcessors.length; i++) {
+	    if (globalProcessors[i].touchDown(screenX, screenY, pointer, button)) {
+		return true;
+	    }
+	}
+	final InputProcessor processor = activeProcessor;
+	return processor != null && processor.touchDown(screenX, screenY, pointer, button);
+    }
+
+    @Override
+    public boolean touchUp(final int screenX, final int screenY, final int pointer, final int button) {
+	for (int i = 0; i < globalProcessors.length; i++) {
+	    if (globalProcessors[i].touchUp(screenX, screenY, pointer, button)) {
+		return true;
+	    }
+	}
+	final InputProcessor processor = activeProcessor;
+	return processor != null && processor.touchUp(screenX, screenY, pointer, button);
+    }
+
+    @Override
+    public boolean touchDragged(final int screenX, final int screenY, final int pointer) {
+	for (int i = 0; i < globalProcessors.length; i++) {
+	    if (globalProcessors[i].touchDragged(screenX, screenY, pointer)) {
+		return true;
+	    }
+	}
+	final InputProcessor processor = activeProcessor;
+	return processor != null && processor.touchDragged(screenX, screenY, pointer);
+    }
+
+    @Override
+    public boolean mouseMoved(final int screenX, final int screenY) {
+	for (int i = 0; i < globalProcessors.length; i++) {
+	    if (globalProcessors[i].mouseMoved(screenX, screenY)) {
+		return true;
+	    }
+	}
+	final InputProcessor processor = activeProcessor;
+	return processor != null && processor.mouseMoved(screenX, screenY);
+    }
+
+    @Override
+    public boolean scrolled(final int amount) {
+	for (int i = 0; i < globalProcessors.length; i++) {
+	    if (globalProcessors[i].scrolled(amount)) {
+		return true;
+	    }
+	}
+	final InputProcessor processor = activeProcessor;
+	return processor != null && processor.scrolled(amount);
+    }
+}
@@ -0,0 +1,159 @@
+package libgdxscreencontrol;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.Array;
+
+import lombok.NonNull;
+
+/**
+ * Debugging aid which tracks the screens a {@link ScreenController} creates, shows and disposes of, to find screens which are still referenced after being disposed, screens disposed of more than once, screens shown after being disposed and screens created from factories which were garbage collected without being disposed. Pass an instance to <code>ScreenControllerBuilder.withLeakDetection()</code>, and call <code>report()</code>, for example at the end of a soak test. Screens are held through weak references, so tracking them does not keep them alive, but tracking does cost a search of every tracked screen still alive per creation, showing and disposal, so it is intended for debug builds.
+ */
+public class ScreenLeakDetector {
+
+    @NonNull
+    private final ReferenceQueue<Screen> queue = new ReferenceQueue<>();
+    @NonNull
+    private final Array<TrackedScreen> trackedScreens = new Array<>(false, 16);
+    @NonNull
+    private final Array<String> doubleDisposedScreenNames = new Array<>();
+    @NonNull
+    private final Array<String> usedAfterDisposeScreenNames = new Array<>();
+    @NonNull
+    private final Array<String> undisposedScreenNames = new Array<>();
+    private long createdCount;
+    private long shownCount;
+    private long disposedCount;
+
+    /**
+     * Notify this detector that the specified screen has been created from a factory, so should be disposed of before it is garbage collected.
+     *
+     * @param name name of the screen
+     * @param screen screen created
+     */
+    synchronized void onCreated(@NonNull final String name, @NonNull final Screen screen) {
+	expunge();
+	createdCount++;
+	if (indexOf(screen) == -1) {
+	    trackedScreens.add(new TrackedScreen(name, screen, queue));
+	}
+    }
+
+    /**
+     * Notify this detector that the specified screen has become active.
+     *
+     * @param name name of the screen
+     * @param screen screen shown
+     */
+    synchronized void onShown(@NonNull final String name, @NonNull final Screen screen) {
+	expunge();
+	shownCount++;
+	final int index = indexOf(screen);
+	if (index != -1 && trackedScreens.get(index).disposed) {
+	    usedAfterDisposeScreenNames.add(name);
+	}
+    }
+
+    /**
+     * Notify this detector that the specified screen is being disposed of.
+     *
+     * @param name name of the screen
+     * @param screen screen disposed of
+     */
+    synchronized void onDisposed(@NonNull final String name, @NonNull final Screen screen) {
+	expunge();
+	disposedCount++;
+	final int index = indexOf(screen);
+	if (index == -1) {
+	    final TrackedScreen trackedScreen = new TrackedScreen(name, screen, queue);
+	    trackedScreen.disposed = true;
+	    trackedScreens.add(trackedScreen);
+	}
+	else if (trackedScreens.get(index).disposed) {
+	    doubleDisposedScreenNames.add(name);
+	}
+	else {
+	    trackedScreens.get(index).disposed = true;
+	}
+    }
+
+    private int indexOf(@NonNull final Screen screen) {
+	for (int i = 0; i < trackedScreens.size; i++) {
+	    if (trackedScreens.get(i).get() == screen) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    private void expunge() {
+	Reference<? extends Screen> reference;
+	while ((reference = queue.poll()) != null) {
+	    final TrackedScreen trackedScreen = (TrackedScreen) reference;
+	    if (!trackedScreen.disposed) {
+		undisposedScreenNames.add(trackedScreen.name);
+	    }
+	    trackedScreens.removeValue(trackedScreen, true);
+	}
+    }
+
+    /**
+     * Run the garbage collector and report the screens which survived it after being disposed of, along with the screens disposed of twice, shown after being disposed or collected without being disposed. Blocks while garbage is collected.
+     *
+     * @return report of the problems found
+     */
+    public ScreenLeakReport report() {
+	collectGarbage();
+	synchronized (this) {
+	    expunge();
+	    final Array<String> leakedScreenNames = new Array<>();
+	    for (TrackedScreen trackedScreen : trackedScreens) {
+		if (trackedScreen.disposed && trackedScreen.get() != null) {
+		    leakedScreenNames.add(trackedScreen.name);
+		}
+	    }
+	    return new ScreenLeakReport(
+		leakedScreenNames,
+		new Array<>(doubleDisposedScreenNames),
+		new Array<>(usedAfterDisposeScreenNames),
+		new Array<>(undisposedScreenNames),
+		createdCount,
+		shownCount,
+		disposedCount
+	    );
+	}
+    }
+
+    private static void collectGarbage() {
+	// Weak references are cleared together, so once the sentinel is cleared so are any disposed screens which are unreachable
+	final WeakReference<Object> sentinel = new WeakReference<>(new Object());
+	for (int i = 0; i < 10 && sentinel.get() != null; i++) {
+	    System.gc();
+	    try {
+		Thread.sleep(10);
+	    } catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		return;
+	    }
+	}
+    }
+
+    private static final class TrackedScreen extends WeakReference<Screen> {
+
+	@NonNull
+	private final String name;
+	private boolean disposed;
+
+	private TrackedScreen(
+	    @NonNull final String name,
+	    @NonNull final Screen screen,
+	    @NonNull final ReferenceQueue<Screen> queue
+	) {
+	    super(screen, queue);
+	    this.name = name;
+	}
+    }
+}
@@ -0,0 +1,123 @@
+package libgdxscreencontrol;
+
+import com.badlogic.gdx.utils.Array;
+
+import lombok.NonNull;
+
+/**
+ * Problems found by a {@link ScreenLeakDetector}, each identified by the name of the screen concerned.
+ */
+public class ScreenLeakReport {
+
+    @NonNull
+    private final Array<String> leakedScreenNames;
+    @NonNull
+    private final Array<String> doubleDisposedScreenNames;
+    @NonNull
+    private final Array<String> usedAfterDisposeScreenNames;
+    @NonNull
+    private final Array<String> undisposedScreenNames;
+    private final long createdCount;
+    private final long shownCount;
+    private final long disposedCount;
+
+    ScreenLeakReport(
+	@NonNull final Array<String> leakedScreenNames,
+	@NonNull final Array<String> doubleDisposedScreenNames,
+	@NonNull final Array<String> usedAfterDisposeScreenNames,
+	@NonNull final Array<String> undisposedScreenNames,
+	final long createdCount,
+	final long shownCount,
+	final long disposedCount
+    ) {
+	this.leakedScreenNames = leakedScreenNames;
+	this.doubleDisposedScreenNames = doubleDisposedScreenNames;
+	this.usedAfterDisposeScreenNames = usedAfterDisposeScreenNames;
+	this.undisposedScreenNames = undisposedScreenNames;
+	this.createdCount = createdCount;
+	this.shownCount = shownCount;
+	this.disposedCount = disposedCount;
+    }
+
+    /**
+     * Get the names of screens which were still referenced after being disposed of and a garbage collection.
+     *
+     * @return names of leaked screens
+     */
+    public Array<String> getLeakedScreenNames() {
+	return leakedScreenNames;
+    }
+
+    /**
+     * Get the names under which screens were disposed of for a second time, once per extra disposal.
+     *
+     * @return names of screens disposed of more than once
+     */
+    public Array<String> getDoubleDisposedScreenNames() {
+	return doubleDisposedScreenNames;
+    }
+
+    /**
+     * Get the names under which screens were shown after being disposed of, once per showing.
+     *
+     * @return names of screens used after being disposed of
+     */
+    public Array<String> getUsedAfterDisposeScreenNames() {
+	return usedAfterDisposeScreenNames;
+    }
+
+    /**
+     * Get the names of screens created from factories which were garbage collected without being disposed of, so may not have released their resources.
+     *
+     * @return names of screens never disposed of
+     */
+    public Array<String> getUndisposedScreenNames() {
+	return undisposedScreenNames;
+    }
+
+    /**
+     * Get the number of times a screen was created from a factory while being tracked.
+     *
+     * @return number of screens created
+     */
+    public long getCreatedCount() {
+	return createdCount;
+    }
+
+    /**
+     * Get the number of times a screen was shown while being tracked.
+     *
+     * @return number of screens shown
+     */
+    public long getShownCount() {
+	return shownCount;
+    }
+
+    /**
+     * Get the number of times a screen was disposed of while being tracked.
+     *
+     * @return number of screens disposed of
+     */
+    public long getDisposedCount() {
+	return disposedCount;
+    }
+
+    /**
+     * Return true if no problems were found, else false.
+     *
+     * @return true if no problems were found, else false
+     */
+    public boolean isClean() {
+	return leakedScreenNames.size == 0 && doubleDisposedScreenNames.size == 0 &&
+	    usedAfterDisposeScreenNames.size == 0 && undisposedScreenNames.size == 0;
+    }
+
+    @Override
+    public String toString() {
+	return "ScreenLeakReport(leaked=" + leakedScreenNames +
+	    ", doubleDisposed=" + doubleDisposedScreenNames +
+	    ", usedAfterDispose=" + usedAfterDisposeScreenNames +
+	    ", undisposed=" + undisposedScreenNames + ", created=" + createdCount +
+	    ", shown=" + shownCount + ", disposed=" + disposedCount + ")";
+    }
+}
@@ -0,0 +1,79 @@
+package libgdxscreencontrol;
+
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import lombok.NonNull;
+
+/**
+ * Names given to the screens, routes and families of a sub-graph embedded in a parent graph by <code>ScreenControllerBuilder.embed()</code>. Names of the sub-graph are prefixed, and names its edges lead to which it does not register are exits, mapped to names of the parent graph.
+ */
+final class ScreenNamespace {
+
+    @NonNull
+    private final String prefix;
+    @NonNull
+    private final ScreenGraph graph;
+    @NonNull
+    private final Map<String, String> exits;
+
+    ScreenNamespace(
+	@NonNull final String prefix,
+	@NonNull final ScreenGraph graph,
+	@NonNull final Map<String, String> exits
+    ) {
+	this.prefix = prefix;
+	this.graph = graph;
+	this.exits = exits;
+    }
+
+    /**
+     * Get the name in the parent graph of the specified screen, route or family of the sub-graph.
+     *
+     * @param name name in the sub-graph
+     * @return prefixed name
+     */
+    String name(@NonNull final String name) {
+	return prefix + ScreenFamily.SEPARATOR + name;
+    }
+
+    /**
+     * Get the name in the parent graph of the specified target of an edge of the sub-graph.
+     *
+     * @param target name the edge leads to in the sub-graph
+     * @return prefixed name if the sub-graph registers target, else the name of the parent graph it is mapped to, or target itself if it is {@link ScreenController#RETURN}
+     * @throws IllegalArgumentException if the sub-graph does not register target and it is not mapped to an exit
+     */
+    String target(@NonNull final String target) throws IllegalArgumentException {
+	if (ScreenController.RETURN.equals(target)) {
+	    return target;
+	}
+	if (graph.hasScreenOrRoute(target)) {
+	    return name(target);
+	}
+	final String exit = exits.get(target);
+	if (exit == null) {
+	    throw new IllegalArgumentException(
+		"The screen: " + target + " is neither registered in the sub-graph: " + prefix +
+		" nor mapped to an exit"
+	    );
+	}
+	return exit;
+    }
+
+    /**
+     * Get a function giving the names in the parent graph of the targets named by the specified function of the sub-graph. Targets which are neither registered in the sub-graph nor mapped to an exit are left as they are, and so fail as any unregistered screen when they are followed.
+     *
+     * @param targets function from parameter to the name of a target in the sub-graph
+     * @return function from parameter to the name of a target in the parent graph
+     */
+    IntFunction<String> targets(@NonNull final IntFunction<String> targets) {
+	return parameter -> {
+	    final String target = targets.apply(parameter);
+	    if (ScreenController.RETURN.equals(target)) {
+		return target;
+	    }
+	    return graph.hasScreenOrRoute(target) ? name(target) : exits.getOrDefault(target, target);
+	};
+    }
+}
@@ -0,0 +1,155 @@
+package libgdxscreencontrol;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import libgdxscreencontrol.screen.ITransitionScreen;
+import lombok.NonNull;
+
+/**
+ * Worst times taken to create and to reset each screen, for a {@link ScreenGraphAnalyzer}. Timings can be recorded from a real run, by passing an instance to <code>ScreenControllerBuilder.withTimings()</code>, measured by a dry run with <code>measure()</code>, or recorded directly. Not thread safe.
+ */
+public class ScreenTimings {
+
+    @NonNull
+    private final ObjectIntMap<String> screenIds = new ObjectIntMap<>();
+    @NonNull
+    private final Array<String> screenNames = new Array<>();
+    @NonNull
+    private final LongArray createNanos = new LongArray();
+    @NonNull
+    private final LongArray resetNanos = new LongArray();
+
+    /**
+     * Create timings for a dry run of the screens registered with the specified builder. Each screen registered with a factory is created, reset and disposed of, and each screen registered as an instance is reset, on the calling thread, so screens which need a graphics context should be measured with one, for example under the headless backend. Screens registered with <code>registerShared()</code> are released back to their {@link SharedScreenRegistry} rather than disposed of, so are only disposed of if no controller holds them. Members of screen families are not measured.
+     *
+     * @param builder builder holding the screens to measure
+     * @return timings of the screens
+     * @throws IllegalStateException if the builder's starting screen has not been set
+     */
+    public static ScreenTimings measure(
+	@NonNull final ScreenControllerBuilder builder
+    ) throws IllegalStateException {
+	final ScreenGraph graph = builder.toGraph();
+	final ScreenTimings timings = new ScreenTimings();
+	for (String name : graph.transitionController.getNames()) {
+	    if (graph.transitionController.hasFactory(name)) {
+		final long start = System.nanoTime();
+		final ITransitionScreen screen = graph.transitionController.getFactory(name).create();
+		timings.recordCreate(name, System.nanoTime() - start);
+		timings.measureReset(name, screen);
+		dispose(screen, builder.getSharedRegistries());
+	    }
+	    else {
+		timings.measureReset(name, graph.transitionController.get(name));
+	    }
+	}
+	for (String name : graph.choiceController.getNames()) {
+	    if (graph.choiceController.hasFactory(name)) {
+		final long start = System.nanoTime();
+		final ITransitionScreen screen = graph.choiceController.getFactory(name).create();
+		timings.recordCreate(name, System.nanoTime() - start);
+		timings.measureReset(name, screen);
+		dispose(screen, builder.getSharedRegistries());
+	    }
+	    else {
+		timings.measureReset(name, graph.choiceController.get(name));
+	    }
+	}
+	return timings;
+    }
+
+    private static void dispose(
+	@NonNull final ITransitionScreen screen,
+	@NonNull final Array<SharedScreenRegistry> sharedRegistries
+    ) {
+	for (SharedScreenRegistry registry : sharedRegistries) {
+	    if (registry.release(screen) != -1) {
+		return;
+	    }
+	}
+	screen.dispose();
+    }
+
+    private void measureReset(@NonNull final String name, @NonNull final ITransitionScreen screen) {
+	final long start = System.nanoTime();
+	screen.reset();
+	recordReset(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Record that creating the screen with the specified name took the specified time. Only the longest time recorded for a screen is kept.
+     *
+     * @param name name of the screen
+     * @param nanos time taken in nanoseconds
+     */
+    public void recordCreate(@NonNull final String name, final long nanos) {
+	final int id = idOf(name);
+	createNanos.set(id, Math.max(createNanos.get(id), nanos));
+    }
+
+    /**
+     * Record that resetting the screen with the specified name took the specified time. Only the longest time recorded for a screen is kept.
+     *
+     * @param name name of the screen
+     * @param nanos time taken in nanoseconds
+     */
+    public void recordReset(@NonNull final String name, final long nanos) {
+	final int id = idOf(name);
+	resetNanos.set(id, Math.max(resetNanos.get(id), nanos));
+    }
+
+    private int idOf(@NonNull final String name) {
+	int id = screenIds.get(name, -1);
+	if (id == -1) {
+	    id = screenNames.size;
+	    screenIds.put(name, id);
+	    screenNames.add(name);
+	    createNanos.add(0);
+	    resetNanos.add(0);
+	}
+	return id;
+    }
+
+    /**
+     * Return true if a time has been recorded for the screen with the specified name, else false.
+     *
+     * @param name name of the screen
+     * @return true if the screen has been timed, else false
+     */
+    public boolean has(@NonNull final String name) {
+	return screenIds.containsKey(name);
+    }
+
+    /**
+     * Get the longest time recorded to create the screen with the specified name.
+     *
+     * @param name name of the screen
+     * @return time in nanoseconds, zero if none has been recorded
+     */
+    public long getCreateNanos(@NonNull final String name) {
+	final int id = screenIds.get(name, -1);
+	return id == -1 ? 0 : createNanos.get(id);
+    }
+
+    /**
+     * Get the longest time recorded to reset the screen with the specified name.
+     *
+     * @param name name of the screen
+     * @return time in nanoseconds, zero if none has been recorded
+     */
+    public long getResetNanos(@NonNull final String name) {
+	final int id = screenIds.get(name, -1);
+	return id == -1 ? 0 : resetNanos.get(id);
+    }
+
+    /**
+     * Get the names of all screens with recorded times.
+     *
+     * @return names of screens timed
+     */
+    public Array<String> getNames() {
+	return new Array<>(screenNames);
+    }
+}
@@ -0,0 +1,185 @@
+package libgdxscreencontrol;
+
+import javax.annotation.Nullable;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import libgdxscreencontrol.screen.ITransitionScreen;
+import lombok.NonNull;
+
+/**
+ * Renders screens a number of times before they are first shown, so that their render paths are compiled by the JIT while a loading screen is active rather than on their first frames. A screen is warmed up as if it were shown: <code>show()</code> and, when there is a graphics context, <code>resize()</code> with the size of the window are called before it is first rendered, and <code>hide()</code> once it is warm, abandoned for another screen or about to be shown for real. When there is a GL context, warm-up frames are drawn into an off-screen {@link FrameBuffer} the size of the window, so they never reach the player.
+ */
+class ScreenWarmer {
+
+    private final int iterations;
+    private final float delta;
+    @NonNull
+    private final ObjectSet<String> warmedScreens = new ObjectSet<>();
+    @Nullable
+    private String targetName;
+    @Nullable
+    private ITransitionScreen targetScreen;
+    private int rendered;
+    private boolean warmingUp;
+    @Nullable
+    private FrameBuffer frameBuffer;
+
+    /**
+     * Create a warmer which renders each screen the specified number of times, with the specified delta.
+     *
+     * @param iterations number of times to render each screen, zero disables warming up
+     * @param delta delta passed to <code>render()</code>
+     */
+    ScreenWarmer(final int iterations, final float delta) {
+	this.iterations = iterations;
+	this.delta = delta;
+    }
+
+    /**
+     * Return true if this warmer renders screens, else false.
+     *
+     * @return true if this warmer renders screens, else false
+     */
+    boolean isEnabled() {
+	return iterations > 0;
+    }
+
+    /**
+     * Return true if the specified screen should be passed to <code>step()</code>, ie it has not finished warming up.
+     *
+     * @param name name of the screen
+     * @return true if the screen should be warmed up, else false
+     */
+    boolean needsWarmUp(@NonNull final String name) {
+	return isEnabled() && !warmedScreens.contains(name);
+    }
+
+    /**
+     * Render the specified screen once, showing it first if this is its first warm-up render, and hiding and resetting it if it has now been rendered the configured number of times. A different screen left partially warmed up by a previous call is hidden and reset.
+     *
+     * @param name name of the screen
+     * @param screen screen to render
+     */
+    void step(@NonNull final String name, @NonNull final ITransitionScreen screen) {
+	if (!name.equals(targetName)) {
+	    abandonTarget(true);
+	    targetName = name;
+	    targetScreen = screen;
+	    rendered = 0;
+	}
+	if (rendered == 0) {
+	    screen.show();
+	    if (Gdx.graphics != null) {
+		screen.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+	    }
+	}
+	final FrameBuffer target = frameBuffer();
+	warmingUp = true;
+	if (target != null) {
+	    target.begin();
+	}
+	try {
+	    screen.render(delta);
+	} finally {
+	    if (target != null) {
+		target.end();
+	    }
+	    warmingUp = false;
+	}
+	if (++rendered >= iterations) {
+	    screen.hide();
+	    screen.reset();
+	    warmedScreens.add(name);
+	    targetName = null;
+	    targetScreen = null;
+	}
+    }
+
+    // Hides the screen being warmed up if it has been shown, and resets it too if specified
+    private void abandonTarget(final boolean reset) {
+	if (targetScreen != null && rendered > 0) {
+	    targetScreen.hide();
+	    if (reset) {
+		targetScreen.reset();
+	    }
+	}
+	targetName = null;
+	targetScreen = null;
+    }
+
+    // Returns null without a GL context, or if a frame buffer can't be created on this device
+    @Nullable
+    private FrameBuffer frameBuffer() {
+	if (Gdx.gl20 == null || Gdx.graphics == null) {
+	    return null;
+	}
+	final int width = Math.max(1, Gdx.graphics.getBackBufferWidth());
+	final int height = Math.max(1, Gdx.graphics.getBackBufferHeight());
+	if (frameBuffer != null &&
+	    (frameBuffer.getWidth() != width || frameBuffer.getHeight() != height)) {
+	    frameBuffer.dispose();
+	    frameBuffer = null;
+	}
+	if (frameBuffer == null) {
+	    try {
+		frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, true);
+	    } catch (GdxRuntimeException | IllegalStateException e) {
+		return null;
+	    }
+	}
+	return frameBuffer;
+    }
+
+    /**
+     * Notify this warmer that the specified screen is about to be shown. A screen partially warmed up is hidden first. Returns true if the screen has been rendered by this warmer since it was last reset, in which case the caller must reset it.
+     *
+     * @param name name of the screen
+     * @return true if the screen needs to be reset before being shown, else false
+     */
+    boolean onShown(@NonNull final String name) {
+	warmedScreens.add(name);
+	if (name.equals(targetName)) {
+	    abandonTarget(false);
+	    return rendered > 0;
+	}
+	return false;
+    }
+
+    /**
+     * Forget the screen with the specified name, for example because it has been disposed of, so that it is warmed up again if it is created again.
+     *
+     * @param name name of the screen
+     */
+    void forget(@NonNull final String name) {
+	warmedScreens.remove(name);
+	if (name.equals(targetName)) {
+	    abandonTarget(false);
+	}
+    }
+
+    /**
+     * Forget every screen, for example because they have all been disposed of, and dispose of the off-screen frame buffer.
+     */
+    void clear() {
+	warmedScreens.clear();
+	abandonTarget(false);
+	if (frameBuffer != null) {
+	    frameBuffer.dispose();
+	    frameBuffer = null;
+	}
+    }
+
+    /**
+     * Return true if a screen is being rendered by this warmer, else false.
+     *
+     * @return true if a screen is being rendered by this warmer, else false
+     */
+    boolean isWarmingUp() {
+	return warmingUp;
+    }
+}
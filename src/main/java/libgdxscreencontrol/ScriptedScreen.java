@@ -0,0 +1,91 @@
+package libgdxscreencontrol;
+
+import javax.annotation.Nullable;
+
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.ITransitionScreen;
+import lombok.NonNull;
+
+/**
+ * Stand-in screen used by a {@link SessionReplayer}, which finishes and makes choices as dictated by the entry of the recording being replayed. Other calls are forwarded to an optional delegate screen, so that its rendering and reset costs are included in a replay.
+ */
+class ScriptedScreen implements IChoiceScreen {
+
+    @NonNull
+    private final SessionReplayer replayer;
+    @Nullable
+    private final ITransitionScreen delegate;
+
+    ScriptedScreen(
+	@NonNull final SessionReplayer replayer, @Nullable final ITransitionScreen delegate
+    ) {
+	this.replayer = replayer;
+	this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isFinished() {
+	return replayer.isCurrentEntryFinished();
+    }
+
+    @Override
+    public int getChoice() {
+	return replayer.getCurrentEntryChoice();
+    }
+
+    @Override
+    public void reset() {
+	if (delegate != null) {
+	    delegate.reset();
+	}
+    }
+
+    @Override
+    public void show() {
+	if (delegate != null) {
+	    delegate.show();
+	}
+    }
+
+    @Override
+    public void render(final float delta) {
+	if (delegate != null) {
+	    delegate.render(delta);
+	}
+    }
+
+    @Override
+    public void resize(final int width, final int height) {
+	if (delegate != null) {
+	    delegate.resize(width, height);
+	}
+    }
+
+    @Override
+    public void pause() {
+	if (delegate != null) {
+	    delegate.pause();
+	}
+    }
+
+    @Override
+    public void resume() {
+	if (delegate != null) {
+	    delegate.resume();
+	}
+    }
+
+    @Override
+    public void hide() {
+	if (delegate != null) {
+	    delegate.hide();
+	}
+    }
+
+    @Override
+    public void dispose() {
+	if (delegate != null) {
+	    delegate.dispose();
+	}
+    }
+}
@@ -0,0 +1,265 @@
+package libgdxscreencontrol;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.annotation.Nullable;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import lombok.NonNull;
+
+/**
+ * Compact log of a {@link ScreenController} session, holding one entry per <code>update()</code> or <code>back()</code> call: its timestamp, whether and how it changed the active screen, and the choice made, trigger fired or screen gone to if so. Pass an instance to <code>ScreenControllerBuilder.withRecording()</code> to record a session, and to a {@link SessionReplayer} to replay it.
+ */
+public class SessionRecording {
+
+    /**
+     * Kind of an update which did not change the active screen.
+     */
+    public static final byte NONE = 0;
+    /**
+     * Kind of an update in which a finished {@link libgdxscreencontrol.screen.ITransitionScreen} was followed by its successor.
+     */
+    public static final byte TRANSITION = 1;
+    /**
+     * Kind of an update in which a finished {@link libgdxscreencontrol.screen.IChoiceScreen} was followed by the screen of its choice.
+     */
+    public static final byte CHOICE = 2;
+    /**
+     * Kind of a call to <code>back()</code> which changed the active screen.
+     */
+    public static final byte BACK = 3;
+    /**
+     * Kind of an update in which the active screen was switched to a screen passed to <code>goTo()</code>.
+     */
+    public static final byte GO_TO = 4;
+    /**
+     * Kind of an update in which a global or group transition was followed for a trigger passed to <code>fire()</code>.
+     */
+    public static final byte GLOBAL = 5;
+
+    private static final int MAGIC = 0x5343524c;
+    private static final int VERSION = 2;
+
+    @NonNull
+    private final ByteArray kinds;
+    @NonNull
+    private final LongArray timestamps;
+    // Choice of CHOICE entries, trigger of GLOBAL entries and target id of GO_TO entries, else -1
+    @NonNull
+    private final IntArray values;
+    @NonNull
+    private final Array<String> names = new Array<>();
+    @NonNull
+    private final ObjectIntMap<String> nameIds = new ObjectIntMap<>();
+
+    /**
+     * Create an empty recording.
+     */
+    public SessionRecording() {
+	this(new ByteArray(), new LongArray(), new IntArray());
+    }
+
+    private SessionRecording(
+	@NonNull final ByteArray kinds,
+	@NonNull final LongArray timestamps,
+	@NonNull final IntArray values
+    ) {
+	this.kinds = kinds;
+	this.timestamps = timestamps;
+	this.values = values;
+    }
+
+    void record(final long timestamp, final byte kind, final int value) {
+	kinds.add(kind);
+	timestamps.add(timestamp);
+	values.add(hasValue(kind) ? value : -1);
+    }
+
+    private static boolean hasValue(final byte kind) {
+	return kind == CHOICE || kind == GLOBAL || kind == GO_TO;
+    }
+
+    // Gets the id of the specified screen name in this recording, recording goTo() targets without a string per entry
+    int idOf(@NonNull final String name) {
+	int id = nameIds.get(name, -1);
+	if (id == -1) {
+	    id = names.size;
+	    nameIds.put(name, id);
+	    names.add(name);
+	}
+	return id;
+    }
+
+    /**
+     * Get the number of entries in this recording.
+     *
+     * @return number of entries
+     */
+    public int size() {
+	return kinds.size;
+    }
+
+    /**
+     * Get the kind of the entry at the specified index, one of {@link #NONE}, {@link #TRANSITION}, {@link #CHOICE}, {@link #BACK}, {@link #GO_TO} or {@link #GLOBAL}.
+     *
+     * @param index index of the entry
+     * @return kind of the entry
+     */
+    public byte getKind(final int index) {
+	return kinds.get(index);
+    }
+
+    /**
+     * Get the value of <code>System.nanoTime()</code> at the start of the entry at the specified index.
+     *
+     * @param index index of the entry
+     * @return timestamp of the entry in nanoseconds
+     */
+    public long getTimestamp(final int index) {
+	return timestamps.get(index);
+    }
+
+    /**
+     * Get the choice made in the entry at the specified index, or -1 if the entry is not of kind {@link #CHOICE}.
+     *
+     * @param index index of the entry
+     * @return choice made or -1
+     */
+    public int getChoice(final int index) {
+	return kinds.get(index) == CHOICE ? values.get(index) : -1;
+    }
+
+    /**
+     * Get the trigger fired in the entry at the specified index, or -1 if the entry is not of kind {@link #GLOBAL}.
+     *
+     * @param index index of the entry
+     * @return trigger fired or -1
+     */
+    public int getTrigger(final int index) {
+	return kinds.get(index) == GLOBAL ? values.get(index) : -1;
+    }
+
+    /**
+     * Get the name of the screen switched to in the entry at the specified index, or null if the entry is not of kind {@link #GO_TO}.
+     *
+     * @param index index of the entry
+     * @return name of the screen gone to or null
+     */
+    @Nullable
+    public String getTarget(final int index) {
+	return kinds.get(index) == GO_TO ? names.get(values.get(index)) : null;
+    }
+
+    /**
+     * Get the time between the first and last entries of this recording.
+     *
+     * @return duration of this recording in nanoseconds
+     */
+    public long getDuration() {
+	return size() < 2 ? 0 : timestamps.get(size() - 1) - timestamps.get(0);
+    }
+
+    /**
+     * Remove all entries from this recording.
+     */
+    public void clear() {
+	kinds.clear();
+	timestamps.clear();
+	values.clear();
+	names.clear();
+	nameIds.clear();
+    }
+
+    /**
+     * Write this recording to the specified stream, which is not closed.
+     *
+     * @param out stream to write to
+     * @throws IOException if the stream cannot be written to
+     */
+    public void writeTo(@NonNull final OutputStream out) throws IOException {
+	final DataOutputStream data = new DataOutputStream(out);
+	data.writeInt(MAGIC);
+	data.writeInt(VERSION);
+	data.writeInt(size());
+	data.writeInt(names.size);
+	for (String name : names) {
+	    data.writeUTF(name);
+	}
+	long previous = size() == 0 ? 0 : timestamps.get(0);
+	data.writeLong(previous);
+	for (int i = 0; i < size(); i++) {
+	    data.writeByte(kinds.get(i));
+	    writeVarLong(data, timestamps.get(i) - previous);
+	    previous = timestamps.get(i);
+	    if (hasValue(kinds.get(i))) {
+		data.writeInt(values.get(i));
+	    }
+	}
+	data.flush();
+    }
+
+    /**
+     * Read a recording previously written with <code>writeTo()</code> from the specified stream, which is not closed.
+     *
+     * @param in stream to read from
+     * @return recording read
+     * @throws IOException if the stream cannot be read from or does not hold a recording
+     */
+    public static SessionRecording readFrom(@NonNull final InputStream in) throws IOException {
+	final DataInputStream data = new DataInputStream(in);
+	if (data.readInt() != MAGIC) {
+	    throw new IOException("Stream does not hold a session recording");
+	}
+	final int version = data.readInt();
+	// Version 1 recordings hold no screen names, as they hold no GO_TO entries
+	if (version != 1 && version != VERSION) {
+	    throw new IOException("Unsupported session recording version: " + version);
+	}
+	final int size = data.readInt();
+	final SessionRecording recording = new SessionRecording(
+	    new ByteArray(size), new LongArray(size), new IntArray(size)
+	);
+	final int nameCount = version == 1 ? 0 : data.readInt();
+	for (int i = 0; i < nameCount; i++) {
+	    recording.idOf(data.readUTF());
+	}
+	long timestamp = data.readLong();
+	for (int i = 0; i < size; i++) {
+	    final byte kind = data.readByte();
+	    timestamp += readVarLong(data);
+	    recording.record(timestamp, kind, hasValue(kind) ? data.readInt() : -1);
+	}
+	return recording;
+    }
+
+    private static void writeVarLong(
+	@NonNull final DataOutputStream data, long value
+    ) throws IOException {
+	while ((value & ~0x7fL) != 0) {
+	    data.writeByte((int) (value & 0x7f) | 0x80);
+	    value >>>= 7;
+	}
+	data.writeByte((int) value);
+    }
+
+    private static long readVarLong(@NonNull final DataInputStream data) throws IOException {
+	long value = 0;
+	for (int shift = 0; shift < 64; shift += 7) {
+	    final int b = data.readUnsignedByte();
+	    value |= (long) (b & 0x7f) << shift;
+	    if ((b & 0x80) == 0) {
+		return value;
+	    }
+	}
+	throw new IOException("Malformed session recording");
+    }
+}
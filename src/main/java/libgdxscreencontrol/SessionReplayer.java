@@ -0,0 +1,246 @@
+package libgdxscreencontrol;
+
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
+import libgdxscreencontrol.screen.ITransitionScreen;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+import lombok.NonNull;
+
+/**
+ * Replays a {@link SessionRecording} through a {@link ScreenController} as fast as possible, for example on the headless backend in CI, and measures the cost of the transitions made. The controller replayed through should be built with the same screen names and edges as the recorded one, with each screen registered as a stand-in created by this object:
+ *
+ * <pre>
+ * final SessionReplayer replayer = new SessionReplayer(recording);
+ * final ScreenController controller = new ScreenControllerBuilder()
+ *     .register("loading-screen", replayer.transitionScreen())
+ *     .register("menu-screen", replayer.choiceScreen())
+ *     ...
+ *     .build();
+ * final SessionReplayer.Result result = replayer.replay(controller);
+ * </pre>
+ */
+public class SessionReplayer {
+
+    @NonNull
+    private final SessionRecording recording;
+    private int index;
+
+    /**
+     * Create a replayer for the specified recording.
+     *
+     * @param recording recording to replay
+     */
+    public SessionReplayer(@NonNull final SessionRecording recording) {
+	this.recording = recording;
+    }
+
+    /**
+     * Create a stand-in for an {@link ITransitionScreen} which does nothing but finish when the recording dictates.
+     *
+     * @return stand-in screen
+     */
+    public ITransitionScreen transitionScreen() {
+	return new ScriptedScreen(this, null);
+    }
+
+    /**
+     * Create a stand-in for an {@link IChoiceScreen} which does nothing but finish and make choices when the recording dictates.
+     *
+     * @return stand-in screen
+     */
+    public IChoiceScreen choiceScreen() {
+	return new ScriptedScreen(this, null);
+    }
+
+    /**
+     * Create a stand-in which finishes when the recording dictates, and otherwise forwards calls to the specified screen, so that its rendering and reset costs are included in a replay.
+     *
+     * @param delegate screen to forward calls to
+     * @return stand-in screen
+     */
+    public ITransitionScreen wrap(@NonNull final ITransitionScreen delegate) {
+	return new ScriptedScreen(this, delegate);
+    }
+
+    /**
+     * Create a stand-in which finishes and makes choices when the recording dictates, and otherwise forwards calls to the specified screen, so that its rendering and reset costs are included in a replay.
+     *
+     * @param delegate screen to forward calls to
+     * @return stand-in screen
+     */
+    public IChoiceScreen wrap(@NonNull final IChoiceScreen delegate) {
+	return new ScriptedScreen(this, delegate);
+    }
+
+    /**
+     * Create a factory of stand-ins wrapping screens created by the specified factory, so that screen creation costs are also included in a replay.
+     *
+     * @param factory factory to wrap
+     * @return factory of stand-in screens
+     */
+    public ITransitionScreenFactory<ITransitionScreen> wrap(
+	@NonNull final ITransitionScreenFactory<?> factory
+    ) {
+	return () -> new ScriptedScreen(this, factory.create());
+    }
+
+    /**
+     * Create a factory of stand-ins wrapping screens created by the specified factory, so that screen creation costs are also included in a replay.
+     *
+     * @param factory factory to wrap
+     * @return factory of stand-in screens
+     */
+    public IChoiceScreenFactory<IChoiceScreen> wrap(
+	@NonNull final IChoiceScreenFactory<?> factory
+    ) {
+	return () -> new ScriptedScreen(this, factory.create());
+    }
+
+    boolean isCurrentEntryFinished() {
+	final byte kind = recording.getKind(index);
+	return kind == SessionRecording.TRANSITION || kind == SessionRecording.CHOICE;
+    }
+
+    int getCurrentEntryChoice() {
+	return recording.getChoice(index);
+    }
+
+    /**
+     * Replay every entry of the recording through the specified controller, calling <code>update()</code> or <code>back()</code> once per entry. Triggers recorded as fired are fired again, and screens recorded as gone to are passed to <code>goTo()</code> again, before their entry's <code>update()</code>.
+     *
+     * @param controller controller built with stand-ins created by this object
+     * @return measurements taken during the replay
+     */
+    public Result replay(@NonNull final ScreenController controller) {
+	final Result result = new Result();
+	final long startAllocated = AllocationCounter.currentThreadAllocatedBytes();
+	final long start = System.nanoTime();
+	for (index = 0; index < recording.size(); index++) {
+	    final byte kind = recording.getKind(index);
+	    final long entryStart = System.nanoTime();
+	    if (kind == SessionRecording.GLOBAL) {
+		controller.fire(recording.getTrigger(index));
+	    }
+	    else if (kind == SessionRecording.GO_TO) {
+		controller.goTo(recording.getTarget(index));
+	    }
+	    final boolean changed = kind == SessionRecording.BACK ?
+		controller.back() : controller.update();
+	    final long elapsed = System.nanoTime() - entryStart;
+	    if (changed) {
+		result.transitions++;
+		result.transitionNanos += elapsed;
+		result.maxTransitionNanos = Math.max(result.maxTransitionNanos, elapsed);
+	    }
+	    if (changed != (kind != SessionRecording.NONE)) {
+		result.divergences++;
+	    }
+	    result.peakResidentScreens = Math.max(
+		result.peakResidentScreens, controller.getResidentScreenCount()
+	    );
+	}
+	result.entries = recording.size();
+	result.totalNanos = System.nanoTime() - start;
+	final long endAllocated = AllocationCounter.currentThreadAllocatedBytes();
+	result.allocatedBytes = startAllocated < 0 || endAllocated < 0 ?
+	    -1 : endAllocated - startAllocated;
+	return result;
+    }
+
+    /**
+     * Measurements taken while replaying a {@link SessionRecording}.
+     */
+    public static class Result {
+
+	private int entries;
+	private int transitions;
+	private int divergences;
+	private long totalNanos;
+	private long transitionNanos;
+	private long maxTransitionNanos;
+	private long allocatedBytes;
+	private int peakResidentScreens;
+
+	/**
+	 * Get the number of recording entries replayed.
+	 *
+	 * @return number of entries replayed
+	 */
+	public int getEntries() {
+	    return entries;
+	}
+
+	/**
+	 * Get the number of times the active screen changed.
+	 *
+	 * @return number of transitions
+	 */
+	public int getTransitions() {
+	    return transitions;
+	}
+
+	/**
+	 * Get the number of entries for which the active screen changed when it did not in the recording, or vice versa. A non-zero value means the controller replayed through does not match the recorded one.
+	 *
+	 * @return number of entries which diverged from the recording
+	 */
+	public int getDivergences() {
+	    return divergences;
+	}
+
+	/**
+	 * Get the time taken to replay every entry.
+	 *
+	 * @return total time in nanoseconds
+	 */
+	public long getTotalNanos() {
+	    return totalNanos;
+	}
+
+	/**
+	 * Get the total time spent in calls which changed the active screen.
+	 *
+	 * @return time spent transitioning in nanoseconds
+	 */
+	public long getTransitionNanos() {
+	    return transitionNanos;
+	}
+
+	/**
+	 * Get the longest time spent in a single call which changed the active screen.
+	 *
+	 * @return longest transition in nanoseconds
+	 */
+	public long getMaxTransitionNanos() {
+	    return maxTransitionNanos;
+	}
+
+	/**
+	 * Get the number of bytes allocated on the replaying thread, or -1 if the JVM cannot measure this.
+	 *
+	 * @return bytes allocated or -1
+	 */
+	public long getAllocatedBytes() {
+	    return allocatedBytes;
+	}
+
+	/**
+	 * Get the largest number of screens held by the controller at once.
+	 *
+	 * @return peak number of resident screens
+	 */
+	public int getPeakResidentScreens() {
+	    return peakResidentScreens;
+	}
+
+	@Override
+	public String toString() {
+	    return "Result(entries=" + entries + ", transitions=" + transitions +
+		", divergences=" + divergences + ", totalNanos=" + totalNanos +
+		", transitionNanos=" + transitionNanos +
+		", maxTransitionNanos=" + maxTransitionNanos +
+		", allocatedBytes=" + allocatedBytes +
+		", peakResidentScreens=" + peakResidentScreens + ")";
+	}
+    }
+}
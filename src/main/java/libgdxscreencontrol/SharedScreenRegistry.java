@@ -0,0 +1,243 @@
+package libgdxscreencontrol;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
+import libgdxscreencontrol.screen.ITransitionScreen;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+import lombok.NonNull;
+
+/**
+ * Holds screens shared by several {@link ScreenController}s, for example the options screen of each view in split screen. A shared screen is registered here once along with its factory, and with each builder through <code>ScreenControllerBuilder.registerShared()</code>. The first controller to need the screen creates it, the others use the same instance, and it is disposed of once every controller holding it has released it, by disposing of it in the same way as a screen it owns. A shared screen may be active in several controllers at once, and each controller resets it as it would any other screen, so it should tolerate this. All methods are thread safe.
+ */
+public class SharedScreenRegistry {
+
+    @NonNull
+    private final ObjectMap<String, ITransitionScreenFactory<?>> transitionFactories = new ObjectMap<>();
+    @NonNull
+    private final ObjectMap<String, IChoiceScreenFactory<?>> choiceFactories = new ObjectMap<>();
+    @NonNull
+    private final ObjectMap<String, Screen> screens = new ObjectMap<>();
+    @NonNull
+    private final ObjectIntMap<String> referenceCounts = new ObjectIntMap<>();
+    @NonNull
+    private final IdentityMap<Screen, String> screenNames = new IdentityMap<>();
+
+    /**
+     * Register the specified {@link ITransitionScreenFactory} with this registry with the specified name.
+     *
+     * @param name name of the shared screen
+     * @param factory factory creating the screen
+     * @throws IllegalArgumentException if a screen has already been registered with the specified name
+     */
+    public synchronized void register(
+	@NonNull final String name, @NonNull final ITransitionScreenFactory<?> factory
+    ) throws IllegalArgumentException {
+	checkNotRegistered(name);
+	transitionFactories.put(name, factory);
+    }
+
+    /**
+     * Register the specified {@link IChoiceScreenFactory} with this registry with the specified name.
+     *
+     * @param name name of the shared screen
+     * @param factory factory creating the screen
+     * @throws IllegalArgumentException if a screen has already been registered with the specified name
+     */
+    public synchronized void register(
+	@NonNull final String name, @NonNull final IChoiceScreenFactory<?> factory
+    ) throws IllegalArgumentException {
+	checkNotRegistered(name);
+	choiceFactories.put(name, factory);
+    }
+
+    private void checkNotRegistered(@NonNull final String name) throws IllegalArgumentException {
+	if (has(name)) {
+	    throw new IllegalArgumentException(
+		"A shared screen has already been registered with name: " + name
+	    );
+	}
+    }
+
+    /**
+     * Return true if a screen is registered with this registry with the specified name, else false.
+     *
+     * @param name name of the screen
+     * @return true if a screen is registered with the specified name, else false
+     */
+    public synchronized boolean has(@NonNull final String name) {
+	return transitionFactories.containsKey(name) || choiceFactories.containsKey(name);
+    }
+
+    /**
+     * Return true if the screen with the specified name is registered as an {@link IChoiceScreen}, else false.
+     *
+     * @param name name of the screen
+     * @return true if the screen is a choice screen, else false
+     */
+    public synchronized boolean isChoiceScreen(@NonNull final String name) {
+	return choiceFactories.containsKey(name);
+    }
+
+    /**
+     * Get the number of controllers currently holding the screen with the specified name, zero if it has not been created or has since been disposed of.
+     *
+     * @param name name of the screen
+     * @return number of references to the screen
+     */
+    public synchronized int getReferenceCount(@NonNull final String name) {
+	return referenceCounts.get(name, 0);
+    }
+
+    ITransitionScreenFactory<ITransitionScreen> transitionFactory(
+	@NonNull final String name
+    ) throws IllegalArgumentException {
+	final ITransitionScreenFactory<?> factory;
+	synchronized (this) {
+	    factory = transitionFactories.get(name);
+	}
+	if (factory == null) {
+	    throw new IllegalArgumentException(
+		"No shared transition screen registered with name: " + name
+	    );
+	}
+	return new SharedTransitionScreenFactory(this, name, factory.isThreadSafe());
+    }
+
+    IChoiceScreenFactory<IChoiceScreen> choiceFactory(
+	@NonNull final String name
+    ) throws IllegalArgumentException {
+	final IChoiceScreenFactory<?> factory;
+	synchronized (this) {
+	    factory = choiceFactories.get(name);
+	}
+	if (factory == null) {
+	    throw new IllegalArgumentException(
+		"No shared choice screen registered with name: " + name
+	    );
+	}
+	return new SharedChoiceScreenFactory(this, name, factory.isThreadSafe());
+    }
+
+    private synchronized Screen acquire(@NonNull final String name) {
+	Screen screen = screens.get(name);
+	if (screen == null) {
+	    screen = transitionFactories.containsKey(name) ?
+		transitionFactories.get(name).create() : choiceFactories.get(name).create();
+	    screens.put(name, screen);
+	    screenNames.put(screen, name);
+	}
+	referenceCounts.getAndIncrement(name, 0, 1);
+	return screen;
+    }
+
+    /**
+     * Release a reference to the specified screen, disposing of it if it was the last.
+     *
+     * @param screen screen to release
+     * @return number of references remaining, or -1 if the screen was not created by this registry
+     */
+    synchronized int release(@NonNull final Screen screen) {
+	final String name = screenNames.get(screen);
+	if (name == null) {
+	    return -1;
+	}
+	final int remaining = referenceCounts.getAndIncrement(name, 0, -1) - 1;
+	if (remaining == 0) {
+	    referenceCounts.remove(name, 0);
+	    screens.remove(name);
+	    screenNames.remove(screen);
+	    screen.dispose();
+	}
+	return remaining;
+    }
+
+    private static final class SharedTransitionScreenFactory
+	implements ITransitionScreenFactory<ITransitionScreen> {
+
+	@NonNull
+	private final SharedScreenRegistry registry;
+	@NonNull
+	private final String name;
+	private final boolean threadSafe;
+
+	private SharedTransitionScreenFactory(
+	    @NonNull final SharedScreenRegistry registry,
+	    @NonNull final String name,
+	    final boolean threadSafe
+	) {
+	    this.registry = registry;
+	    this.name = name;
+	    this.threadSafe = threadSafe;
+	}
+
+	@Override
+	public ITransitionScreen create() {
+	    return (ITransitionScreen) registry.acquire(name);
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+	    return threadSafe;
+	}
+
+	// Equal factories keep their screen when a controller is reloaded
+	@Override
+	public boolean equals(final Object other) {
+	    return other instanceof SharedTransitionScreenFactory &&
+		((SharedTransitionScreenFactory) other).registry == registry &&
+		((SharedTransitionScreenFactory) other).name.equals(name);
+	}
+
+	@Override
+	public int hashCode() {
+	    return 31 * System.identityHashCode(registry) + name.hashCode();
+	}
+    }
+
+    private static final class SharedChoiceScreenFactory
+	implements IChoiceScreenFactory<IChoiceScreen> {
+
+	@NonNull
+	private final SharedScreenRegistry registry;
+	@NonNull
+	private final String name;
+	private final boolean threadSafe;
+
+	private SharedChoiceScreenFactory(
+	    @NonNull final SharedScreenRegistry registry,
+	    @NonNull final String name,
+	    final boolean threadSafe
+	) {
+	    this.registry = registry;
+	    this.name = name;
+	    this.threadSafe = threadSafe;
+	}
+
+	@Override
+	public IChoiceScreen create() {
+	    return (IChoiceScreen) registry.acquire(name);
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+	    return threadSafe;
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+	    return other instanceof SharedChoiceScreenFactory &&
+		((SharedChoiceScreenFactory) other).registry == registry &&
+		((SharedChoiceScreenFactory) other).name.equals(name);
+	}
+
+	@Override
+	public int hashCode() {
+	    return 31 * System.identityHashCode(registry) + name.hashCode();
+	}
+    }
+}
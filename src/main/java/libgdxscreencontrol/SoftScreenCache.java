@@ -0,0 +1,112 @@
+package libgdxscreencontrol;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+
+import javax.annotation.Nullable;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.google.common.annotations.VisibleForTesting;
+
+import lombok.NonNull;
+
+/**
+ * Tracks inactive screens which may be given up when the JVM is low on heap space.
+ * <p>
+ * A screen cannot be disposed once the garbage collector has cleared a reference to it, so screens are not referenced softly themselves. Instead each retained screen is paired with a softly referenced token which nothing else references. The JVM clears these tokens under heap pressure, after which <code>poll()</code> returns the name of the screen so that its owner can dispose of it and drop its last strong reference.
+ */
+class SoftScreenCache {
+
+    @NonNull
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    @NonNull
+    private final ObjectMap<String, Token> tokens = new ObjectMap<>();
+
+    /**
+     * Allow the screen with the specified name to be given up under heap pressure.
+     *
+     * @param name name of the screen
+     */
+    void retain(@NonNull final String name) {
+	if (!tokens.containsKey(name)) {
+	    tokens.put(name, new Token(name, new Object(), queue));
+	}
+    }
+
+    /**
+     * Stop the screen with the specified name from being given up, for example because it has become active.
+     *
+     * @param name name of the screen
+     */
+    void release(@NonNull final String name) {
+	final Token token = tokens.remove(name);
+	if (token != null) {
+	    token.clear();
+	}
+    }
+
+    /**
+     * Return true if the screen with the specified name may be given up under heap pressure, else false.
+     *
+     * @param name name of the screen
+     * @return true if the screen is retained, else false
+     */
+    boolean isRetained(@NonNull final String name) {
+	return tokens.containsKey(name);
+    }
+
+    /**
+     * Get the name of a retained screen which should be given up, or null if there is none. The screen is no longer retained once returned.
+     *
+     * @return name of a screen to give up or null
+     */
+    @Nullable
+    String poll() {
+	Token token;
+	while ((token = (Token) queue.poll()) != null) {
+	    if (tokens.get(token.name) == token) {
+		tokens.remove(token.name);
+		return token.name;
+	    }
+	}
+	return null;
+    }
+
+    /**
+     * Stop retaining every screen.
+     */
+    void clear() {
+	for (Token token : tokens.values()) {
+	    token.clear();
+	}
+	tokens.clear();
+    }
+
+    /**
+     * Behave as though the JVM has cleared the token of the screen with the specified name.
+     *
+     * @param name name of the screen
+     */
+    @VisibleForTesting
+    void simulateCollection(@NonNull final String name) {
+	final Token token = tokens.get(name);
+	if (token != null) {
+	    token.enqueue();
+	}
+    }
+
+    private static final class Token extends SoftReference<Object> {
+
+	@NonNull
+	private final String name;
+
+	private Token(
+	    @NonNull final String name,
+	    @NonNull final Object referent,
+	    @NonNull final ReferenceQueue<Object> queue
+	) {
+	    super(referent, queue);
+	    this.name = name;
+	}
+    }
+}
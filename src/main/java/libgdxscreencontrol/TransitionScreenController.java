@@ -1,11 +1,16 @@
 package libgdxscreencontrol;
 
+import java.util.function.IntFunction;
+
 import javax.annotation.Nullable;
 
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
 
 import libgdxscreencontrol.screen.ITransitionScreen;
 import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFamilyFactory;
 import lombok.NonNull;
 
 /**
@@ -13,14 +18,22 @@ import lombok.NonNull;
  */
 public class TransitionScreenController {
 
+    // Not final, as a controller replacing this one takes over its screens
     @NonNull
-    private final ObjectMap<String, ITransitionScreen> transitionScreens =
+    private ObjectMap<String, ITransitionScreen> transitionScreens =
 	new ObjectMap<>();
     @NonNull
     private final ObjectMap<String, ITransitionScreenFactory<?>>
 	transitionScreenFactories = new ObjectMap<>();
     @NonNull
     private final ObjectMap<String, String> transitionMap = new ObjectMap<>();
+    @NonNull
+    private final Array<ScreenFamily<ITransitionScreenFamilyFactory<?>>> families = new Array<>();
+    @NonNull
+    private ObjectMap<String, ITransitionScreen> familyScreens = new ObjectMap<>();
+    @NonNull
+    private final ObjectMap<String, IntFunction<String>> familyTransitionMap =
+	new ObjectMap<>();
 
     /**
      * Add the specified screen with the specified name to this controller.
@@ -46,6 +59,117 @@ public class TransitionScreenController {
 	transitionScreenFactories.put(name, factory);
     }
 
+    /**
+     * Add a family of screens created by the specified factory, with a member named <code>family/parameter</code> for each parameter from first to last inclusive. Each member is created by the factory when it is first needed, so only the members visited hold any state. A screen added with the name of a member takes precedence over the member.
+     *
+     * @param family name of the family
+     * @param first first parameter of the family
+     * @param last last parameter of the family
+     * @param factory
+     * @throws IllegalArgumentException if first is negative or greater than last, or a family has already been added with the specified name
+     */
+    public void addFamily(
+	@NonNull final String family,
+	final int first,
+	final int last,
+	@NonNull final ITransitionScreenFamilyFactory<?> factory
+    ) throws IllegalArgumentException {
+	if (hasFamily(family)) {
+	    throw new IllegalArgumentException(
+		"A family with name: " + family + " has already been added"
+	    );
+	}
+	families.add(new ScreenFamily<>(family, first, last, factory));
+    }
+
+    /**
+     * Return true if a family has been added with the specified name, else false.
+     *
+     * @param family name of the family
+     * @return true if a family has been added with the name, else false
+     */
+    public boolean hasFamily(@NonNull final String family) {
+	return indexOfFamily(family) != -1;
+    }
+
+    /**
+     * Remove the family with the specified name, along with its transition and any of its members which have been created. Does nothing if no family has been added with the name.
+     *
+     * @param family name of the family
+     */
+    public void removeFamily(@NonNull final String family) {
+	final int index = indexOfFamily(family);
+	if (index == -1) {
+	    return;
+	}
+	final ScreenFamily<?> screenFamily = families.removeIndex(index);
+	for (String name : familyScreens.keys().toArray()) {
+	    if (screenFamily.contains(name)) {
+		familyScreens.remove(name);
+	    }
+	}
+	familyTransitionMap.remove(family);
+    }
+
+    private int indexOfFamily(@NonNull final String family) {
+	for (int i = 0; i < families.size; i++) {
+	    if (families.get(i).name.equals(family)) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    // Linear in the number of families, and does not allocate
+    @Nullable
+    private ScreenFamily<ITransitionScreenFamilyFactory<?>> familyOf(@NonNull final String name) {
+	for (int i = 0; i < families.size; i++) {
+	    if (families.get(i).contains(name)) {
+		return families.get(i);
+	    }
+	}
+	return null;
+    }
+
+    // Returns the family of the specified name, unless a screen has been added with the name
+    @Nullable
+    private ScreenFamily<ITransitionScreenFamilyFactory<?>> memberFamilyOf(
+	@NonNull final String name
+    ) {
+	if (families.size == 0 || transitionScreens.containsKey(name) ||
+	    transitionScreenFactories.containsKey(name)) {
+	    return null;
+	}
+	return familyOf(name);
+    }
+
+    /**
+     * Set the function giving the name of the screen to follow each member of the specified family from the member's parameter, for example <code>i -> "level/" + (i + 1)</code>. The function is called each time a member finishes.
+     *
+     * @param family name of the family
+     * @param successor function from parameter to the name of the following screen
+     * @throws IllegalArgumentException if no family has been added with the specified name
+     */
+    public void setFamilyTransition(
+	@NonNull final String family, @NonNull final IntFunction<String> successor
+    ) throws IllegalArgumentException {
+	if (hasFamily(family)) {
+	    familyTransitionMap.put(family, successor);
+	}
+	else {
+	    throw new IllegalArgumentException("No family exists with name: " + family);
+	}
+    }
+
+    @Nullable
+    private IntFunction<String> familyTransitionOf(@NonNull final String name) {
+	if (familyTransitionMap.size == 0) {
+	    return null;
+	}
+	final ScreenFamily<?> family = memberFamilyOf(name);
+	return family == null ? null : familyTransitionMap.get(family.name);
+    }
+
     /**
      * Get the name of the screen which succeeds the specified {@link ITransitionScreen}
      *
@@ -58,6 +182,10 @@ public class TransitionScreenController {
     ) throws IllegalArgumentException {
 	if (transitionMap.containsKey(transitionScreenName)) {
 	    return transitionMap.get(transitionScreenName);
+	}
+	final IntFunction<String> successor = familyTransitionOf(transitionScreenName);
+	if (successor != null) {
+	    return successor.apply(ScreenFamily.parameterOf(transitionScreenName));
 	} else {
 	    throw new IllegalArgumentException(
 		"A screen with name: " + transitionScreenName +
@@ -66,6 +194,18 @@ public class TransitionScreenController {
 	}
     }
 
+    /**
+     * Return true if a screen has been set to follow the specified {@link ITransitionScreen}, else false. False is returned if transitionScreenName is null.
+     *
+     * @param transitionScreenName
+     * @return true if a following screen has been set, else false
+     */
+    public boolean hasTransition(@Nullable final String transitionScreenName) {
+	return transitionScreenName != null &&
+	    (transitionMap.containsKey(transitionScreenName) ||
+	     familyTransitionOf(transitionScreenName) != null);
+    }
+
     /**
      * Return true if the specified name belongs to a screen, else false. False is returned if name is null.
      *
@@ -77,7 +217,9 @@ public class TransitionScreenController {
 	    return false;
 	}
 	else if (transitionScreens.containsKey(name) ||
-		 transitionScreenFactories.containsKey(name)){
+		 transitionScreenFactories.containsKey(name) ||
+		 familyScreens.containsKey(name) ||
+		 familyOf(name) != null){
 	    return true;
 	}
 	else {
@@ -85,6 +227,344 @@ public class TransitionScreenController {
 	}
     }
 
+    /**
+     * Return true if the screen registered with the specified name has been created, either by its factory or because it was added as an instance, else false. False is returned if name is null.
+     *
+     * @param name
+     * @return true if the screen registered with the specified name has been created, else false
+     */
+    public boolean isCreated(@Nullable final String name) {
+	return name != null &&
+	    (transitionScreens.containsKey(name) || familyScreens.containsKey(name));
+    }
+
+    /**
+     * Return true if the screen with the specified name is created from a factory, either one added with the name or that of the family the screen is a member of, else false.
+     *
+     * @param name
+     * @return true if the screen is created from a factory, else false
+     */
+    public boolean hasFactory(@NonNull final String name) {
+	return transitionScreenFactories.containsKey(name) || memberFamilyOf(name) != null;
+    }
+
+    /**
+     * Get the factory the screen with the specified name is created from, or null if the screen was added as an instance. For a member of a family, a factory is returned which creates the member from the family's factory.
+     *
+     * @param name
+     * @return factory of the screen or null
+     */
+    @Nullable
+    public ITransitionScreenFactory<?> getFactory(@NonNull final String name) {
+	if (transitionScreenFactories.containsKey(name)) {
+	    return transitionScreenFactories.get(name);
+	}
+	final ScreenFamily<ITransitionScreenFamilyFactory<?>> family = memberFamilyOf(name);
+	if (family == null) {
+	    return null;
+	}
+	final int parameter = ScreenFamily.parameterOf(name);
+	return new ITransitionScreenFactory<ITransitionScreen>() {
+
+	    @Override
+	    public ITransitionScreen create() {
+		return family.factory.create(parameter);
+	    }
+
+	    @Override
+	    public boolean isThreadSafe() {
+		return family.factory.isThreadSafe();
+	    }
+	};
+    }
+
+    /**
+     * Set the screen created from the factory added with the specified name, for screens created outside of this object, for example on another thread.
+     *
+     * @param name
+     * @param screen screen created by the factory
+     * @throws IllegalArgumentException if no factory has been added with the specified name, and it does not name a member of a family
+     */
+    public void setCreated(
+	@NonNull final String name, @NonNull final ITransitionScreen screen
+    ) throws IllegalArgumentException {
+	if (transitionScreenFactories.containsKey(name)) {
+	    transitionScreens.put(name, screen);
+	}
+	else if (hasFactory(name)) {
+	    familyScreens.put(name, screen);
+	}
+	else {
+	    throw new IllegalArgumentException("No screen factory exists with name: " + name);
+	}
+    }
+
+    /**
+     * Return true if the specified name is that of a member of a family, rather than of a screen added with the name, else false.
+     *
+     * @param name
+     * @return true if name belongs to a family member, else false
+     */
+    boolean isFamilyMember(@NonNull final String name) {
+	return memberFamilyOf(name) != null;
+    }
+
+    /**
+     * Get the names of the families of this controller which the specified controller does not hold, or holds with a different range or factory.
+     *
+     * @param next controller to compare against
+     * @return names of families removed or changed in next
+     */
+    Array<String> getChangedFamilyNames(@NonNull final TransitionScreenController next) {
+	final Array<String> names = new Array<>();
+	for (ScreenFamily<ITransitionScreenFamilyFactory<?>> family : families) {
+	    final int index = next.indexOfFamily(family.name);
+	    if (index == -1 || !family.isSameAs(next.families.get(index))) {
+		names.add(family.name);
+	    }
+	}
+	return names;
+    }
+
+    /**
+     * Get the names of the members of the specified family which have been created.
+     *
+     * @param family name of the family
+     * @return names of created members, empty if no family has been added with the name
+     */
+    Array<String> getCreatedMemberNames(@NonNull final String family) {
+	final Array<String> names = new Array<>();
+	final int index = indexOfFamily(family);
+	if (index == -1) {
+	    return names;
+	}
+	for (String name : familyScreens.keys()) {
+	    if (families.get(index).contains(name)) {
+		names.add(name);
+	    }
+	}
+	return names;
+    }
+
+    /**
+     * Take the screens of the specified controller, which this one replaces, apart from those with the specified discarded names. Its screens are taken over without copying, along with the instances this controller holds for the specified changed names, so the cost depends only on the number of names which changed.
+     *
+     * @param from controller being replaced
+     * @param changedNames names of screens which differ between the two controllers
+     * @param discardedNames names of screens of from which have been discarded
+     */
+    void takeScreens(
+	@NonNull final TransitionScreenController from,
+	@NonNull final ObjectSet<String> changedNames,
+	@NonNull final ObjectSet<String> discardedNames
+    ) {
+	for (String name : discardedNames) {
+	    from.transitionScreens.remove(name);
+	    from.familyScreens.remove(name);
+	}
+	for (String name : changedNames) {
+	    if (transitionScreens.containsKey(name) && !transitionScreenFactories.containsKey(name)) {
+		from.transitionScreens.put(name, transitionScreens.get(name));
+	    }
+	}
+	final ObjectMap<String, ITransitionScreen> screens = transitionScreens;
+	transitionScreens = from.transitionScreens;
+	from.transitionScreens = screens;
+	final ObjectMap<String, ITransitionScreen> members = familyScreens;
+	familyScreens = from.familyScreens;
+	from.familyScreens = members;
+    }
+
+    /**
+     * Move the screens created from factories, including members of families, from the specified controller to this one, for example from a copy of this controller, whose screens it then no longer holds.
+     *
+     * @param from controller holding the created screens
+     */
+    void moveCreatedScreens(@NonNull final TransitionScreenController from) {
+	for (ObjectMap.Entry<String, ITransitionScreen> entry : from.transitionScreens) {
+	    if (from.transitionScreenFactories.containsKey(entry.key) &&
+		transitionScreenFactories.containsKey(entry.key)) {
+		transitionScreens.put(entry.key, entry.value);
+	    }
+	}
+	for (ObjectMap.Entry<String, ITransitionScreen> entry : from.familyScreens) {
+	    if (isFamilyMember(entry.key)) {
+		familyScreens.put(entry.key, entry.value);
+	    }
+	}
+	from.clearCreated();
+    }
+
+    /**
+     * Forget the screens created from factories, including members of families, so they are created again when next needed, for example because they have been disposed of. Screens added as instances are kept.
+     */
+    public void clearCreated() {
+	for (String name : transitionScreenFactories.keys()) {
+	    transitionScreens.remove(name);
+	}
+	familyScreens.clear();
+    }
+
+    /**
+     * Create a copy of this controller holding the same screens added as instances, factories, families and transitions, but not the screens created from factories.
+     *
+     * @return copy of this controller
+     */
+    public TransitionScreenController copy() {
+	final TransitionScreenController copy = new TransitionScreenController();
+	copy.transitionScreenFactories.putAll(transitionScreenFactories);
+	copy.families.addAll(families);
+	for (ObjectMap.Entry<String, ITransitionScreen> entry : transitionScreens) {
+	    if (!transitionScreenFactories.containsKey(entry.key)) {
+		copy.transitionScreens.put(entry.key, entry.value);
+	    }
+	}
+	copy.transitionMap.putAll(transitionMap);
+	copy.familyTransitionMap.putAll(familyTransitionMap);
+	return copy;
+    }
+
+    /**
+     * Add the screens added as instances, factories, families and transitions of the specified controller to this one, under their names in the specified namespace. Screens created from factories are not added, so are created again when needed.
+     *
+     * @param from controller of the sub-graph
+     * @param namespace names of the sub-graph in this controller
+     * @throws IllegalArgumentException if a transition leads to a screen which is neither in the sub-graph nor mapped to an exit
+     */
+    void embed(
+	@NonNull final TransitionScreenController from, @NonNull final ScreenNamespace namespace
+    ) throws IllegalArgumentException {
+	for (ObjectMap.Entry<String, String> entry : from.transitionMap) {
+	    transitionMap.put(namespace.name(entry.key), namespace.target(entry.value));
+	}
+	for (ObjectMap.Entry<String, ITransitionScreenFactory<?>> entry :
+		 from.transitionScreenFactories) {
+	    transitionScreenFactories.put(namespace.name(entry.key), entry.value);
+	}
+	for (ObjectMap.Entry<String, ITransitionScreen> entry : from.transitionScreens) {
+	    if (!from.transitionScreenFactories.containsKey(entry.key)) {
+		transitionScreens.put(namespace.name(entry.key), entry.value);
+	    }
+	}
+	for (ScreenFamily<ITransitionScreenFamilyFactory<?>> family : from.families) {
+	    families.add(new ScreenFamily<>(
+		namespace.name(family.name), family.first, family.last, family.factory
+	    ));
+	}
+	for (ObjectMap.Entry<String, IntFunction<String>> entry : from.familyTransitionMap) {
+	    familyTransitionMap.put(namespace.name(entry.key), namespace.targets(entry.value));
+	}
+    }
+
+    /**
+     * Get the names of all families added to this controller.
+     *
+     * @return names of families added
+     */
+    public Array<String> getFamilyNames() {
+	final Array<String> names = new Array<>();
+	for (ScreenFamily<?> family : families) {
+	    names.add(family.name);
+	}
+	return names;
+    }
+
+    /**
+     * Get the names of all screens added to this controller, and of the members of families which have been created.
+     *
+     * @return names of screens added and family members created
+     */
+    public Array<String> getNames() {
+	final Array<String> names = new Array<>();
+	for (String name : transitionScreenFactories.keys()) {
+	    names.add(name);
+	}
+	for (String name : transitionScreens.keys()) {
+	    if (!transitionScreenFactories.containsKey(name)) {
+		names.add(name);
+	    }
+	}
+	for (String name : familyScreens.keys()) {
+	    names.add(name);
+	}
+	return names;
+    }
+
+    /**
+     * Get the object the screen with the specified name was added with, its factory if it was added with one or the factory of its family if it is a family member, else the screen itself.
+     *
+     * @param name
+     * @return factory or screen added with name, or null if no screen has been added with name
+     */
+    @Nullable
+    public Object getRegistration(@NonNull final String name) {
+	if (transitionScreenFactories.containsKey(name)) {
+	    return transitionScreenFactories.get(name);
+	}
+	else if (transitionScreens.containsKey(name)) {
+	    return transitionScreens.get(name);
+	}
+	else {
+	    final ScreenFamily<ITransitionScreenFamilyFactory<?>> family = memberFamilyOf(name);
+	    return family == null ? null : family.factory;
+	}
+    }
+
+    /**
+     * Remove the screen with the specified name from this controller, along with the transition from it. Does nothing if no screen has been added with the name.
+     *
+     * @param name
+     */
+    public void remove(@NonNull final String name) {
+	transitionScreenFactories.remove(name);
+	transitionScreens.remove(name);
+	familyScreens.remove(name);
+	transitionMap.remove(name);
+    }
+
+    /**
+     * Remove the screen set to follow the specified {@link ITransitionScreen}, if any.
+     *
+     * @param transitionScreenName
+     */
+    public void removeTransition(@NonNull final String transitionScreenName) {
+	transitionMap.remove(transitionScreenName);
+    }
+
+    /**
+     * Get the names of screens which have been created from factories added to this object, including members of families, and so can be removed with <code>evict()</code>.
+     *
+     * @return names of screens created from factories
+     */
+    public Array<String> getEvictableNames() {
+	final Array<String> names = new Array<>();
+	for (String name : transitionScreenFactories.keys()) {
+	    if (transitionScreens.containsKey(name)) {
+		names.add(name);
+	    }
+	}
+	for (String name : familyScreens.keys()) {
+	    names.add(name);
+	}
+	return names;
+    }
+
+    /**
+     * Remove the screen created from the factory added with the specified name, or from the factory of its family, so that the factory creates it again when it is next needed. Screens added as instances are never removed.
+     *
+     * @param name
+     * @return removed screen, or null if the screen has not been created or was added as an instance
+     */
+    @Nullable
+    public ITransitionScreen evict(@NonNull final String name) {
+	if (transitionScreenFactories.containsKey(name)) {
+	    return transitionScreens.remove(name);
+	}
+	else {
+	    return familyScreens.remove(name);
+	}
+    }
+
     /**
      * Get the {@link ITransitionScreen} object registered with the specified name.
      *
@@ -99,7 +579,15 @@ public class TransitionScreenController {
 	else if (transitionScreenFactories.containsKey(name)) {
 	    final ITransitionScreen screen = transitionScreenFactories.get(name).create();
 	    transitionScreens.put(name, screen);
-	    transitionScreenFactories.remove(name);
+	    return screen;
+	}
+	else if (familyScreens.containsKey(name)) {
+	    return familyScreens.get(name);
+	}
+	final ScreenFamily<ITransitionScreenFamilyFactory<?>> family = memberFamilyOf(name);
+	if (family != null) {
+	    final ITransitionScreen screen = family.factory.create(ScreenFamily.parameterOf(name));
+	    familyScreens.put(name, screen);
 	    return screen;
 	}
 	else {
@@ -0,0 +1,267 @@
+package libgdxscreencontrol;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+
+/**
+ * Stream of the changes of active screen made by a {@link ScreenController}, for consumers on other threads such as analytics. Pass an instance to <code>ScreenControllerBuilder.withTransitionStream()</code>, and read it through any number of {@link Cursor}s.
+ * <p>
+ * Transitions are published by the render thread into a preallocated ring buffer of primitive records, without allocating or locking. Each record holds the kind of the change, the ids of the screens left and shown, the choice made or trigger fired, the value of <code>System.nanoTime()</code> and the frame number of the controller. The ring holds the most recent <code>getCapacity()</code> records: when it is full, publishing overwrites the oldest record, so a cursor which falls more than a full ring behind skips the records it missed, and counts them in <code>getLostCount()</code>.
+ */
+public class TransitionStream {
+
+    /**
+     * Kind of a record in which a finished {@link libgdxscreencontrol.screen.ITransitionScreen} was followed by its successor.
+     */
+    public static final byte TRANSITION = SessionRecording.TRANSITION;
+    /**
+     * Kind of a record in which a finished {@link libgdxscreencontrol.screen.IChoiceScreen} was followed by the screen of its choice.
+     */
+    public static final byte CHOICE = SessionRecording.CHOICE;
+    /**
+     * Kind of a record made by <code>back()</code>.
+     */
+    public static final byte BACK = SessionRecording.BACK;
+    /**
+     * Kind of a record made by a switch requested with <code>goTo()</code>.
+     */
+    public static final byte GO_TO = SessionRecording.GO_TO;
+    /**
+     * Kind of a record made by a global or group transition requested with <code>fire()</code>, whose trigger is read with <code>Cursor.getTrigger()</code>.
+     */
+    public static final byte GLOBAL = SessionRecording.GLOBAL;
+
+    // Each slot holds its sequence number, kind and choice or trigger, screen ids, timestamp and frame
+    private static final int STRIDE = 5;
+    private static final long WRITING = -1;
+
+    @NonNull
+    private final AtomicLongArray slots;
+    private final int capacity;
+    private final int mask;
+    private volatile long published;
+    @NonNull
+    private volatile String[] names = new String[0];
+
+    /**
+     * Create a stream holding at least the specified number of records, rounded up to a power of two.
+     *
+     * @param capacity minimum number of records held
+     * @throws IllegalArgumentException if capacity is not positive or greater than 2^30
+     */
+    public TransitionStream(final int capacity) throws IllegalArgumentException {
+	if (capacity <= 0 || capacity > 1 << 30) {
+	    throw new IllegalArgumentException(
+		"Capacity must be between 1 and 2^30, got: " + capacity
+	    );
+	}
+	int rounded = 1;
+	while (rounded < capacity) {
+	    rounded <<= 1;
+	}
+	this.capacity = rounded;
+	this.mask = this.capacity - 1;
+	this.slots = new AtomicLongArray(this.capacity * STRIDE);
+	for (int i = 0; i < this.capacity; i++) {
+	    slots.set(i * STRIDE, WRITING);
+	}
+    }
+
+    void publish(
+	final byte kind,
+	final int fromId,
+	final int toId,
+	final int value,
+	final long timestamp,
+	final long frame
+    ) {
+	final long sequence = published;
+	final int base = (int) (sequence & mask) * STRIDE;
+	// The volatile write orders the marker before the ordered writes of the record
+	slots.set(base, WRITING);
+	slots.lazySet(base + 1, (long) kind << 32 | value & 0xffffffffL);
+	slots.lazySet(base + 2, (long) fromId << 32 | toId & 0xffffffffL);
+	slots.lazySet(base + 3, timestamp);
+	slots.lazySet(base + 4, frame);
+	slots.lazySet(base, sequence);
+	published = sequence + 1;
+    }
+
+    void putName(final int id, @NonNull final String name) {
+	final String[] copy = new String[Math.max(id + 1, names.length)];
+	System.arraycopy(names, 0, copy, 0, names.length);
+	copy[id] = name;
+	names = copy;
+    }
+
+    /**
+     * Get the name of the screen with the specified id, as found in records of this stream. May be called from any thread.
+     *
+     * @param id id of the screen
+     * @return name of the screen, or null if no screen has the id
+     */
+    @Nullable
+    public String getScreenName(final int id) {
+	final String[] current = names;
+	return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    /**
+     * Get the number of records held by this stream.
+     *
+     * @return capacity of this stream
+     */
+    public int getCapacity() {
+	return capacity;
+    }
+
+    /**
+     * Get the number of records published to this stream since it was created.
+     *
+     * @return number of records published
+     */
+    public long getPublishedCount() {
+	return published;
+    }
+
+    /**
+     * Create a cursor positioned at the oldest record this stream still holds. A cursor must only be used by one thread at a time, but any number of cursors may read this stream concurrently.
+     *
+     * @return new cursor
+     */
+    public Cursor newCursor() {
+	return new Cursor(Math.max(0, published - capacity));
+    }
+
+    /**
+     * Position of a single consumer in a {@link TransitionStream}. <code>next()</code> moves the cursor to the next record, whose fields are then available through its getters.
+     */
+    public final class Cursor {
+
+	private long next;
+	private long lost;
+	private byte kind;
+	private int fromId;
+	private int toId;
+	private int value;
+	private long timestamp;
+	private long frame;
+
+	private Cursor(final long next) {
+	    this.next = next;
+	}
+
+	/**
+	 * Move to the next record, if one has been published. Records overwritten before this cursor could read them are skipped and added to the lost count. Does not allocate or block.
+	 *
+	 * @return true if this cursor moved to a record, false if it has read every record published
+	 */
+	public boolean next() {
+	    while (true) {
+		final long head = published;
+		if (next >= head) {
+		    return false;
+		}
+		if (head - next > capacity) {
+		    lost += head - capacity - next;
+		    next = head - capacity;
+		}
+		final int base = (int) (next & mask) * STRIDE;
+		final long before = slots.get(base);
+		final long kindAndValue = slots.get(base + 1);
+		final long ids = slots.get(base + 2);
+		final long readTimestamp = slots.get(base + 3);
+		final long readFrame = slots.get(base + 4);
+		final long after = slots.get(base);
+		if (before == next && after == next) {
+		    kind = (byte) (kindAndValue >>> 32);
+		    value = (int) kindAndValue;
+		    fromId = (int) (ids >>> 32);
+		    toId = (int) ids;
+		    timestamp = readTimestamp;
+		    frame = readFrame;
+		    next++;
+		    return true;
+		}
+		// Overwritten while being read
+		lost++;
+		next++;
+	    }
+	}
+
+	/**
+	 * Get the number of records this cursor has skipped because they were overwritten before it read them.
+	 *
+	 * @return number of records lost
+	 */
+	public long getLostCount() {
+	    return lost;
+	}
+
+	/**
+	 * Get the kind of the current record, one of {@link TransitionStream#TRANSITION}, {@link TransitionStream#CHOICE}, {@link TransitionStream#BACK}, {@link TransitionStream#GO_TO} or {@link TransitionStream#GLOBAL}.
+	 *
+	 * @return kind of the current record
+	 */
+	public byte getKind() {
+	    return kind;
+	}
+
+	/**
+	 * Get the id of the screen left in the current record, see <code>getScreenName()</code> of the stream.
+	 *
+	 * @return id of the screen left
+	 */
+	public int getFromId() {
+	    return fromId;
+	}
+
+	/**
+	 * Get the id of the screen shown in the current record, see <code>getScreenName()</code> of the stream.
+	 *
+	 * @return id of the screen shown
+	 */
+	public int getToId() {
+	    return toId;
+	}
+
+	/**
+	 * Get the choice made in the current record, or -1 if it is not of kind {@link TransitionStream#CHOICE}.
+	 *
+	 * @return choice made or -1
+	 */
+	public int getChoice() {
+	    return kind == CHOICE ? value : -1;
+	}
+
+	/**
+	 * Get the trigger fired in the current record, or -1 if it is not of kind {@link TransitionStream#GLOBAL}.
+	 *
+	 * @return trigger fired or -1
+	 */
+	public int getTrigger() {
+	    return kind == GLOBAL ? value : -1;
+	}
+
+	/**
+	 * Get the value of <code>System.nanoTime()</code> when the current record was published.
+	 *
+	 * @return timestamp in nanoseconds
+	 */
+	public long getTimestamp() {
+	    return timestamp;
+	}
+
+	/**
+	 * Get the number of the <code>update()</code> of the controller in which the current record was published, see <code>ScreenController.getFrame()</code>.
+	 *
+	 * @return frame number
+	 */
+	public long getFrame() {
+	    return frame;
+	}
+    }
+}
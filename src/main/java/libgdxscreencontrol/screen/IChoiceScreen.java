@@ -15,6 +15,34 @@ public interface IChoiceScreen extends ITransitionScreen {
     public interface IChoiceScreenFactory<T extends IChoiceScreen> {
 	
 	T create();	
+
+	/**
+	 * Return true if <code>create()</code> may be called on a thread other than the render thread, ie it makes no OpenGL calls and does not depend on other screens. Defaults to false.
+	 *
+	 * @return true if <code>create()</code> is thread safe, else false
+	 */
+	default boolean isThreadSafe() {
+	    return false;
+	}
     }
-}
 
+    public interface IChoiceScreenFamilyFactory<T extends IChoiceScreen> {
+
+	/**
+	 * Create the member of the family with the specified parameter.
+	 *
+	 * @param parameter parameter of the member
+	 * @return screen for the parameter
+	 */
+	T create(int parameter);
+
+	/**
+	 * Return true if <code>create()</code> may be called on a thread other than the render thread, ie it makes no OpenGL calls and does not depend on other screens. Defaults to false.
+	 *
+	 * @return true if <code>create()</code> is thread safe, else false
+	 */
+	default boolean isThreadSafe() {
+	    return false;
+	}
+    }
+}
@@ -19,9 +19,55 @@ public interface ITransitionScreen extends Screen {
      */
     void reset();
 
+    /**
+     * Return the approximate amount of memory held by this screen, in a unit of the application's choosing such as bytes. Used to report how much memory was freed when screens are disposed of under memory pressure. Defaults to 1.
+     *
+     * @return approximate amount of memory held by this screen
+     */
+    default long getMemoryWeight() {
+	return 1;
+    }
+
+    /**
+     * Return true if <code>reset()</code> may be called on a thread other than the render thread while this screen is inactive, ie it makes no OpenGL calls and does not share state with other screens. Used when screens are reset as they are left. Defaults to false.
+     *
+     * @return true if <code>reset()</code> is thread safe, else false
+     */
+    default boolean isResetThreadSafe() {
+	return false;
+    }
+
     public interface ITransitionScreenFactory<T extends ITransitionScreen> {
 
 	T create();
+
+	/**
+	 * Return true if <code>create()</code> may be called on a thread other than the render thread, ie it makes no OpenGL calls and does not depend on other screens. Defaults to false.
+	 *
+	 * @return true if <code>create()</code> is thread safe, else false
+	 */
+	default boolean isThreadSafe() {
+	    return false;
+	}
     }
-}
 
+    public interface ITransitionScreenFamilyFactory<T extends ITransitionScreen> {
+
+	/**
+	 * Create the member of the family with the specified parameter.
+	 *
+	 * @param parameter parameter of the member
+	 * @return screen for the parameter
+	 */
+	T create(int parameter);
+
+	/**
+	 * Return true if <code>create()</code> may be called on a thread other than the render thread, ie it makes no OpenGL calls and does not depend on other screens. Defaults to false.
+	 *
+	 * @return true if <code>create()</code> is thread safe, else false
+	 */
+	default boolean isThreadSafe() {
+	    return false;
+	}
+    }
+}
@@ -0,0 +1,32 @@
+package libgdxscreencontrol;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors for screen work off the render thread, such as eager creation, <code>ScreenControllerBuilder.withPreloadExecutor()</code> and <code>ScreenControllerBuilder.withResetExecutor()</code>. When the library is built as a multi-release jar, by passing <code>-Pjdk21Home</code> to Gradle, each task runs on its own virtual thread on Java 21 and later, so factories blocked on I/O, such as reading level data, are cheap. Otherwise, and on older runtimes, tasks share a bounded pool of platform threads. Threads of either kind never keep the application alive.
+ */
+public final class ScreenExecutors {
+
+    private ScreenExecutors() {}
+
+    /**
+     * Create an executor for factory and reset work. This version of the class, used from Java 21, starts a virtual thread for each task.
+     *
+     * @return new executor
+     */
+    public static ExecutorService newFactoryExecutor() {
+	return Executors.newThreadPerTaskExecutor(
+	    Thread.ofVirtual().name("screen-factory-", 0).factory()
+	);
+    }
+
+    /**
+     * Return true if executors created by this class run each task on its own virtual thread, else false.
+     *
+     * @return true if virtual threads are used, else false
+     */
+    public static boolean isVirtual() {
+	return true;
+    }
+}
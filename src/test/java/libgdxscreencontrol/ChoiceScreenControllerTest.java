@@ -4,6 +4,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Map;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -12,6 +14,7 @@ import org.mockito.MockitoAnnotations;
 
 import libgdxscreencontrol.screen.IChoiceScreen;
 import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
+import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFamilyFactory;
 
 public class ChoiceScreenControllerTest {
 
@@ -20,6 +23,8 @@ public class ChoiceScreenControllerTest {
     private IChoiceScreen s1, s2, s3;
     @Mock
     private IChoiceScreenFactory<IChoiceScreen> f1, f2, f3;    
+    @Mock
+    private IChoiceScreenFamilyFactory<IChoiceScreen> ff1;
 
     @Before
     public void setUp() {
@@ -87,5 +92,89 @@ public class ChoiceScreenControllerTest {
 	csController.setChoice("screen1", 1, "screen2");
 	csController.getChoice("screen2", 2);
     }
+
+    @Test
+    public void testFactoryScreenNotCreatedUntilGet() {
+	csController.add("screen1", f1);
+	assertFalse(csController.isCreated("screen1"));
+	csController.get("screen1");
+	assertTrue(csController.isCreated("screen1"));
+    }
+
+    @Test
+    public void testGetReturnsScreenSetAsCreated() {
+	csController.add("screen1", f1);
+	csController.setCreated("screen1", s2);
+	assertTrue(s2 == csController.get("screen1"));
+	Mockito.verify(f1, Mockito.never()).create();
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnSetCreatedWithoutFactory() {
+	csController.add("screen1", s1);
+	csController.setCreated("screen1", s2);
+    }
+
+    @Test
+    public void testEvictedFactoryScreenCreatedAgain() {
+	csController.add("screen1", f1);
+	Mockito.when(f1.create()).thenReturn(s1, s2);
+	csController.get("screen1");
+	assertTrue(s1 == csController.evict("screen1"));
+	assertFalse(csController.isCreated("screen1"));
+	assertTrue(s2 == csController.get("screen1"));
+    }
+
+    @Test
+    public void testScreenAddedAsInstanceNotEvicted() {
+	csController.add("screen1", s1);
+	assertTrue(csController.evict("screen1") == null);
+	assertTrue(s1 == csController.get("screen1"));
+    }
+
+    @Test
+    public void testOnlyCreatedFactoryScreensEvictable() {
+	csController.add("screen1", s1);
+	csController.add("screen2", f1);
+	csController.add("screen3", f2);
+	Mockito.when(f1.create()).thenReturn(s2);
+	csController.get("screen2");
+	assertEquals(1, csController.getEvictableNames().size);
+	assertEquals("screen2", csController.getEvictableNames().first());
+    }
     
+
+    @Test
+    public void testFamilyChoiceAppliedToParameter() {
+	csController.addFamily("shop", 0, 99, i -> s1);
+	csController.setFamilyChoice("shop", 1, i -> "level/" + i);
+	assertTrue(csController.has("shop/5"));
+	assertEquals("level/5", csController.getChoice("shop/5", 1));
+    }
+
+    @Test
+    public void testChoicesOfFamilyMemberIncludeFamilyChoices() {
+	csController.addFamily("shop", 0, 99, i -> s1);
+	csController.setFamilyChoice("shop", 1, i -> "level/" + i);
+	csController.setFamilyChoice("shop", 2, i -> "menu");
+	csController.setChoice("shop/5", 2, "credits");
+	final Map<Integer, String> choices = csController.getChoices("shop/5");
+	assertEquals(2, choices.size());
+	assertEquals("level/5", choices.get(1));
+	assertEquals("credits", choices.get(2));
+    }
+
+    @Test
+    public void testFamilyMemberCreatedWithParameter() {
+	Mockito.when(ff1.create(5)).thenReturn(s2);
+	csController.addFamily("shop", 0, 99, ff1);
+	assertTrue(s2 == csController.get("shop/5"));
+	assertTrue(csController.isCreated("shop/5"));
+	assertTrue(ff1 == csController.getRegistration("shop/5"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnChoiceOfMissingFamily() {
+	csController.setFamilyChoice("shop", 1, i -> "menu");
+    }
 }
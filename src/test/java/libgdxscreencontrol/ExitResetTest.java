@@ -0,0 +1,50 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import libgdxscreencontrol.screen.ITransitionScreen;
+
+public class ExitResetTest {
+
+    private ITransitionScreen screen;
+    private ExitReset exitReset;
+
+    @Before
+    public void setUp() {
+	screen = mock(ITransitionScreen.class);
+	exitReset = new ExitReset(screen);
+    }
+
+    @Test
+    public void testSettledAfterRunReportsReset() {
+	exitReset.run();
+	verify(screen).reset();
+	assertTrue(exitReset.settle());
+    }
+
+    @Test
+    public void testSettledBeforeRunCancelsReset() {
+	assertFalse(exitReset.settle());
+	exitReset.run();
+	verify(screen, never()).reset();
+    }
+
+    @Test
+    public void testFailedResetReportedAsNotReset() {
+	doThrow(new IllegalStateException()).when(screen).reset();
+	try {
+	    exitReset.run();
+	} catch (IllegalStateException e) {
+	    // Expected
+	}
+	assertFalse(exitReset.settle());
+    }
+}
@@ -0,0 +1,95 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import libgdxscreencontrol.FrameScheduler.IOverrunListener;
+
+public class FrameSchedulerTest {
+
+    private final IntArray ran = new IntArray();
+    @Mock
+    private IOverrunListener listener;
+
+    @Before
+    public void setUp() {
+	MockitoAnnotations.initMocks(this);
+	ran.clear();
+    }
+
+    @Test
+    public void testJobsRunInPriorityOrder() {
+	final FrameScheduler scheduler = new FrameScheduler(Long.MAX_VALUE);
+	scheduler.submit(() -> ran.add(1), FrameScheduler.LOW_PRIORITY);
+	scheduler.submit(() -> ran.add(2), FrameScheduler.HIGH_PRIORITY);
+	scheduler.submit(() -> ran.add(3), FrameScheduler.NORMAL_PRIORITY);
+	assertEquals(3, scheduler.run());
+	assertEquals(2, ran.get(0));
+	assertEquals(3, ran.get(1));
+	assertEquals(1, ran.get(2));
+    }
+
+    @Test
+    public void testJobsWithEqualPriorityRunInSubmissionOrder() {
+	final FrameScheduler scheduler = new FrameScheduler(Long.MAX_VALUE);
+	scheduler.submit(() -> ran.add(1));
+	scheduler.submit(() -> ran.add(2));
+	scheduler.run();
+	assertEquals(1, ran.get(0));
+	assertEquals(2, ran.get(1));
+    }
+
+    @Test
+    public void testOneJobRunPerCallWhenBudgetIsZero() {
+	final FrameScheduler scheduler = new FrameScheduler(0);
+	scheduler.submit(() -> ran.add(1));
+	scheduler.submit(() -> ran.add(2));
+	assertEquals(1, scheduler.run());
+	assertEquals(1, scheduler.pending());
+	assertEquals(1, scheduler.run());
+	assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    public void testOverrunReportedWhenBudgetExceeded() {
+	final FrameScheduler scheduler = new FrameScheduler(0);
+	scheduler.setOverrunListener(listener);
+	scheduler.submit(() -> ran.add(1));
+	scheduler.run();
+	verify(listener).onOverrun(anyLong(), eq(0L));
+    }
+
+    @Test
+    public void testOverrunNotReportedWithinBudget() {
+	final FrameScheduler scheduler = new FrameScheduler(Long.MAX_VALUE);
+	scheduler.setOverrunListener(listener);
+	scheduler.submit(() -> ran.add(1));
+	scheduler.run();
+	verify(listener, never()).onOverrun(anyLong(), anyLong());
+    }
+
+    @Test
+    public void testClearDiscardsPendingJobs() {
+	final FrameScheduler scheduler = new FrameScheduler(Long.MAX_VALUE);
+	scheduler.submit(() -> ran.add(1));
+	scheduler.clear();
+	assertEquals(0, scheduler.run());
+	assertTrue(ran.size == 0);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnNegativeBudget() {
+	new FrameScheduler(-1);
+    }
+}
@@ -0,0 +1,70 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GlobalTransitionControllerTest {
+
+    private GlobalTransitionController globalController;
+
+    @Before
+    public void setUp() {
+	globalController = new GlobalTransitionController();
+    }
+
+    @Test
+    public void testGlobalTargetFoundFromAnyScreen() {
+	globalController.setGlobal(1, "pause");
+	assertEquals("pause", globalController.getTarget("game", 1));
+	assertEquals("pause", globalController.getTarget("menu", 1));
+	assertNull(globalController.getTarget("game", 2));
+    }
+
+    @Test
+    public void testGroupTargetFoundOnlyFromScreensOfGroup() {
+	globalController.setGroup("online", 1, "disconnect");
+	globalController.addToGroup("online", "lobby");
+	assertEquals("disconnect", globalController.getTarget("lobby", 1));
+	assertNull(globalController.getTarget("game", 1));
+    }
+
+    @Test
+    public void testGlobalTargetFoundWhenGroupHasNoTransitionForTrigger() {
+	globalController.setGlobal(1, "pause");
+	globalController.setGroup("online", 2, "disconnect");
+	globalController.addToGroup("online", "lobby");
+	assertEquals("pause", globalController.getTarget("lobby", 1));
+    }
+
+    @Test
+    public void testTriggersRegistered() {
+	assertTrue(globalController.isEmpty());
+	globalController.setGroup("online", 2, "disconnect");
+	assertFalse(globalController.isEmpty());
+	assertTrue(globalController.hasTrigger(2));
+	assertFalse(globalController.hasTrigger(1));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnScreenAddedToSecondGroup() {
+	globalController.addToGroup("online", "lobby");
+	globalController.addToGroup("offline", "lobby");
+    }
+
+    @Test
+    public void testCopyUnaffectedByChangesToOriginal() {
+	globalController.setGroup("online", 1, "disconnect");
+	globalController.addToGroup("online", "lobby");
+	final GlobalTransitionController copy = globalController.copy();
+	globalController.setGroup("online", 1, "menu");
+	globalController.remove("lobby");
+	assertEquals("disconnect", copy.getTarget("lobby", 1));
+	assertEquals("online", copy.getGroup("lobby"));
+	assertNull(globalController.getGroup("lobby"));
+    }
+}
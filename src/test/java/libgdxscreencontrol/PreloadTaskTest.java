@@ -0,0 +1,35 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PreloadTaskTest {
+
+    @Test
+    public void testProgressIncreasesAsScreensSettled() {
+	final PreloadTask task = new PreloadTask(4);
+	assertEquals(0, task.getProgress(), 0);
+	task.settle();
+	assertEquals(0.25f, task.getProgress(), 0);
+	assertFalse(task.isDone());
+    }
+
+    @Test
+    public void testDoneWhenAllScreensSettled() {
+	final PreloadTask task = new PreloadTask(2);
+	task.settle();
+	task.settle();
+	assertTrue(task.isDone());
+	assertEquals(1, task.getProgress(), 0);
+    }
+
+    @Test
+    public void testTaskWithNoScreensDone() {
+	final PreloadTask task = new PreloadTask(0);
+	assertTrue(task.isDone());
+	assertEquals(1, task.getProgress(), 0);
+    }
+}
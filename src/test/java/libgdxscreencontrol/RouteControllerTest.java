@@ -0,0 +1,110 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+
+public class RouteControllerTest {
+
+    private RouteController routeController;
+    private boolean firstRun, loggedIn;
+
+    @Before
+    public void setUp() {
+	routeController = new RouteController();
+	firstRun = false;
+	loggedIn = false;
+    }
+
+    @Test
+    public void testAddedRouteContainedInController() {
+	routeController.add("start");
+	assertTrue(routeController.has("start"));
+	assertFalse(routeController.has("menu"));
+	assertFalse(routeController.has(null));
+    }
+
+    @Test
+    public void testNameWhichIsNotRouteResolvedToItself() {
+	assertEquals("menu", routeController.resolve("menu"));
+    }
+
+    @Test
+    public void testFirstGuardHoldingTaken() {
+	routeController.add("start");
+	routeController.addGuard("start", () -> firstRun, "tutorial");
+	routeController.addGuard("start", () -> true, "menu");
+	assertEquals("menu", routeController.resolve("start"));
+	firstRun = true;
+	assertEquals("tutorial", routeController.resolve("start"));
+    }
+
+    @Test
+    public void testDefaultTakenWhenNoGuardHolds() {
+	routeController.add("start");
+	routeController.addGuard("start", () -> firstRun, "tutorial");
+	routeController.setDefault("start", "menu");
+	assertEquals("menu", routeController.resolve("start"));
+    }
+
+    @Test
+    public void testGuardsOfInterleavedRoutesKeptSeparate() {
+	routeController.add("start");
+	routeController.add("account");
+	routeController.addGuard("account", () -> loggedIn, "profile");
+	routeController.addGuard("start", () -> firstRun, "tutorial");
+	routeController.setDefault("account", "login");
+	routeController.addGuard("start", () -> true, "account");
+	assertEquals("login", routeController.resolve("start"));
+	loggedIn = true;
+	assertEquals("profile", routeController.resolve("start"));
+	assertEquals(new Array<>(new String[] {"tutorial", "account"}),
+		     routeController.getTargets("start"));
+    }
+
+    @Test
+    public void testRemovedRouteNoLongerResolved() {
+	routeController.add("start");
+	routeController.add("account");
+	routeController.setDefault("start", "menu");
+	routeController.addGuard("account", () -> true, "profile");
+	routeController.remove("start");
+	assertFalse(routeController.has("start"));
+	assertEquals("profile", routeController.resolve("account"));
+    }
+
+    @Test
+    public void testCopyResolvedIndependently() {
+	routeController.add("start");
+	routeController.setDefault("start", "menu");
+	final RouteController copy = routeController.copy();
+	routeController.setDefault("start", "tutorial");
+	assertEquals("menu", copy.resolve("start"));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testCorrectExceptionThrownOnCycle() {
+	routeController.add("a");
+	routeController.add("b");
+	routeController.setDefault("a", "b");
+	routeController.setDefault("b", "a");
+	routeController.resolve("a");
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testCorrectExceptionThrownWhenNoGuardHoldsAndNoDefault() {
+	routeController.add("start");
+	routeController.addGuard("start", () -> firstRun, "tutorial");
+	routeController.resolve("start");
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnGuardOfMissingRoute() {
+	routeController.addGuard("start", () -> true, "menu");
+    }
+}
@@ -1,13 +1,30 @@
 package libgdxscreencontrol;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.Array;
+
 import libgdxscreencontrol.screen.IChoiceScreen;
 import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
 import libgdxscreencontrol.screen.ITransitionScreen;
@@ -158,4 +175,821 @@ public class ScreenControllerBuilderTest {
 	    .build();
     }
     
+    @Test
+    public void testEagerThreadSafeScreensCreatedOnBuild() {
+	final ITransitionScreenFactory<ITransitionScreen> factory = new ITransitionScreenFactory<ITransitionScreen>() {
+	    @Override
+	    public ITransitionScreen create() {
+		return t2;
+	    }
+
+	    @Override
+	    public boolean isThreadSafe() {
+		return true;
+	    }
+	};
+	sc.register("screen1", t1)
+	    .register("screen2", factory)
+	    .withStartingScreen("screen1")
+	    .withEagerCreation("screen2")
+	    .build();
+	assertTrue(t2 == sc.get("screen2", ITransitionScreen.class));
+    }
+
+    @Test
+    public void testEagerScreensWithoutThreadSafeFactoriesCreatedOnBuild() {
+	when(cf1.create()).thenReturn(c2);
+	sc.register("screen1", t1)
+	    .register("screen2", cf1)
+	    .withStartingScreen("screen1")
+	    .withEagerCreation("screen2")
+	    .build();
+	verify(cf1, times(1)).create();
+    }
+
+    @Test
+    public void testEagerScreenFailingToBeCreatedLeftToBeCreatedLazily() {
+	when(tf1.isThreadSafe()).thenReturn(true);
+	when(tf1.create()).thenThrow(new IllegalStateException()).thenReturn(null);
+	sc.register("screen1", t1)
+	    .register("screen2", tf1)
+	    .withStartingScreen("screen1")
+	    .withEagerCreation("screen2")
+	    .withEagerCreationTimeout(1, TimeUnit.SECONDS)
+	    .build();
+	sc.get("screen2", ITransitionScreen.class);
+	verify(tf1, times(2)).create();
+    }
+
+    @Test
+    public void testEagerScreenCreatedAfterTimeoutDisposed() throws InterruptedException {
+	final CountDownLatch release = new CountDownLatch(1);
+	final ITransitionScreenFactory<ITransitionScreen> factory = new ITransitionScreenFactory<ITransitionScreen>() {
+	    @Override
+	    public ITransitionScreen create() {
+		// Ignores interruption
+		while (release.getCount() > 0) {
+		    try {
+			release.await();
+		    } catch (InterruptedException e) {
+			// Keep creating
+		    }
+		}
+		return t2;
+	    }
+
+	    @Override
+	    public boolean isThreadSafe() {
+		return true;
+	    }
+	};
+	sc.register("screen1", t1)
+	    .register("screen2", factory)
+	    .withStartingScreen("screen1")
+	    .withEagerCreation("screen2")
+	    .withEagerCreationTimeout(10, TimeUnit.MILLISECONDS)
+	    .build();
+	release.countDown();
+	verify(t2, timeout(5000)).dispose();
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnEagerCreationOfScreenNotRegistered() {
+	sc.register("screen1", t1)
+	    .withEagerCreation("screen2");
+    }
+
+    @Test
+    public void testFamilyMembersRegistered() {
+	sc.registerTransitionFamily("level", 0, 999, i -> t1);
+	assertTrue(sc.isScreenRegistered("level/0"));
+	assertTrue(sc.isScreenRegistered("level/999"));
+	assertFalse(sc.isScreenRegistered("level/1000"));
+    }
+
+    @Test
+    public void testControllerWalksFamilyCreatingOnlyVisitedMembers() {
+	final AtomicInteger created = new AtomicInteger();
+	final ScreenController controller = sc
+	    .registerTransitionFamily("level", 0, 999, i -> {
+		    created.incrementAndGet();
+		    final ITransitionScreen screen = mock(ITransitionScreen.class);
+		    when(screen.isFinished()).thenReturn(true);
+		    return screen;
+		})
+	    .setFamilySuccession("level", i -> ScreenFamily.memberName("level", i + 1))
+	    .withStartingScreen("level/10")
+	    .build();
+	controller.update();
+	controller.update();
+	assertEquals(3, created.get());
+	assertTrue(controller.back());
+	assertEquals(3, created.get());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnFamilyRegisteredTwice() {
+	sc.registerTransitionFamily("level", 0, 9, i -> t1)
+	    .registerChoiceFamily("level", 0, 9, i -> c1);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnSuccessionOfMissingFamily() {
+	sc.setFamilySuccession("level", i -> "menu");
+    }
+
+    @Test
+    public void testRouteFollowedWithoutShowingAnyScreen() {
+	final AtomicBoolean firstRun = new AtomicBoolean(true);
+	when(t1.isFinished()).thenReturn(true);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("tutorial-screen", t2)
+	    .register("menu-screen", c1)
+	    .guard("start", firstRun::get, "tutorial-screen")
+	    .otherwise("start", "menu-screen")
+	    .setSuccession("loading-screen", "start")
+	    .withStartingScreen("loading-screen")
+	    .build();
+	assertTrue(controller.update());
+	assertTrue(t2 == controller.get());
+	controller.back();
+	firstRun.set(false);
+	assertTrue(controller.update());
+	assertTrue(c1 == controller.get());
+    }
+
+    @Test
+    public void testStartingRouteResolvedOnBuild() {
+	final ScreenController controller = sc
+	    .register("tutorial-screen", t1)
+	    .register("menu-screen", t2)
+	    .guard("start", () -> false, "tutorial-screen")
+	    .otherwise("start", "menu-screen")
+	    .withStartingScreen("start")
+	    .build();
+	assertTrue(t2 == controller.get());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnRouteNamedAfterScreen() {
+	sc.register("screen1", t1)
+	    .otherwise("screen1", "screen2");
+    }
+
+    @Test
+    public void testPreloadReachableCreatesScreensWithinHops() {
+	when(tf1.create()).thenReturn(t2);
+	when(cf1.create()).thenReturn(c2);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("menu-screen", c1)
+	    .register("game-screen", tf1)
+	    .register("shop-screen", cf1)
+	    .choice("menu-screen", "game-screen", 0)
+	    .setSuccession("game-screen", "shop-screen")
+	    .withStartingScreen("loading-screen")
+	    .build();
+	final PreloadTask task = controller.preloadReachable("menu-screen", 1);
+	assertEquals(1, task.getScreenCount());
+	assertFalse(task.isDone());
+	controller.update();
+	assertTrue(task.isDone());
+	verify(tf1, times(1)).create();
+	verify(cf1, times(0)).create();
+    }
+
+    @Test
+    public void testPreloadReachableFollowsRoutesWithoutCountingHops() {
+	when(tf1.create()).thenReturn(t2);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf1)
+	    .guard("start", () -> false, "loading-screen")
+	    .otherwise("start", "game-screen")
+	    .setSuccession("loading-screen", "start")
+	    .withStartingScreen("loading-screen")
+	    .build();
+	final PreloadTask task = controller.preloadReachable("loading-screen", 1);
+	controller.update();
+	assertTrue(task.isDone());
+	verify(tf1, times(1)).create();
+    }
+
+    @Test
+    public void testPreloadReachableCallsThreadSafeFactoriesOnExecutor() {
+	final AtomicInteger executed = new AtomicInteger();
+	when(tf1.isThreadSafe()).thenReturn(true);
+	when(tf1.create()).thenReturn(t2);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf1)
+	    .setSuccession("loading-screen", "game-screen")
+	    .withStartingScreen("loading-screen")
+	    .withPreloadExecutor(runnable -> {
+		    executed.incrementAndGet();
+		    runnable.run();
+		})
+	    .build();
+	final PreloadTask task = controller.preloadReachable("loading-screen", 3);
+	assertEquals(1, executed.get());
+	assertFalse(task.isDone());
+	controller.update();
+	assertTrue(task.isDone());
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	assertTrue(t2 == controller.get());
+	verify(tf1, times(1)).create();
+    }
+
+    @Test
+    public void testPreloadReachableCancelledByMemoryPressure() {
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf1)
+	    .setSuccession("loading-screen", "game-screen")
+	    .withStartingScreen("loading-screen")
+	    .build();
+	final PreloadTask task = controller.preloadReachable("loading-screen", 1);
+	controller.onMemoryPressure(MemoryPressure.MODERATE);
+	controller.update();
+	assertTrue(task.isDone());
+	verify(tf1, times(0)).create();
+    }
+
+    @Test
+    public void testPrepareCompletesWithCreatedScreen() throws Exception {
+	when(tf1.create()).thenReturn(t2);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf1)
+	    .withStartingScreen("loading-screen")
+	    .build();
+	final CompletableFuture<Screen> future = controller.prepare("game-screen");
+	assertFalse(future.isDone());
+	controller.update();
+	assertTrue(t2 == future.get());
+	assertTrue(t1 == controller.get());
+    }
+
+    @Test
+    public void testPrepareCreatesAndResetsScreenInSeparateJobs() {
+	when(tf1.create()).thenReturn(t2);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf1)
+	    .withStartingScreen("loading-screen")
+	    .withFrameBudget(0)
+	    .build();
+	final CompletableFuture<Screen> future = controller.prepare("game-screen");
+	controller.update();
+	verify(tf1, times(1)).create();
+	assertFalse(future.isDone());
+	controller.update();
+	assertTrue(future.isDone());
+    }
+
+    @Test
+    public void testPrepareCallsThreadSafeFactoryOnExecutor() {
+	final AtomicInteger executed = new AtomicInteger();
+	when(tf1.isThreadSafe()).thenReturn(true);
+	when(tf1.create()).thenReturn(t2);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf1)
+	    .withStartingScreen("loading-screen")
+	    .withPreloadExecutor(runnable -> {
+		    executed.incrementAndGet();
+		    runnable.run();
+		})
+	    .build();
+	final CompletableFuture<Screen> future = controller.prepare("game-screen");
+	// Preparing, then installing the created screen
+	controller.update();
+	controller.update();
+	assertEquals(1, executed.get());
+	assertTrue(t2 == future.getNow(null));
+	verify(tf1, times(1)).create();
+    }
+
+    @Test
+    public void testGoToSwitchesOnceScreenPreparedWithoutResettingAgain() {
+	when(t1.isFinished()).thenReturn(true);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("menu-screen", t2)
+	    .register("settings-screen", c1)
+	    .setSuccession("loading-screen", "menu-screen")
+	    .withStartingScreen("loading-screen")
+	    .build();
+	controller.update();
+	controller.goTo("loading-screen");
+	assertTrue(controller.update());
+	assertTrue(t1 == controller.get());
+	verify(t1, times(1)).reset();
+	assertTrue(controller.back());
+	assertTrue(t2 == controller.get());
+    }
+
+    @Test
+    public void testGoToActiveScreenDoesNothing() {
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("menu-screen", t2)
+	    .withStartingScreen("loading-screen")
+	    .build();
+	controller.goTo("loading-screen");
+	assertFalse(controller.update());
+	assertTrue(t1 == controller.get());
+	verify(t1, times(0)).reset();
+	assertFalse(controller.canGoBack());
+    }
+
+    @Test
+    public void testLaterGoToReplacesEarlierOne() {
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("menu-screen", t2)
+	    .register("settings-screen", c1)
+	    .withStartingScreen("loading-screen")
+	    .build();
+	controller.goTo("menu-screen");
+	controller.goTo("settings-screen");
+	assertTrue(controller.update());
+	assertTrue(c1 == controller.get());
+	assertFalse(controller.update());
+    }
+
+    @Test
+    public void testGoToAbandonedWhenScreenCannotBePrepared() {
+	when(tf1.create()).thenThrow(new IllegalStateException());
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf1)
+	    .withStartingScreen("loading-screen")
+	    .build();
+	final CompletableFuture<Screen> future = controller.goTo("game-screen");
+	assertFalse(controller.update());
+	assertTrue(future.isCompletedExceptionally());
+	assertTrue(t1 == controller.get());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnGoToScreenNotRegistered() {
+	sc.register("loading-screen", t1)
+	    .withStartingScreen("loading-screen")
+	    .build()
+	    .goTo("not-a-screen");
+    }
+
+    @Test
+    public void testTransitionsPublishedToStream() {
+	final TransitionStream stream = new TransitionStream(16);
+	when(t1.isFinished()).thenReturn(true);
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(2);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("menu-screen", c1)
+	    .register("game-screen", t2)
+	    .setSuccession("loading-screen", "menu-screen")
+	    .choice("menu-screen", "game-screen", 2)
+	    .withStartingScreen("loading-screen")
+	    .withTransitionStream(stream)
+	    .build();
+	controller.update();
+	controller.update();
+	controller.back();
+	final TransitionStream.Cursor cursor = stream.newCursor();
+	assertTrue(cursor.next());
+	assertEquals(TransitionStream.TRANSITION, cursor.getKind());
+	assertEquals("loading-screen", stream.getScreenName(cursor.getFromId()));
+	assertEquals("menu-screen", stream.getScreenName(cursor.getToId()));
+	assertEquals(1, cursor.getFrame());
+	assertTrue(cursor.next());
+	assertEquals(TransitionStream.CHOICE, cursor.getKind());
+	assertEquals(2, cursor.getChoice());
+	assertEquals("game-screen", stream.getScreenName(cursor.getToId()));
+	assertTrue(cursor.next());
+	assertEquals(TransitionStream.BACK, cursor.getKind());
+	assertEquals("menu-screen", stream.getScreenName(cursor.getToId()));
+	assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testScreenRegisteredUnderTwoNamesDisposedOnce() {
+	final ScreenLeakDetector detector = new ScreenLeakDetector();
+	when(t1.isFinished()).thenReturn(true);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("other-loading-screen", t1)
+	    .setSuccession("loading-screen", "other-loading-screen")
+	    .withStartingScreen("loading-screen")
+	    .withLeakDetection(detector)
+	    .build();
+	controller.update();
+	controller.dispose();
+	final ScreenLeakReport report = detector.report();
+	assertEquals(2, report.getShownCount());
+	assertEquals(1, report.getDisposedCount());
+	assertEquals(0, report.getDoubleDisposedScreenNames().size);
+	verify(t1, times(1)).dispose();
+    }
+
+    @Test
+    public void testSharedScreenDisposedWhenLastControllerDisposed() {
+	final SharedScreenRegistry registry = new SharedScreenRegistry();
+	final AtomicInteger created = new AtomicInteger();
+	registry.register("options-screen", () -> {
+		created.incrementAndGet();
+		return t1;
+	    });
+	final ScreenController first = new ScreenControllerBuilder()
+	    .registerShared("options-screen", registry)
+	    .withStartingScreen("options-screen")
+	    .build();
+	final ScreenController second = new ScreenControllerBuilder()
+	    .registerShared("options-screen", registry)
+	    .withStartingScreen("options-screen")
+	    .build();
+	assertTrue(first.get() == second.get());
+	assertEquals(1, created.get());
+	first.dispose();
+	verify(t1, times(0)).dispose();
+	second.dispose();
+	verify(t1, times(1)).dispose();
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnSharedScreenNotInRegistry() {
+	sc.registerShared("options-screen", new SharedScreenRegistry());
+    }
+
+    @Test
+    public void testScreenResetOnLaterUpdateAfterLeft() {
+	when(t1.isFinished()).thenReturn(true);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", t2)
+	    .setSuccession("loading-screen", "game-screen")
+	    .withStartingScreen("loading-screen")
+	    .withResetOnExit(true)
+	    .build();
+	controller.update();
+	verify(t1, times(0)).reset();
+	controller.update();
+	verify(t1, times(1)).reset();
+	controller.back();
+	verify(t1, times(1)).reset();
+    }
+
+    @Test
+    public void testScreenResetOnceWhenReturnedToBeforeResetOnExit() {
+	when(t1.isFinished()).thenReturn(true);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", t2)
+	    .setSuccession("loading-screen", "game-screen")
+	    .withStartingScreen("loading-screen")
+	    .withResetOnExit(true)
+	    .build();
+	controller.update();
+	controller.back();
+	verify(t1, times(1)).reset();
+	when(t1.isFinished()).thenReturn(false);
+	controller.update();
+	verify(t1, times(1)).reset();
+    }
+
+    @Test
+    public void testThreadSafeScreenResetOnExecutorWhenLeft() {
+	when(t1.isFinished()).thenReturn(true);
+	when(t1.isResetThreadSafe()).thenReturn(true);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", t2)
+	    .setSuccession("loading-screen", "game-screen")
+	    .withStartingScreen("loading-screen")
+	    .withResetOnExit(true)
+	    .withResetExecutor(Runnable::run)
+	    .build();
+	controller.update();
+	verify(t1, times(1)).reset();
+    }
+
+    @Test
+    public void testScreenNotResetOnExitWithoutResetOnBack() {
+	when(t1.isFinished()).thenReturn(true);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", t2)
+	    .setSuccession("loading-screen", "game-screen")
+	    .withStartingScreen("loading-screen")
+	    .withResetOnExit(true)
+	    .withResetOnBack(false)
+	    .build();
+	controller.update();
+	controller.update();
+	verify(t1, times(0)).reset();
+    }
+
+    @Test
+    public void testScreenCreationTimedWhenRecordingTimings() {
+	final ScreenTimings timings = new ScreenTimings();
+	when(t1.isFinished()).thenReturn(true);
+	when(tf1.create()).thenReturn(t2);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf1)
+	    .setSuccession("loading-screen", "game-screen")
+	    .withStartingScreen("loading-screen")
+	    .withTimings(timings)
+	    .build();
+	assertFalse(timings.has("game-screen"));
+	controller.update();
+	assertTrue(timings.has("game-screen"));
+    }
+
+    @Test
+    public void testEmbeddedSubgraphEnteredAndExited() {
+	when(t1.isFinished()).thenReturn(true);
+	when(t2.isFinished()).thenReturn(true);
+	when(tf1.create()).thenReturn(t2);
+	final ScreenControllerBuilder onboarding = new ScreenControllerBuilder()
+	    .register("welcome-screen", tf1)
+	    .setSuccession("welcome-screen", "done")
+	    .withStartingScreen("welcome-screen");
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("menu-screen", c1)
+	    .embed("onboarding", onboarding, Collections.singletonMap("done", "menu-screen"))
+	    .setSuccession("loading-screen", "onboarding")
+	    .withStartingScreen("loading-screen")
+	    .build();
+	verify(tf1, times(0)).create();
+	assertTrue(controller.update());
+	assertTrue(t2 == controller.get());
+	assertTrue(controller.update());
+	assertTrue(c1 == controller.get());
+    }
+
+    @Test
+    public void testNestedSubgraphEnteredWithoutIntermediateRoutes() {
+	final ScreenControllerBuilder store = new ScreenControllerBuilder()
+	    .register("checkout-screen", t2)
+	    .withStartingScreen("checkout-screen");
+	final ScreenControllerBuilder shop = new ScreenControllerBuilder()
+	    .embed("store", store, Collections.emptyMap())
+	    .withStartingScreen("store");
+	sc.register("loading-screen", t1)
+	    .embed("shop", shop, Collections.emptyMap())
+	    .withStartingScreen("loading-screen");
+	assertTrue(sc.isScreenRegistered("shop/store/checkout-screen"));
+	assertEquals(
+	    Array.with("shop/store/checkout-screen"),
+	    sc.toGraph().routeController.getTargets("shop")
+	);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnSubgraphExitNotMapped() {
+	final ScreenControllerBuilder onboarding = new ScreenControllerBuilder()
+	    .register("welcome-screen", t2)
+	    .setSuccession("welcome-screen", "done")
+	    .withStartingScreen("welcome-screen");
+	sc.embed("onboarding", onboarding, Collections.emptyMap());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnSubgraphNameAlreadyRegistered() {
+	final ScreenControllerBuilder onboarding = new ScreenControllerBuilder()
+	    .register("welcome-screen", t2)
+	    .withStartingScreen("welcome-screen");
+	sc.register("onboarding/welcome-screen", t1)
+	    .embed("onboarding", onboarding, Collections.emptyMap());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnEmbeddingInstancesTwice() {
+	final ScreenControllerBuilder store = new ScreenControllerBuilder()
+	    .register("store-screen", t1)
+	    .withStartingScreen("store-screen");
+	sc.embed("store", store, Collections.emptyMap())
+	    .embed("other-store", store, Collections.emptyMap());
+    }
+
+    @Test
+    public void testSubGraphOfFactoriesEmbeddedTwice() {
+	when(tf1.create()).thenReturn(t1, t2);
+	final ScreenControllerBuilder store = new ScreenControllerBuilder()
+	    .register("store-screen", tf1)
+	    .withStartingScreen("store-screen");
+	sc.embed("store", store, Collections.emptyMap())
+	    .embed("other-store", store, Collections.emptyMap());
+	assertTrue(t1 == sc.get("store/store-screen", ITransitionScreen.class));
+	assertTrue(t2 == sc.get("other-store/store-screen", ITransitionScreen.class));
+    }
+
+    @Test
+    public void testGlobalTransitionFollowedFromUnfinishedScreen() {
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(0);
+	final ScreenController controller = sc
+	    .register("game-screen", t1)
+	    .register("pause-screen", c1)
+	    .globalTransition(100, "pause-screen")
+	    .choice("pause-screen", ScreenController.RETURN, 0)
+	    .withStartingScreen("game-screen")
+	    .build();
+	assertFalse(controller.update());
+	controller.fire(100);
+	assertTrue(controller.update());
+	assertTrue(c1 == controller.get());
+	assertTrue(controller.update());
+	assertTrue(t1 == controller.get());
+	verify(t1, times(0)).reset();
+	assertFalse(controller.canGoBack());
+    }
+
+    @Test
+    public void testChoiceOfTriggerFollowsGlobalTransition() {
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(100);
+	final ScreenController controller = sc
+	    .register("menu-screen", c1)
+	    .register("options-screen", t1)
+	    .register("quit-screen", t2)
+	    .choice("menu-screen", "options-screen", 100)
+	    .globalTransition(100, "quit-screen")
+	    .withStartingScreen("menu-screen")
+	    .build();
+	assertTrue(controller.update());
+	assertTrue(t2 == controller.get());
+    }
+
+    @Test
+    public void testGroupTransitionTakesPrecedenceOverGlobal() {
+	final ScreenController controller = sc
+	    .register("game-screen", t1)
+	    .register("pause-screen", t2)
+	    .register("menu-screen", c1)
+	    .register("lobby-screen", c2)
+	    .globalTransition(100, "pause-screen")
+	    .group("online", "lobby-screen")
+	    .groupTransition("online", 100, "menu-screen")
+	    .withStartingScreen("lobby-screen")
+	    .build();
+	controller.fire(100);
+	assertTrue(controller.update());
+	assertTrue(c1 == controller.get());
+	controller.fire(100);
+	assertTrue(controller.update());
+	assertTrue(t2 == controller.get());
+    }
+
+    @Test
+    public void testInterruptedScreenNotResetOnExit() {
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(0);
+	final ScreenController controller = sc
+	    .register("game-screen", t1)
+	    .register("pause-screen", c1)
+	    .globalTransition(100, "pause-screen")
+	    .choice("pause-screen", ScreenController.RETURN, 0)
+	    .withStartingScreen("game-screen")
+	    .withResetOnExit(true)
+	    .build();
+	controller.fire(100);
+	controller.update();
+	controller.update();
+	controller.update();
+	verify(t1, times(0)).reset();
+	verify(c1, times(1)).reset();
+    }
+
+    @Test
+    public void testNestedInterruptionsReturnedFromInOrder() {
+	final ScreenController controller = sc
+	    .register("game-screen", t1)
+	    .register("pause-screen", c1)
+	    .register("disconnected-screen", c2)
+	    .globalTransition(100, "pause-screen")
+	    .globalTransition(101, "disconnected-screen")
+	    .choice("pause-screen", ScreenController.RETURN, 0)
+	    .choice("disconnected-screen", ScreenController.RETURN, 0)
+	    .withStartingScreen("game-screen")
+	    .build();
+	controller.fire(100);
+	assertTrue(controller.update());
+	controller.fire(101);
+	assertTrue(controller.update());
+	assertTrue(c2 == controller.get());
+	when(c2.isFinished()).thenReturn(true);
+	assertTrue(controller.update());
+	assertTrue(c1 == controller.get());
+	when(c1.isFinished()).thenReturn(true);
+	assertTrue(controller.update());
+	assertTrue(t1 == controller.get());
+	verify(t1, times(0)).reset();
+	verify(c1, times(0)).reset();
+    }
+
+    @Test
+    public void testChoiceOfTriggerNotReturnedTo() {
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(101);
+	when(c2.isFinished()).thenReturn(true);
+	final ScreenController controller = sc
+	    .register("game-screen", t1)
+	    .register("pause-screen", c1)
+	    .register("disconnected-screen", c2)
+	    .globalTransition(100, "pause-screen")
+	    .globalTransition(101, "disconnected-screen")
+	    .choice("disconnected-screen", ScreenController.RETURN, 0)
+	    .withStartingScreen("game-screen")
+	    .build();
+	controller.fire(100);
+	assertTrue(controller.update());
+	assertTrue(controller.update());
+	assertTrue(c2 == controller.get());
+	assertTrue(controller.update());
+	assertTrue(t1 == controller.get());
+	verify(t1, times(0)).reset();
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnFiringUnregisteredTrigger() {
+	sc.register("game-screen", t1)
+	    .withStartingScreen("game-screen")
+	    .build()
+	    .fire(100);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnGroupingUnregisteredScreen() {
+	sc.group("online", "lobby-screen");
+    }
+
+    @Test
+    public void testInputRoutedToProcessorOfActiveScreen() {
+	final InputProcessor loading = mock(InputProcessor.class);
+	final InputProcessor game = mock(InputProcessor.class);
+	when(t1.isFinished()).thenReturn(true);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", t2)
+	    .setSuccession("loading-screen", "game-screen")
+	    .withInputProcessor("loading-screen", loading)
+	    .withInputProcessor("game-screen", game)
+	    .withStartingScreen("loading-screen")
+	    .build();
+	final InputProcessor router = controller.getInputRouter();
+	router.keyDown(1);
+	verify(loading).keyDown(1);
+	controller.update();
+	router.keyDown(2);
+	verify(game).keyDown(2);
+	verify(loading, times(0)).keyDown(2);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnInputProcessorOfUnregisteredScreen() {
+	sc.withInputProcessor("game-screen", mock(InputProcessor.class));
+    }
+
+    @Test
+    public void testPreloadedScreenNeverShownDisposed() {
+	when(tf1.create()).thenReturn(t2);
+	final ScreenController controller = sc
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf1)
+	    .withStartingScreen("loading-screen")
+	    .build();
+	controller.preload("game-screen");
+	controller.update();
+	verify(tf1, times(1)).create();
+	controller.dispose();
+	verify(t1, times(1)).dispose();
+	verify(t2, times(1)).dispose();
+    }
+
+    @Test
+    public void testScreensDisposedByReachableControllerNotReportedAsLeaked() {
+	final ScreenLeakDetector detector = new ScreenLeakDetector();
+	final ScreenController controller = sc
+	    .register("loading-screen", (ITransitionScreenFactory<?>) MyTransitionScreen::new)
+	    .register("game-screen", (ITransitionScreenFactory<?>) MyTransitionScreen::new)
+	    .withStartingScreen("loading-screen")
+	    .withLeakDetection(detector)
+	    .build();
+	controller.preload("game-screen");
+	controller.update();
+	controller.dispose();
+	final ScreenLeakReport report = detector.report();
+	assertTrue(report.isClean());
+	assertEquals(2, report.getCreatedCount());
+	assertEquals(2, report.getDisposedCount());
+	// Keep the controller reachable until the report is made
+	assertTrue(controller != null);
+    }
 }
@@ -1,15 +1,23 @@
 package libgdxscreencontrol;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import com.badlogic.gdx.utils.Array;
+
 import libgdxscreencontrol.screen.IChoiceScreen;
 import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
 import libgdxscreencontrol.screen.ITransitionScreen;
@@ -38,6 +46,8 @@ public class ScreenControllerTest {
 	when(tc.has("loading-screen")).thenReturn(true);
 	when(cc.get("menu-screen")).thenReturn(c1);
 	when(cc.has("menu-screen")).thenReturn(true);
+	when(tc.getNames()).thenReturn(new Array<>());
+	when(cc.getNames()).thenReturn(new Array<>());
     }
 
     @Test(expected=IllegalArgumentException.class)
@@ -191,4 +201,234 @@ public class ScreenControllerTest {
 	}
     }
 
+    @Test
+    public void testCannotGoBackFromStartingScreen() {
+	controller = new ScreenController(tc, cc, "loading-screen");
+	assertFalse(controller.canGoBack());
+	assertFalse(controller.back());
+    }
+
+    @Test
+    public void testBackReturnsToPreviousScreen() {
+	controller = new ScreenController(tc, cc, "loading-screen");
+	when(tc.get("game-screen")).thenReturn(t2);
+	when(tc.has("game-screen")).thenReturn(true);
+	when(tc.getTransition("loading-screen")).thenReturn("game-screen");
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+
+	assertTrue(controller.canGoBack());
+	assertTrue(controller.back());
+	assertTrue(t1 == controller.get());
+	assertFalse(controller.canGoBack());
+	verify(t1, times(1)).reset();
+    }
+
+    @Test
+    public void testBackDoesNotResetScreenWhenConfigured() {
+	final ScreenControllerConfig config = new ScreenControllerConfig();
+	config.resetOnBack = false;
+	controller = new ScreenController(tc, cc, "loading-screen", config);
+	when(tc.get("game-screen")).thenReturn(t2);
+	when(tc.has("game-screen")).thenReturn(true);
+	when(tc.getTransition("loading-screen")).thenReturn("game-screen");
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+
+	controller.back();
+	assertTrue(t1 == controller.get());
+	verify(t1, never()).reset();
+    }
+
+    @Test
+    public void testHistoryOfZeroDepthDisablesBack() {
+	final ScreenControllerConfig config = new ScreenControllerConfig();
+	config.historyDepth = 0;
+	controller = new ScreenController(tc, cc, "loading-screen", config);
+	when(tc.get("game-screen")).thenReturn(t2);
+	when(tc.has("game-screen")).thenReturn(true);
+	when(tc.getTransition("loading-screen")).thenReturn("game-screen");
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+
+	assertFalse(controller.canGoBack());
+    }
+
+    @Test
+    public void testPreloadedScreenCreatedOnNextUpdate() {
+	controller = new ScreenController(tc, cc, "loading-screen");
+	when(tc.has("game-screen")).thenReturn(true);
+	controller.preload("game-screen");
+	verify(tc, never()).get("game-screen");
+	controller.update();
+	verify(tc, times(1)).get("game-screen");
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnPreloadOfUnregisteredScreen() {
+	controller = new ScreenController(tc, cc, "loading-screen");
+	controller.preload("not-a-screen");
+    }
+
+    @Test
+    public void testSuccessorWarmedUpWhileTransitionScreenActive() {
+	final ScreenControllerConfig config = new ScreenControllerConfig();
+	config.warmUpIterations = 2;
+	controller = new ScreenController(tc, cc, "loading-screen", config);
+	when(tc.get("game-screen")).thenReturn(t2);
+	when(tc.has("game-screen")).thenReturn(true);
+	when(tc.hasTransition("loading-screen")).thenReturn(true);
+	when(tc.getTransition("loading-screen")).thenReturn("game-screen");
+	controller.update();
+	controller.update();
+	controller.update();
+	verify(t2, times(2)).render(config.warmUpDelta);
+	verify(t2, times(1)).reset();
+
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	assertTrue(t2 == controller.get());
+	verify(t2, times(1)).reset();
+    }
+
+    @Test
+    public void testCollectedInactiveFactoryScreenDisposedAndEvicted() {
+	final ScreenControllerConfig config = new ScreenControllerConfig();
+	config.softRetention = true;
+	when(tc.hasFactory("loading-screen")).thenReturn(true);
+	when(tc.evict("loading-screen")).thenReturn(t1);
+	controller = new ScreenController(tc, cc, "loading-screen", config);
+	when(tc.get("game-screen")).thenReturn(t2);
+	when(tc.has("game-screen")).thenReturn(true);
+	when(tc.getTransition("loading-screen")).thenReturn("game-screen");
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	assertTrue(controller.getSoftScreenCache().isRetained("loading-screen"));
+
+	controller.getSoftScreenCache().simulateCollection("loading-screen");
+	controller.update();
+	verify(tc, times(1)).evict("loading-screen");
+	verify(t1, times(1)).dispose();
+	controller.dispose();
+	verify(t1, times(1)).dispose();
+    }
+
+    @Test
+    public void testScreenRegisteredAsInstanceNotRetained() {
+	final ScreenControllerConfig config = new ScreenControllerConfig();
+	config.softRetention = true;
+	controller = new ScreenController(tc, cc, "loading-screen", config);
+	when(tc.get("game-screen")).thenReturn(t2);
+	when(tc.has("game-screen")).thenReturn(true);
+	when(tc.getTransition("loading-screen")).thenReturn("game-screen");
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	assertFalse(controller.getSoftScreenCache().isRetained("loading-screen"));
+    }
+
+    private void setUpMemoryPressureScreens() {
+	// loading-screen -> game-screen -> player-screen, pause-screen preloaded
+	controller = new ScreenController(tc, cc, "loading-screen");
+	when(tc.get("game-screen")).thenReturn(t2);
+	when(tc.has("game-screen")).thenReturn(true);
+	when(tc.getTransition("loading-screen")).thenReturn("game-screen");
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(cc.get("player-screen")).thenReturn(c1);
+	when(cc.has("player-screen")).thenReturn(true);
+	when(tc.getTransition("game-screen")).thenReturn("player-screen");
+	when(t2.isFinished()).thenReturn(true);
+	controller.update();
+
+	when(t1.getMemoryWeight()).thenReturn(10L);
+	when(t2.getMemoryWeight()).thenReturn(20L);
+	when(c2.getMemoryWeight()).thenReturn(40L);
+	when(tc.getEvictableNames()).thenReturn(
+	    new Array<>(new String[] {"loading-screen", "game-screen"})
+	);
+	when(cc.getEvictableNames()).thenReturn(
+	    new Array<>(new String[] {"player-screen", "pause-screen"})
+	);
+	when(tc.evict("loading-screen")).thenReturn(t1);
+	when(tc.evict("game-screen")).thenReturn(t2);
+	when(cc.evict("player-screen")).thenReturn(c1);
+	when(cc.evict("pause-screen")).thenReturn(c2);
+    }
+
+    @Test
+    public void testModerateMemoryPressureOnlyFreesPreloadedScreens() {
+	setUpMemoryPressureScreens();
+	final CompletableFuture<Long> freed = controller.onMemoryPressure(MemoryPressure.MODERATE);
+	controller.update();
+	assertEquals(40L, freed.join().longValue());
+	runScheduledJobs();
+	verify(c2, times(1)).dispose();
+	verify(t1, never()).dispose();
+    }
+
+    @Test
+    public void testSevereMemoryPressureKeepsPreviousScreen() {
+	setUpMemoryPressureScreens();
+	final CompletableFuture<Long> freed = controller.onMemoryPressure(MemoryPressure.SEVERE);
+	controller.update();
+	assertEquals(50L, freed.join().longValue());
+	verify(t2, never()).dispose();
+	verify(c1, never()).dispose();
+    }
+
+    @Test
+    public void testCriticalMemoryPressureFreesAllInactiveScreens() {
+	setUpMemoryPressureScreens();
+	final CompletableFuture<Long> freed = controller.onMemoryPressure(MemoryPressure.CRITICAL);
+	controller.update();
+	assertEquals(70L, freed.join().longValue());
+	verify(c1, never()).dispose();
+	assertTrue(c1 == controller.get());
+	assertEquals(1, controller.getResidentScreenCount());
+    }
+
+    @Test
+    public void testMemoryPressureAppliedOnUpdate() {
+	setUpMemoryPressureScreens();
+	final CompletableFuture<Long> freed = controller.onMemoryPressure(MemoryPressure.CRITICAL);
+	assertFalse(freed.isDone());
+	verify(t1, never()).dispose();
+	controller.update();
+	assertTrue(freed.isDone());
+	runScheduledJobs();
+	verify(t1, times(1)).dispose();
+    }
+
+    @Test
+    public void testScreensGivenUpDisposedWithinFrameBudget() {
+	setUpMemoryPressureScreens();
+	controller.getScheduler().setBudget(0);
+	controller.onMemoryPressure(MemoryPressure.CRITICAL);
+	controller.update();
+	verify(t1, never()).dispose();
+	controller.update();
+	verify(t1, times(1)).dispose();
+	verify(t2, never()).dispose();
+	controller.update();
+	verify(t2, times(1)).dispose();
+    }
+
+    private void runScheduledJobs() {
+	while (controller.getScheduler().pending() > 0) {
+	    controller.getScheduler().run();
+	}
+    }
+
+    @Test
+    public void testMemoryPressureCancelsPendingPreloads() {
+	controller = new ScreenController(tc, cc, "loading-screen");
+	when(tc.has("game-screen")).thenReturn(true);
+	when(tc.getEvictableNames()).thenReturn(new Array<>());
+	when(cc.getEvictableNames()).thenReturn(new Array<>());
+	controller.preload("game-screen");
+	controller.onMemoryPressure(MemoryPressure.MODERATE);
+	controller.update();
+	verify(tc, never()).get("game-screen");
+    }
+
 }
@@ -0,0 +1,22 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ScreenExecutorsTest {
+
+    @Test
+    public void testTasksRunOnThreadsNotKeepingApplicationAlive() throws Exception {
+	final ExecutorService executor = ScreenExecutors.newFactoryExecutor();
+	try {
+	    assertTrue(executor.submit(() -> Thread.currentThread().isDaemon())
+		       .get(5, TimeUnit.SECONDS));
+	} finally {
+	    executor.shutdownNow();
+	}
+    }
+}
@@ -0,0 +1,54 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ScreenFamilyTest {
+
+    private final ScreenFamily<Object> family =
+	new ScreenFamily<>("level", 0, 999, new Object());
+
+    @Test
+    public void testMemberNameJoinsFamilyAndParameter() {
+	assertEquals("level/42", ScreenFamily.memberName("level", 42));
+    }
+
+    @Test
+    public void testParameterOfMemberName() {
+	assertEquals(42, ScreenFamily.parameterOf("level/42"));
+	assertEquals(0, ScreenFamily.parameterOf("level/0"));
+    }
+
+    @Test
+    public void testParameterOfInvalidNames() {
+	assertEquals(-1, ScreenFamily.parameterOf("level"));
+	assertEquals(-1, ScreenFamily.parameterOf("level/"));
+	assertEquals(-1, ScreenFamily.parameterOf("/4"));
+	assertEquals(-1, ScreenFamily.parameterOf("level/04"));
+	assertEquals(-1, ScreenFamily.parameterOf("level/-4"));
+	assertEquals(-1, ScreenFamily.parameterOf("level/4a"));
+	assertEquals(-1, ScreenFamily.parameterOf("level/12345678901"));
+    }
+
+    @Test
+    public void testContainsMembersInRange() {
+	assertTrue(family.contains("level/0"));
+	assertTrue(family.contains("level/999"));
+	assertFalse(family.contains("level/1000"));
+    }
+
+    @Test
+    public void testDoesNotContainMembersOfOtherFamilies() {
+	assertFalse(family.contains("levels/1"));
+	assertFalse(family.contains("leve/1"));
+	assertFalse(family.contains("level/x/1"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnEmptyRange() {
+	new ScreenFamily<>("level", 5, 4, new Object());
+    }
+}
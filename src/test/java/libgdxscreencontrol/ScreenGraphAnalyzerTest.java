@@ -0,0 +1,105 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.ITransitionScreen;
+
+public class ScreenGraphAnalyzerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private ScreenGraphReport report;
+
+    @Before
+    public void setUp() {
+	final ScreenControllerBuilder builder = new ScreenControllerBuilder()
+	    .register("loading-screen", mock(ITransitionScreen.class))
+	    .register("menu-screen", mock(IChoiceScreen.class))
+	    .register("game-screen", mock(ITransitionScreen.class))
+	    .register("store-screen", mock(ITransitionScreen.class))
+	    .register("credits-screen", mock(ITransitionScreen.class))
+	    .setSuccession("loading-screen", "menu-screen")
+	    .choice("menu-screen", "game-screen", 1)
+	    .choice("menu-screen", "store-route", 2)
+	    .otherwise("store-route", "store-screen")
+	    .withStartingScreen("loading-screen");
+	final ScreenTimings timings = new ScreenTimings();
+	timings.recordCreate("loading-screen", 5 * MILLIS);
+	timings.recordCreate("menu-screen", 20 * MILLIS);
+	timings.recordCreate("game-screen", 200 * MILLIS);
+	timings.recordReset("game-screen", 30 * MILLIS);
+	report = new ScreenGraphAnalyzer(builder, timings).analyze();
+    }
+
+    @Test
+    public void testPathCostIsCreationTimeAlongPath() {
+	assertEquals(25 * MILLIS, report.getCost("menu-screen").getPathNanos());
+	assertEquals(225 * MILLIS, report.getCost("game-screen").getPathNanos());
+	assertEquals(
+	    Array.with("loading-screen", "menu-screen", "game-screen"),
+	    report.getCost("game-screen").getPath()
+	);
+    }
+
+    @Test
+    public void testRoutesFollowedAtNoCost() {
+	assertEquals(25 * MILLIS, report.getCost("store-screen").getPathNanos());
+	assertEquals(
+	    Array.with("loading-screen", "menu-screen", "store-route", "store-screen"),
+	    report.getCost("store-screen").getPath()
+	);
+	assertNull(report.getCost("store-route"));
+    }
+
+    @Test
+    public void testMostExpensiveScreenReachedFirst() {
+	assertEquals("game-screen", report.getReachedScreens().first().getName());
+    }
+
+    @Test
+    public void testScreensNotReachedReported() {
+	assertEquals(Array.with("credits-screen"), report.getUnreachedScreenNames());
+	assertEquals(Array.with("store-screen"), report.getUntimedScreenNames());
+    }
+
+    @Test
+    public void testWorstEdgeReportedFirst() {
+	final ScreenGraphReport.EdgeCost edge = report.getWorstEdges().first();
+	assertEquals("menu-screen", edge.getFrom());
+	assertEquals("game-screen", edge.getTo());
+	assertEquals(30 * MILLIS, edge.getAgainNanos());
+    }
+
+    @Test
+    public void testSlowScreensRecommended() {
+	final Array<ScreenGraphReport.Recommendation> recommendations =
+	    report.getRecommendations();
+	assertEquals(3, recommendations.size);
+	assertEquals(ScreenGraphReport.SPLIT, recommendations.get(0).getAction());
+	assertEquals(ScreenGraphReport.POOL, recommendations.get(1).getAction());
+	assertEquals(ScreenGraphReport.PRELOAD, recommendations.get(2).getAction());
+	assertEquals("menu-screen", recommendations.get(2).getScreenName());
+    }
+
+    @Test
+    public void testJsonHoldsPathCosts() {
+	final JsonValue json = new JsonReader().parse(report.toJson());
+	assertEquals("loading-screen", json.getString("startingScreen"));
+	assertEquals("game-screen", json.get("screens").get(0).getString("name"));
+	assertEquals(225 * MILLIS, json.get("screens").get(0).getLong("pathNanos"));
+	assertTrue(json.get("recommendations").isArray());
+    }
+}
@@ -0,0 +1,205 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.ITransitionScreen;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+
+public class ScreenGraphEditorTest {
+
+    private ScreenController controller;
+    @Mock
+    private ITransitionScreen t1, t2, t3;
+    @Mock
+    private IChoiceScreen c1;
+    @Mock
+    private ITransitionScreenFactory<ITransitionScreen> tf1;
+
+    @Before
+    public void setUp() {
+	MockitoAnnotations.initMocks(this);
+	when(tf1.create()).thenReturn(t2);
+	controller = new ScreenControllerBuilder()
+	    .register("loading-screen", t1)
+	    .register("menu-screen", c1)
+	    .register("game-screen", tf1)
+	    .withStartingScreen("loading-screen")
+	    .setSuccession("loading-screen", "menu-screen")
+	    .choice("menu-screen", "game-screen", 0)
+	    .setSuccession("game-screen", "menu-screen")
+	    .build();
+    }
+
+    @Test
+    public void testScreenAddedAfterBuildCanBeTransitionedTo() {
+	controller.edit()
+	    .register("event-screen", t3)
+	    .choice("menu-screen", "event-screen", 1)
+	    .setSuccession("event-screen", "menu-screen")
+	    .commit();
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(1);
+	controller.update();
+	assertTrue(t3 == controller.get());
+    }
+
+    @Test
+    public void testChangesNotVisibleUntilUpdate() {
+	controller.edit()
+	    .unregister("menu-screen")
+	    .register("menu-screen", t3)
+	    .commit();
+	assertTrue(t1 == controller.get());
+    }
+
+    @Test
+    public void testCreatedScreensKeptAcrossSnapshots() {
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(0);
+	controller.update();
+	assertTrue(t2 == controller.get());
+
+	controller.edit().register("event-screen", t3).commit();
+	assertFalse(controller.update());
+	assertTrue(t2 == controller.get());
+	verify(tf1, times(1)).create();
+	verify(t2, never()).dispose();
+    }
+
+    @Test
+    public void testCreatedScreensKeptAcrossSuccessiveSnapshots() {
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(0);
+	controller.update();
+
+	controller.edit().register("event-screen", t3).commit();
+	controller.update();
+	controller.edit().unregister("event-screen").commit();
+	controller.update();
+	assertTrue(t2 == controller.get());
+	verify(tf1, times(1)).create();
+	verify(t2, never()).dispose();
+    }
+
+    @Test
+    public void testChangesCommittedBeforeUpdateAllApplied() {
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(0);
+	controller.update();
+
+	controller.edit().register("game-screen", t3).commit();
+	controller.edit().setSuccession("loading-screen", "game-screen").commit();
+	assertTrue(controller.update());
+	assertTrue(t3 == controller.get());
+	verify(t2, times(1)).dispose();
+    }
+
+    @Test
+    public void testRemovingActiveScreenActivatesStartingScreen() {
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(t1.isFinished()).thenReturn(false);
+	controller.edit()
+	    .unregister("menu-screen")
+	    .setSuccession("loading-screen", "game-screen")
+	    .commit();
+	assertTrue(controller.update());
+	assertTrue(t1 == controller.get());
+	verify(c1, times(1)).dispose();
+    }
+
+    @Test
+    public void testReplacedScreenDisposed() {
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(0);
+	controller.update();
+
+	controller.edit().register("game-screen", t3).commit();
+	assertTrue(controller.update());
+	assertTrue(t3 == controller.get());
+	verify(t2, times(1)).dispose();
+    }
+
+    @Test
+    public void testInvalidBatchNotApplied() {
+	try {
+	    controller.edit()
+		.register("event-screen", t3)
+		.setSuccession("not-a-screen", "event-screen")
+		.commit();
+	} catch (IllegalArgumentException e) {
+	    // Expected
+	}
+	controller.edit().choice("menu-screen", "event-screen", 1).commit();
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(1);
+	try {
+	    controller.update();
+	} catch (IllegalStateException e) {
+	    assertTrue(c1 == controller.get());
+	    return;
+	}
+	throw new AssertionError("event-screen should not have been registered");
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testCorrectExceptionThrownOnRemovingStartingScreen() {
+	controller.edit().unregister("loading-screen").commit();
+    }
+
+    @Test
+    public void testChangesCanBeCommittedFromAnotherThread() throws InterruptedException {
+	final Thread thread = new Thread(() -> controller.edit()
+	    .register("event-screen", t3)
+	    .setSuccession("loading-screen", "event-screen")
+	    .commit());
+	thread.start();
+	thread.join();
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	assertTrue(t3 == controller.get());
+    }
+
+    @Test
+    public void testRouteAddedAfterBuildFollowed() {
+	controller.edit()
+	    .register("event-screen", t3)
+	    .guard("event-route", () -> true, "event-screen")
+	    .otherwise("event-route", "menu-screen")
+	    .setSuccession("loading-screen", "event-route")
+	    .commit();
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	assertTrue(t3 == controller.get());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnRouteNamedAfterScreen() {
+	controller.edit()
+	    .otherwise("menu-screen", "game-screen")
+	    .commit();
+    }
+}
@@ -0,0 +1,199 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.ITransitionScreen;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFamilyFactory;
+
+public class ScreenGraphTest {
+
+    @Mock
+    private ITransitionScreen t1, t2, t3;
+    @Mock
+    private IChoiceScreen c1;
+    @Mock
+    private ITransitionScreenFactory<ITransitionScreen> tf1, tf2;
+    @Mock
+    private ITransitionScreenFamilyFactory<ITransitionScreen> ff1, ff2;
+
+    @Before
+    public void setUp() {
+	MockitoAnnotations.initMocks(this);
+	when(tf1.create()).thenReturn(t2);
+	when(tf2.create()).thenReturn(t3);
+	when(ff1.create(1)).thenReturn(t3);
+	when(ff2.create(1)).thenReturn(t2);
+    }
+
+    private ScreenControllerBuilder definition() {
+	return new ScreenControllerBuilder()
+	    .register("loading-screen", t1)
+	    .register("menu-screen", c1)
+	    .register("game-screen", tf1)
+	    .withStartingScreen("loading-screen")
+	    .setSuccession("loading-screen", "menu-screen")
+	    .choice("menu-screen", "game-screen", 0)
+	    .setSuccession("game-screen", "menu-screen");
+    }
+
+    private ScreenControllerBuilder familyDefinition(
+	final ITransitionScreenFamilyFactory<ITransitionScreen> factory
+    ) {
+	return definition()
+	    .registerTransitionFamily("level", 0, 9, factory)
+	    .setFamilySuccession("level", i -> "menu-screen")
+	    .choice("menu-screen", "level/1", 1);
+    }
+
+    private ScreenController showLevel(final ScreenController controller) {
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(1);
+	controller.update();
+	when(c1.isFinished()).thenReturn(false);
+	return controller;
+    }
+
+    @Test
+    public void testDiffOfEqualGraphsIsEmpty() {
+	assertTrue(definition().toGraph().diff(definition().toGraph()).isEmpty());
+    }
+
+    @Test
+    public void testDiffFindsAddedRemovedAndChangedScreens() {
+	final ScreenGraph next = new ScreenControllerBuilder()
+	    .register("loading-screen", t1)
+	    .register("game-screen", tf2)
+	    .register("event-screen", t3)
+	    .withStartingScreen("loading-screen")
+	    .setSuccession("loading-screen", "event-screen")
+	    .toGraph();
+	final ScreenGraphDiff diff = definition().toGraph().diff(next);
+	assertEquals(1, diff.getAdded().size);
+	assertEquals("event-screen", diff.getAdded().first());
+	assertEquals(1, diff.getRemoved().size);
+	assertEquals("menu-screen", diff.getRemoved().first());
+	assertEquals(2, diff.getChanged().size);
+	assertTrue(diff.getChanged().contains("loading-screen", false));
+	assertTrue(diff.getChanged().contains("game-screen", false));
+    }
+
+    @Test
+    public void testReloadKeepsUnchangedScreensAndPosition() {
+	final ScreenController controller = definition().build();
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(0);
+	controller.update();
+	assertTrue(t2 == controller.get());
+
+	assertTrue(controller.reload(definition()).isEmpty());
+	controller.update();
+	assertTrue(t2 == controller.get());
+	verify(tf1, times(1)).create();
+	verify(t2, never()).dispose();
+	verify(c1, never()).dispose();
+    }
+
+    @Test
+    public void testReloadFromOwnBuilderKeepsCreatedScreens() {
+	final ScreenControllerBuilder builder = definition();
+	final ScreenController controller = builder.build();
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(0);
+	controller.update();
+	assertTrue(t2 == builder.get("game-screen", ITransitionScreen.class));
+
+	assertTrue(controller.reload(builder).isEmpty());
+	controller.update();
+	assertTrue(t2 == controller.get());
+	verify(tf1, times(1)).create();
+	verify(t2, never()).dispose();
+    }
+
+    @Test
+    public void testReloadRecreatesChangedScreens() {
+	final ScreenController controller = definition().build();
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(0);
+	controller.update();
+
+	controller.reload(definition().register("game-screen", tf2));
+	assertTrue(controller.update());
+	assertTrue(t3 == controller.get());
+	verify(t2, times(1)).dispose();
+    }
+
+    @Test
+    public void testReloadDisposesRemovedScreens() {
+	final ScreenController controller = definition().build();
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(t1.isFinished()).thenReturn(false);
+
+	controller.reload(new ScreenControllerBuilder()
+	    .register("loading-screen", t1)
+	    .withStartingScreen("loading-screen"));
+	assertTrue(controller.update());
+	assertTrue(t1 == controller.get());
+	verify(c1, times(1)).dispose();
+    }
+
+    @Test
+    public void testDiffFindsScreenRegisteredInPlaceOfFamilyMember() {
+	final ScreenGraph next = familyDefinition(ff1).register("level/3", t3).toGraph();
+	final ScreenGraphDiff diff = familyDefinition(ff1).toGraph().diff(next);
+	assertTrue(diff.getAdded().size == 0);
+	assertEquals(1, diff.getChanged().size);
+	assertEquals("level/3", diff.getChanged().first());
+    }
+
+    @Test
+    public void testChangedFamiliesFound() {
+	final ScreenGraph graph = familyDefinition(ff1).toGraph();
+	assertEquals(0, graph.changedFamilies(familyDefinition(ff1).toGraph()).size);
+	assertEquals(1, graph.changedFamilies(familyDefinition(ff2).toGraph()).size);
+	assertEquals("level", graph.changedFamilies(definition().toGraph()).first());
+    }
+
+    @Test
+    public void testReloadKeepsMembersOfUnchangedFamily() {
+	final ScreenController controller = showLevel(familyDefinition(ff1).build());
+	assertTrue(t3 == controller.get());
+
+	controller.reload(familyDefinition(ff1));
+	assertFalse(controller.update());
+	assertTrue(t3 == controller.get());
+	verify(ff1, times(1)).create(1);
+	verify(t3, never()).dispose();
+    }
+
+    @Test
+    public void testReloadRecreatesMembersOfChangedFamily() {
+	final ScreenController controller = showLevel(familyDefinition(ff1).build());
+
+	controller.reload(familyDefinition(ff2));
+	assertTrue(controller.update());
+	assertTrue(t2 == controller.get());
+	verify(t3, times(1)).dispose();
+    }
+}
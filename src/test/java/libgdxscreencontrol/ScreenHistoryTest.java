@@ -0,0 +1,53 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ScreenHistoryTest {
+
+    @Test
+    public void testNewHistoryIsEmpty() {
+	assertTrue(new ScreenHistory(4).isEmpty());
+    }
+
+    @Test
+    public void testPopReturnsIdsInReverseOrder() {
+	final ScreenHistory history = new ScreenHistory(4);
+	history.push(1);
+	history.push(2);
+	assertEquals(2, history.pop());
+	assertEquals(1, history.pop());
+	assertTrue(history.isEmpty());
+    }
+
+    @Test
+    public void testPopReturnsEmptyOnEmptyHistory() {
+	assertEquals(ScreenHistory.EMPTY, new ScreenHistory(4).pop());
+    }
+
+    @Test
+    public void testOldestIdOverwrittenWhenFull() {
+	final ScreenHistory history = new ScreenHistory(2);
+	history.push(1);
+	history.push(2);
+	history.push(3);
+	assertEquals(2, history.size());
+	assertEquals(3, history.pop());
+	assertEquals(2, history.pop());
+	assertEquals(ScreenHistory.EMPTY, history.pop());
+    }
+
+    @Test
+    public void testZeroDepthHistoryIgnoresPushes() {
+	final ScreenHistory history = new ScreenHistory(0);
+	history.push(1);
+	assertTrue(history.isEmpty());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnNegativeDepth() {
+	new ScreenHistory(-1);
+    }
+}
@@ -0,0 +1,71 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+public class ScreenInputRouterTest {
+
+    @Mock
+    private InputProcessor global, menuProcessor;
+    @Mock
+    private Screen screen;
+    private ScreenInputRouter router;
+
+    @Before
+    public void setUp() {
+	MockitoAnnotations.initMocks(this);
+	final ObjectMap<String, InputProcessor> processors = new ObjectMap<>();
+	processors.put("menu-screen", menuProcessor);
+	router = new ScreenInputRouter(processors, Array.with(global));
+    }
+
+    @Test
+    public void testEventForwardedToProcessorOfScreen() {
+	router.route("menu-screen", screen);
+	when(menuProcessor.keyDown(1)).thenReturn(true);
+	assertTrue(router.keyDown(1));
+	verify(global).keyDown(1);
+    }
+
+    @Test
+    public void testEventHandledByGlobalProcessorNotForwarded() {
+	router.route("menu-screen", screen);
+	when(global.touchDown(1, 2, 0, 0)).thenReturn(true);
+	assertTrue(router.touchDown(1, 2, 0, 0));
+	verify(menuProcessor, never()).touchDown(1, 2, 0, 0);
+    }
+
+    @Test
+    public void testScreenWhichIsInputProcessorUsedWithoutRegisteredProcessor() {
+	final Screen gameScreen = mock(
+	    Screen.class, withSettings().extraInterfaces(InputProcessor.class)
+	);
+	router.route("game-screen", gameScreen);
+	assertTrue(gameScreen == router.getActiveProcessor());
+	router.scrolled(1);
+	verify((InputProcessor) gameScreen).scrolled(1);
+    }
+
+    @Test
+    public void testEventNotHandledWithoutProcessorForScreen() {
+	router.route("game-screen", screen);
+	assertNull(router.getActiveProcessor());
+	assertFalse(router.keyTyped('a'));
+    }
+}
@@ -0,0 +1,79 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.Array;
+
+public class ScreenLeakDetectorTest {
+
+    private ScreenLeakDetector detector;
+
+    @Before
+    public void setUp() {
+	detector = new ScreenLeakDetector();
+    }
+
+    @Test
+    public void testNoProblemsReportedForUnreachableDisposedScreen() {
+	detector.onShown("game-screen", new MyTransitionScreen());
+	detector.onDisposed("game-screen", new MyTransitionScreen());
+	final ScreenLeakReport report = detector.report();
+	assertTrue(report.isClean());
+	assertEquals(1, report.getShownCount());
+	assertEquals(1, report.getDisposedCount());
+    }
+
+    @Test
+    public void testScreenReachableAfterDisposeReported() {
+	final Screen screen = new MyTransitionScreen();
+	detector.onDisposed("game-screen", screen);
+	final ScreenLeakReport report = detector.report();
+	assertFalse(report.isClean());
+	assertEquals(Array.with("game-screen"), report.getLeakedScreenNames());
+	// Keep the screen reachable until the report is made
+	assertTrue(screen != null);
+    }
+
+    @Test
+    public void testScreenDisposedTwiceReported() {
+	final Screen screen = new MyTransitionScreen();
+	detector.onDisposed("game-screen", screen);
+	detector.onDisposed("other-game-screen", screen);
+	assertEquals(
+	    Array.with("other-game-screen"), detector.report().getDoubleDisposedScreenNames()
+	);
+    }
+
+    @Test
+    public void testScreenShownAfterDisposeReported() {
+	final Screen screen = new MyTransitionScreen();
+	detector.onDisposed("game-screen", screen);
+	detector.onShown("game-screen", screen);
+	assertEquals(
+	    Array.with("game-screen"), detector.report().getUsedAfterDisposeScreenNames()
+	);
+    }
+
+    @Test
+    public void testCreatedScreenCollectedWithoutDisposeReported() {
+	detector.onCreated("game-screen", new MyTransitionScreen());
+	final ScreenLeakReport report = detector.report();
+	assertFalse(report.isClean());
+	assertEquals(Array.with("game-screen"), report.getUndisposedScreenNames());
+	assertEquals(1, report.getCreatedCount());
+    }
+
+    @Test
+    public void testCreatedScreenDisposedNotReported() {
+	final Screen screen = new MyTransitionScreen();
+	detector.onCreated("game-screen", screen);
+	detector.onDisposed("game-screen", screen);
+	assertEquals(0, detector.report().getDoubleDisposedScreenNames().size);
+    }
+}
@@ -0,0 +1,74 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import libgdxscreencontrol.screen.ITransitionScreen;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+
+public class ScreenTimingsTest {
+
+    private ScreenTimings timings;
+
+    @Before
+    public void setUp() {
+	timings = new ScreenTimings();
+    }
+
+    @Test
+    public void testLongestTimeKept() {
+	timings.recordCreate("game-screen", 30);
+	timings.recordCreate("game-screen", 10);
+	timings.recordReset("game-screen", 5);
+	assertEquals(30, timings.getCreateNanos("game-screen"));
+	assertEquals(5, timings.getResetNanos("game-screen"));
+    }
+
+    @Test
+    public void testScreenNotTimedHasNoTime() {
+	assertFalse(timings.has("game-screen"));
+	assertEquals(0, timings.getCreateNanos("game-screen"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDryRunCreatesResetsAndDisposesScreens() {
+	final ITransitionScreen screen = mock(ITransitionScreen.class);
+	final ITransitionScreenFactory<ITransitionScreen> factory =
+	    mock(ITransitionScreenFactory.class);
+	when(factory.create()).thenReturn(screen);
+	final ScreenTimings measured = ScreenTimings.measure(
+	    new ScreenControllerBuilder()
+		.register("game-screen", factory)
+		.withStartingScreen("game-screen")
+	);
+	assertTrue(measured.has("game-screen"));
+	verify(screen).reset();
+	verify(screen).dispose();
+    }
+
+    @Test
+    public void testDryRunReleasesSharedScreens() {
+	final ITransitionScreen screen = mock(ITransitionScreen.class);
+	final SharedScreenRegistry registry = new SharedScreenRegistry();
+	registry.register("options-screen", () -> screen);
+	final ScreenControllerBuilder builder = new ScreenControllerBuilder()
+	    .registerShared("options-screen", registry)
+	    .withStartingScreen("options-screen");
+	ScreenTimings.measure(builder);
+	verify(screen, times(1)).dispose();
+	assertEquals(0, registry.getReferenceCount("options-screen"));
+	final ScreenController controller = builder.build();
+	assertEquals(1, registry.getReferenceCount("options-screen"));
+	controller.dispose();
+	verify(screen, times(2)).dispose();
+    }
+}
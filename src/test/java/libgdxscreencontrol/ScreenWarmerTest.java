@@ -0,0 +1,99 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import libgdxscreencontrol.screen.ITransitionScreen;
+
+public class ScreenWarmerTest {
+
+    @Mock
+    private ITransitionScreen s1, s2;
+
+    @Before
+    public void setUp() {
+	MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testScreenResetAfterConfiguredNumberOfRenders() {
+	final ScreenWarmer warmer = new ScreenWarmer(2, 0.5f);
+	warmer.step("screen1", s1);
+	verify(s1, never()).reset();
+	warmer.step("screen1", s1);
+	verify(s1, times(2)).render(0.5f);
+	verify(s1, times(1)).reset();
+	assertFalse(warmer.needsWarmUp("screen1"));
+    }
+
+    @Test
+    public void testPartiallyWarmedScreenNeedsResetWhenShown() {
+	final ScreenWarmer warmer = new ScreenWarmer(3, 0.5f);
+	warmer.step("screen1", s1);
+	assertTrue(warmer.onShown("screen1"));
+	assertFalse(warmer.needsWarmUp("screen1"));
+    }
+
+    @Test
+    public void testFullyWarmedScreenDoesNotNeedResetWhenShown() {
+	final ScreenWarmer warmer = new ScreenWarmer(1, 0.5f);
+	warmer.step("screen1", s1);
+	assertFalse(warmer.onShown("screen1"));
+    }
+
+    @Test
+    public void testPartiallyWarmedScreenResetWhenTargetChanges() {
+	final ScreenWarmer warmer = new ScreenWarmer(3, 0.5f);
+	warmer.step("screen1", s1);
+	warmer.step("screen2", s2);
+	verify(s1, times(1)).reset();
+    }
+
+    @Test
+    public void testDisabledWhenNoIterations() {
+	final ScreenWarmer warmer = new ScreenWarmer(0, 0.5f);
+	assertFalse(warmer.isEnabled());
+	assertFalse(warmer.needsWarmUp("screen1"));
+    }
+
+    @Test
+    public void testScreenShownBeforeAndHiddenAfterWarmUp() {
+	final ScreenWarmer warmer = new ScreenWarmer(2, 0.5f);
+	warmer.step("screen1", s1);
+	warmer.step("screen1", s1);
+	final InOrder order = inOrder(s1);
+	order.verify(s1).show();
+	order.verify(s1, times(2)).render(0.5f);
+	order.verify(s1).hide();
+	order.verify(s1).reset();
+	verify(s1, times(1)).show();
+    }
+
+    @Test
+    public void testPartiallyWarmedScreenHiddenWhenShown() {
+	final ScreenWarmer warmer = new ScreenWarmer(3, 0.5f);
+	warmer.step("screen1", s1);
+	warmer.onShown("screen1");
+	verify(s1, times(1)).hide();
+	verify(s1, never()).reset();
+    }
+
+    @Test
+    public void testPartiallyWarmedScreenHiddenWhenTargetChanges() {
+	final ScreenWarmer warmer = new ScreenWarmer(3, 0.5f);
+	warmer.step("screen1", s1);
+	warmer.step("screen2", s2);
+	verify(s1, times(1)).hide();
+	verify(s2, times(1)).show();
+    }
+}
@@ -0,0 +1,83 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class SessionRecordingTest {
+
+    @Test
+    public void testRecordedEntriesCanBeRead() {
+	final SessionRecording recording = new SessionRecording();
+	recording.record(100, SessionRecording.NONE, -1);
+	recording.record(200, SessionRecording.CHOICE, 3);
+	assertEquals(2, recording.size());
+	assertEquals(SessionRecording.CHOICE, recording.getKind(1));
+	assertEquals(3, recording.getChoice(1));
+	assertEquals(-1, recording.getChoice(0));
+	assertEquals(100, recording.getDuration());
+    }
+
+    @Test
+    public void testTriggerRecordedForGlobalEntries() {
+	final SessionRecording recording = new SessionRecording();
+	recording.record(100, SessionRecording.GLOBAL, 100);
+	assertEquals(100, recording.getTrigger(0));
+	assertEquals(-1, recording.getChoice(0));
+    }
+
+    @Test
+    public void testTargetRecordedForGoToEntries() {
+	final SessionRecording recording = new SessionRecording();
+	recording.record(100, SessionRecording.GO_TO, recording.idOf("menu-screen"));
+	recording.record(200, SessionRecording.GO_TO, recording.idOf("game-screen"));
+	recording.record(300, SessionRecording.GO_TO, recording.idOf("menu-screen"));
+	assertEquals("menu-screen", recording.getTarget(0));
+	assertEquals("game-screen", recording.getTarget(1));
+	assertEquals("menu-screen", recording.getTarget(2));
+	assertEquals(-1, recording.getChoice(0));
+    }
+
+    @Test
+    public void testChoiceIgnoredForEntriesNotOfKindChoice() {
+	final SessionRecording recording = new SessionRecording();
+	recording.record(100, SessionRecording.TRANSITION, 3);
+	assertEquals(-1, recording.getChoice(0));
+    }
+
+    @Test
+    public void testRecordingCanBeWrittenAndRead() throws IOException {
+	final SessionRecording recording = new SessionRecording();
+	recording.record(1_000_000_000_000L, SessionRecording.NONE, -1);
+	recording.record(1_000_016_000_000L, SessionRecording.TRANSITION, -1);
+	recording.record(1_900_000_000_000L, SessionRecording.CHOICE, 2);
+	recording.record(1_900_000_000_001L, SessionRecording.BACK, -1);
+	recording.record(1_900_000_000_002L, SessionRecording.GLOBAL, 100);
+	recording.record(
+	    1_900_000_000_003L, SessionRecording.GO_TO, recording.idOf("menu-screen")
+	);
+	final ByteArrayOutputStream out = new ByteArrayOutputStream();
+	recording.writeTo(out);
+
+	final SessionRecording read = SessionRecording.readFrom(
+	    new ByteArrayInputStream(out.toByteArray())
+	);
+	assertEquals(recording.size(), read.size());
+	for (int i = 0; i < recording.size(); i++) {
+	    assertEquals(recording.getKind(i), read.getKind(i));
+	    assertEquals(recording.getTimestamp(i), read.getTimestamp(i));
+	    assertEquals(recording.getChoice(i), read.getChoice(i));
+	    assertEquals(recording.getTrigger(i), read.getTrigger(i));
+	    assertEquals(recording.getTarget(i), read.getTarget(i));
+	}
+    }
+
+    @Test(expected=IOException.class)
+    public void testCorrectExceptionThrownOnReadingInvalidStream() throws IOException {
+	SessionRecording.readFrom(new ByteArrayInputStream(new byte[] {1, 2, 3, 4}));
+    }
+}
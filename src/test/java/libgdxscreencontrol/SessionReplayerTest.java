@@ -0,0 +1,142 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.ITransitionScreen;
+
+public class SessionReplayerTest {
+
+    private SessionRecording recording;
+    @Mock
+    private ITransitionScreen t1, t2;
+    @Mock
+    private IChoiceScreen c1;
+
+    @Before
+    public void setUp() {
+	MockitoAnnotations.initMocks(this);
+	recording = new SessionRecording();
+	final ScreenController controller = new ScreenControllerBuilder()
+	    .register("loading-screen", t1)
+	    .register("menu-screen", c1)
+	    .register("options-screen", t2)
+	    .withStartingScreen("loading-screen")
+	    .setSuccession("loading-screen", "menu-screen")
+	    .choice("menu-screen", "options-screen", 1)
+	    .setSuccession("options-screen", "menu-screen")
+	    .withRecording(recording)
+	    .build();
+	controller.update();
+	when(t1.isFinished()).thenReturn(true);
+	controller.update();
+	when(c1.isFinished()).thenReturn(true);
+	when(c1.getChoice()).thenReturn(1);
+	controller.update();
+	controller.back();
+    }
+
+    @Test
+    public void testSessionRecorded() {
+	assertEquals(4, recording.size());
+	assertEquals(SessionRecording.NONE, recording.getKind(0));
+	assertEquals(SessionRecording.TRANSITION, recording.getKind(1));
+	assertEquals(SessionRecording.CHOICE, recording.getKind(2));
+	assertEquals(1, recording.getChoice(2));
+	assertEquals(SessionRecording.BACK, recording.getKind(3));
+    }
+
+    @Test
+    public void testReplayWithStandInsMatchesRecording() {
+	final SessionReplayer replayer = new SessionReplayer(recording);
+	final ScreenController controller = new ScreenControllerBuilder()
+	    .register("loading-screen", replayer.transitionScreen())
+	    .register("menu-screen", replayer.choiceScreen())
+	    .register("options-screen", replayer.transitionScreen())
+	    .withStartingScreen("loading-screen")
+	    .setSuccession("loading-screen", "menu-screen")
+	    .choice("menu-screen", "options-screen", 1)
+	    .setSuccession("options-screen", "menu-screen")
+	    .build();
+	final SessionReplayer.Result result = replayer.replay(controller);
+	assertEquals(4, result.getEntries());
+	assertEquals(3, result.getTransitions());
+	assertEquals(0, result.getDivergences());
+	assertEquals(3, result.getPeakResidentScreens());
+    }
+
+    @Test
+    public void testReplayThroughDifferentGraphReportsDivergence() {
+	final SessionReplayer replayer = new SessionReplayer(recording);
+	final ScreenController controller = new ScreenControllerBuilder()
+	    .register("loading-screen", replayer.transitionScreen())
+	    .register("menu-screen", replayer.transitionScreen())
+	    .withStartingScreen("loading-screen")
+	    .setSuccession("loading-screen", "menu-screen")
+	    .setSuccession("menu-screen", "loading-screen")
+	    .withHistoryDepth(0)
+	    .build();
+	assertEquals(1, replayer.replay(controller).getDivergences());
+    }
+
+    @Test
+    public void testFiredTriggerReplayed() {
+	final SessionRecording globalRecording = new SessionRecording();
+	final ScreenController recorded = new ScreenControllerBuilder()
+	    .register("game-screen", t1)
+	    .register("pause-screen", t2)
+	    .globalTransition(100, "pause-screen")
+	    .withStartingScreen("game-screen")
+	    .withRecording(globalRecording)
+	    .build();
+	recorded.fire(100);
+	recorded.update();
+	assertEquals(SessionRecording.GLOBAL, globalRecording.getKind(0));
+	assertEquals(100, globalRecording.getTrigger(0));
+
+	final SessionReplayer replayer = new SessionReplayer(globalRecording);
+	final ScreenController controller = new ScreenControllerBuilder()
+	    .register("game-screen", replayer.transitionScreen())
+	    .register("pause-screen", replayer.transitionScreen())
+	    .globalTransition(100, "pause-screen")
+	    .withStartingScreen("game-screen")
+	    .build();
+	final SessionReplayer.Result result = replayer.replay(controller);
+	assertEquals(1, result.getTransitions());
+	assertEquals(0, result.getDivergences());
+    }
+
+    @Test
+    public void testGoToReplayed() {
+	final SessionRecording goToRecording = new SessionRecording();
+	final ScreenController recorded = new ScreenControllerBuilder()
+	    .register("loading-screen", t1)
+	    .register("options-screen", t2)
+	    .withStartingScreen("loading-screen")
+	    .withRecording(goToRecording)
+	    .build();
+	recorded.goTo("options-screen");
+	recorded.update();
+	assertEquals(SessionRecording.GO_TO, goToRecording.getKind(0));
+	assertEquals("options-screen", goToRecording.getTarget(0));
+
+	final SessionReplayer replayer = new SessionReplayer(goToRecording);
+	final ITransitionScreen options = replayer.transitionScreen();
+	final ScreenController controller = new ScreenControllerBuilder()
+	    .register("loading-screen", replayer.transitionScreen())
+	    .register("options-screen", options)
+	    .withStartingScreen("loading-screen")
+	    .build();
+	final SessionReplayer.Result result = replayer.replay(controller);
+	assertEquals(1, result.getTransitions());
+	assertEquals(0, result.getDivergences());
+	assertTrue(options == controller.get());
+    }
+}
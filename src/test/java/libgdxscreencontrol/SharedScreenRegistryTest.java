@@ -0,0 +1,91 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
+import libgdxscreencontrol.screen.ITransitionScreen;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+
+public class SharedScreenRegistryTest {
+
+    private SharedScreenRegistry registry;
+    private ITransitionScreen screen;
+    private ITransitionScreenFactory<ITransitionScreen> factory;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+	registry = new SharedScreenRegistry();
+	screen = mock(ITransitionScreen.class);
+	factory = mock(ITransitionScreenFactory.class);
+	when(factory.create()).thenReturn(screen);
+	registry.register("options-screen", factory);
+    }
+
+    @Test
+    public void testScreenCreatedOnceForEveryReference() {
+	assertTrue(screen == registry.transitionFactory("options-screen").create());
+	assertTrue(screen == registry.transitionFactory("options-screen").create());
+	verify(factory, times(1)).create();
+	assertEquals(2, registry.getReferenceCount("options-screen"));
+    }
+
+    @Test
+    public void testScreenDisposedWhenLastReferenceReleased() {
+	registry.transitionFactory("options-screen").create();
+	registry.transitionFactory("options-screen").create();
+	assertEquals(1, registry.release(screen));
+	verify(screen, never()).dispose();
+	assertEquals(0, registry.release(screen));
+	verify(screen, times(1)).dispose();
+	assertEquals(0, registry.getReferenceCount("options-screen"));
+    }
+
+    @Test
+    public void testScreenCreatedAgainAfterDisposed() {
+	registry.release(registry.transitionFactory("options-screen").create());
+	registry.transitionFactory("options-screen").create();
+	verify(factory, times(2)).create();
+    }
+
+    @Test
+    public void testReleaseOfUnsharedScreenIgnored() {
+	assertEquals(-1, registry.release(mock(ITransitionScreen.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testChoiceScreenRegistered() {
+	final IChoiceScreenFactory<IChoiceScreen> choiceFactory = mock(IChoiceScreenFactory.class);
+	registry.register("pause-screen", choiceFactory);
+	assertTrue(registry.isChoiceScreen("pause-screen"));
+    }
+
+    @Test
+    public void testFactoriesForSameScreenEqual() {
+	assertEquals(
+	    registry.transitionFactory("options-screen"),
+	    registry.transitionFactory("options-screen")
+	);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnScreenRegisteredTwice() {
+	registry.register("options-screen", factory);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnFactoryForScreenNotRegistered() {
+	registry.transitionFactory("not-a-screen");
+    }
+}
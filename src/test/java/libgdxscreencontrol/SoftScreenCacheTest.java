@@ -0,0 +1,54 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SoftScreenCacheTest {
+
+    private SoftScreenCache cache;
+
+    @Before
+    public void setUp() {
+	cache = new SoftScreenCache();
+    }
+
+    @Test
+    public void testPollReturnsNullWhenNothingCollected() {
+	cache.retain("screen1");
+	assertNull(cache.poll());
+	assertTrue(cache.isRetained("screen1"));
+    }
+
+    @Test
+    public void testPollReturnsCollectedScreen() {
+	cache.retain("screen1");
+	cache.retain("screen2");
+	cache.simulateCollection("screen2");
+	assertEquals("screen2", cache.poll());
+	assertFalse(cache.isRetained("screen2"));
+	assertNull(cache.poll());
+    }
+
+    @Test
+    public void testReleasedScreenNotReturnedByPoll() {
+	cache.retain("screen1");
+	cache.simulateCollection("screen1");
+	cache.release("screen1");
+	assertNull(cache.poll());
+    }
+
+    @Test
+    public void testScreenRetainedAgainNotReturnedForStaleToken() {
+	cache.retain("screen1");
+	cache.simulateCollection("screen1");
+	cache.release("screen1");
+	cache.retain("screen1");
+	assertNull(cache.poll());
+	assertTrue(cache.isRetained("screen1"));
+    }
+}
@@ -12,6 +12,7 @@ import org.mockito.MockitoAnnotations;
 
 import libgdxscreencontrol.screen.ITransitionScreen;
 import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFamilyFactory;
 
 public class TransitionScreenControllerTest {
 
@@ -20,6 +21,8 @@ public class TransitionScreenControllerTest {
     private ITransitionScreen s1, s2, s3;
     @Mock
     private ITransitionScreenFactory<ITransitionScreen> f1, f2, f3;    
+    @Mock
+    private ITransitionScreenFamilyFactory<ITransitionScreen> ff1;
 
     @Before
     public void setUp() {
@@ -81,5 +84,124 @@ public class TransitionScreenControllerTest {
 	tsController.setTransition("screen1", "screen2");
 	tsController.getTransition("screen2");
     }
+
+    @Test
+    public void testFactoryScreenNotCreatedUntilGet() {
+	tsController.add("screen1", f1);
+	assertFalse(tsController.isCreated("screen1"));
+	tsController.get("screen1");
+	assertTrue(tsController.isCreated("screen1"));
+    }
+
+    @Test
+    public void testGetReturnsScreenSetAsCreated() {
+	tsController.add("screen1", f1);
+	tsController.setCreated("screen1", s2);
+	assertTrue(s2 == tsController.get("screen1"));
+	Mockito.verify(f1, Mockito.never()).create();
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnSetCreatedWithoutFactory() {
+	tsController.add("screen1", s1);
+	tsController.setCreated("screen1", s2);
+    }
+
+    @Test
+    public void testEvictedFactoryScreenCreatedAgain() {
+	tsController.add("screen1", f1);
+	Mockito.when(f1.create()).thenReturn(s1, s2);
+	tsController.get("screen1");
+	assertTrue(s1 == tsController.evict("screen1"));
+	assertFalse(tsController.isCreated("screen1"));
+	assertTrue(s2 == tsController.get("screen1"));
+    }
+
+    @Test
+    public void testScreenAddedAsInstanceNotEvicted() {
+	tsController.add("screen1", s1);
+	assertTrue(tsController.evict("screen1") == null);
+	assertTrue(s1 == tsController.get("screen1"));
+    }
+
+    @Test
+    public void testOnlyCreatedFactoryScreensEvictable() {
+	tsController.add("screen1", s1);
+	tsController.add("screen2", f1);
+	tsController.add("screen3", f2);
+	Mockito.when(f1.create()).thenReturn(s2);
+	tsController.get("screen2");
+	assertEquals(1, tsController.getEvictableNames().size);
+	assertEquals("screen2", tsController.getEvictableNames().first());
+    }
     
+
+    @Test
+    public void testFamilyMembersInRangeContainedInController() {
+	tsController.addFamily("level", 0, 999, i -> s1);
+	assertTrue(tsController.has("level/0"));
+	assertTrue(tsController.has("level/999"));
+	assertFalse(tsController.has("level/1000"));
+	assertFalse(tsController.has("level"));
+    }
+
+    @Test
+    public void testFamilyMemberCreatedWithParameterOnlyWhenFirstNeeded() {
+	Mockito.when(ff1.create(7)).thenReturn(s1);
+	tsController.addFamily("level", 0, 999, ff1);
+	assertFalse(tsController.isCreated("level/7"));
+	assertTrue(s1 == tsController.get("level/7"));
+	assertTrue(s1 == tsController.get("level/7"));
+	Mockito.verify(ff1, Mockito.times(1)).create(Mockito.anyInt());
+	assertEquals(1, tsController.getEvictableNames().size);
+    }
+
+    @Test
+    public void testFamilyTransitionAppliedToParameter() {
+	tsController.addFamily("level", 0, 999, i -> s1);
+	tsController.setFamilyTransition("level", i -> "level/" + (i + 1));
+	assertTrue(tsController.hasTransition("level/3"));
+	assertEquals("level/4", tsController.getTransition("level/3"));
+    }
+
+    @Test
+    public void testTransitionOfMemberTakesPrecedenceOverFamilyTransition() {
+	tsController.addFamily("level", 0, 999, i -> s1);
+	tsController.setFamilyTransition("level", i -> "level/" + (i + 1));
+	tsController.setTransition("level/999", "credits");
+	assertEquals("credits", tsController.getTransition("level/999"));
+    }
+
+    @Test
+    public void testEvictedFamilyMemberCreatedAgain() {
+	tsController.addFamily("level", 0, 9, i -> Mockito.mock(ITransitionScreen.class));
+	final ITransitionScreen screen = tsController.get("level/1");
+	assertTrue(tsController.hasFactory("level/1"));
+	assertTrue(screen == tsController.evict("level/1"));
+	assertFalse(screen == tsController.get("level/1"));
+    }
+
+    @Test
+    public void testCopyDoesNotHoldCreatedFamilyMembers() {
+	tsController.addFamily("level", 0, 9, i -> s1);
+	tsController.get("level/1");
+	final TransitionScreenController copy = tsController.copy();
+	assertTrue(copy.has("level/1"));
+	assertFalse(copy.isCreated("level/1"));
+    }
+
+    @Test
+    public void testRemovedFamilyNoLongerContainedInController() {
+	tsController.addFamily("level", 0, 9, i -> s1);
+	tsController.get("level/1");
+	tsController.removeFamily("level");
+	assertFalse(tsController.has("level/1"));
+	assertFalse(tsController.isCreated("level/1"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCorrectExceptionThrownOnFamilyAddedTwice() {
+	tsController.addFamily("level", 0, 9, i -> s1);
+	tsController.addFamily("level", 0, 9, i -> s2);
+    }
 }
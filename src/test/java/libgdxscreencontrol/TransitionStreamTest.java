@@ -0,0 +1,131 @@
+package libgdxscreencontrol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TransitionStreamTest {
+
+    private TransitionStream stream;
+
+    @Before
+    public void setUp() {
+	stream = new TransitionStream(4);
+    }
+
+    @Test
+    public void testCapacityRoundedUpToPowerOfTwo() {
+	assertEquals(8, new TransitionStream(5).getCapacity());
+	assertEquals(1, new TransitionStream(1).getCapacity());
+    }
+
+    @Test
+    public void testPublishedRecordRead() {
+	stream.publish(TransitionStream.CHOICE, 1, 2, 3, 100L, 7L);
+	final TransitionStream.Cursor cursor = stream.newCursor();
+	assertTrue(cursor.next());
+	assertEquals(TransitionStream.CHOICE, cursor.getKind());
+	assertEquals(1, cursor.getFromId());
+	assertEquals(2, cursor.getToId());
+	assertEquals(3, cursor.getChoice());
+	assertEquals(100L, cursor.getTimestamp());
+	assertEquals(7L, cursor.getFrame());
+	assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testNegativeChoiceRead() {
+	stream.publish(TransitionStream.BACK, 0, 1, -1, 0L, 0L);
+	final TransitionStream.Cursor cursor = stream.newCursor();
+	assertTrue(cursor.next());
+	assertEquals(-1, cursor.getChoice());
+	assertEquals(TransitionStream.BACK, cursor.getKind());
+    }
+
+    @Test
+    public void testTriggerReadOnlyFromGlobalRecord() {
+	stream.publish(TransitionStream.GLOBAL, 0, 1, 5, 0L, 0L);
+	final TransitionStream.Cursor cursor = stream.newCursor();
+	assertTrue(cursor.next());
+	assertEquals(5, cursor.getTrigger());
+	assertEquals(-1, cursor.getChoice());
+    }
+
+    @Test
+    public void testCursorsReadIndependently() {
+	final TransitionStream.Cursor first = stream.newCursor();
+	final TransitionStream.Cursor second = stream.newCursor();
+	stream.publish(TransitionStream.TRANSITION, 0, 1, -1, 0L, 1L);
+	assertTrue(first.next());
+	assertFalse(first.next());
+	assertTrue(second.next());
+	assertEquals(1, second.getToId());
+    }
+
+    @Test
+    public void testOverwrittenRecordsCountedAsLost() {
+	final TransitionStream.Cursor cursor = stream.newCursor();
+	for (int i = 0; i < 10; i++) {
+	    stream.publish(TransitionStream.TRANSITION, i, i + 1, -1, i, i);
+	}
+	assertTrue(cursor.next());
+	assertEquals(6, cursor.getFromId());
+	assertEquals(6, cursor.getLostCount());
+	int read = 1;
+	while (cursor.next()) {
+	    read++;
+	}
+	assertEquals(4, read);
+    }
+
+    @Test
+    public void testNewCursorStartsAtOldestRecordHeld() {
+	for (int i = 0; i < 10; i++) {
+	    stream.publish(TransitionStream.TRANSITION, i, i + 1, -1, i, i);
+	}
+	final TransitionStream.Cursor cursor = stream.newCursor();
+	assertTrue(cursor.next());
+	assertEquals(6, cursor.getFromId());
+	assertEquals(0, cursor.getLostCount());
+    }
+
+    @Test
+    public void testScreenNamesLookedUpById() {
+	stream.putName(0, "loading-screen");
+	stream.putName(1, "menu-screen");
+	assertEquals("menu-screen", stream.getScreenName(1));
+	assertNull(stream.getScreenName(2));
+    }
+
+    @Test
+    public void testConcurrentConsumerReadsRecordsInOrder() throws InterruptedException {
+	final int count = 200_000;
+	final long[] result = new long[2];
+	final TransitionStream.Cursor cursor = stream.newCursor();
+	final Thread consumer = new Thread(() -> {
+	    long read = 0;
+	    long previous = -1;
+	    while (read + cursor.getLostCount() < count) {
+		if (cursor.next()) {
+		    if (cursor.getFrame() <= previous || cursor.getToId() != cursor.getFromId() + 1) {
+			result[1]++;
+		    }
+		    previous = cursor.getFrame();
+		    read++;
+		}
+	    }
+	    result[0] = read + cursor.getLostCount();
+	});
+	consumer.start();
+	for (int i = 0; i < count; i++) {
+	    stream.publish(TransitionStream.TRANSITION, i, i + 1, -1, i, i);
+	}
+	consumer.join(10_000);
+	assertEquals(count, result[0]);
+	assertEquals(0, result[1]);
+    }
+}
@@ -0,0 +1,366 @@
+package libgdxscreencontrol.stress;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import com.badlogic.gdx.ScreenAdapter;
+
+import libgdxscreencontrol.AllocationCounter;
+import libgdxscreencontrol.ScreenController;
+import libgdxscreencontrol.ScreenControllerBuilder;
+import libgdxscreencontrol.screen.IChoiceScreen;
+import libgdxscreencontrol.screen.IChoiceScreen.IChoiceScreenFactory;
+import libgdxscreencontrol.screen.ITransitionScreen.ITransitionScreenFactory;
+import lombok.NonNull;
+
+/**
+ * Soak and stress harness, which registers a randomly generated graph of screens with a {@link ScreenController} and drives it through a number of transitions, without a graphics context. Reports the throughput of <code>update()</code>, the bytes allocated per transition, the most screens created at once and, for graphs of at least 10,000 screens, the heap retained per registered screen. Run with <code>./gradlew stress --args="--screens 1000000 --transitions 50000000"</code>.
+ */
+public class ScreenGraphStress {
+
+    // Below this, heap noise outweighs what the screens retain
+    private static final int MIN_RETAINED_SCREENS = 10_000;
+    private static final long SETTLED_HEAP_BYTES = 64 * 1024;
+    private static final int MAX_GCS = 10;
+
+    private int screens = 1000;
+    private int fanOut = 4;
+    private double choiceRatio = 0.5;
+    private long createCostNanos;
+    private long transitions = 1_000_000L;
+    private long seed = 42;
+    private boolean softRetention;
+
+    /**
+     * Set the number of screens of the generated graph.
+     *
+     * @param screens number of screens
+     * @return this instance for chaining
+     */
+    public ScreenGraphStress withScreens(final int screens) {
+	this.screens = screens;
+	return this;
+    }
+
+    /**
+     * Set the number of choices of each choice screen.
+     *
+     * @param fanOut number of choices
+     * @return this instance for chaining
+     */
+    public ScreenGraphStress withFanOut(final int fanOut) {
+	this.fanOut = fanOut;
+	return this;
+    }
+
+    /**
+     * Set the fraction of screens which are choice screens, the rest being transition screens.
+     *
+     * @param choiceRatio fraction from 0 to 1
+     * @return this instance for chaining
+     */
+    public ScreenGraphStress withChoiceRatio(final double choiceRatio) {
+	this.choiceRatio = choiceRatio;
+	return this;
+    }
+
+    /**
+     * Set the time each factory spins for when creating a screen.
+     *
+     * @param createCostNanos time in nanoseconds
+     * @return this instance for chaining
+     */
+    public ScreenGraphStress withCreateCost(final long createCostNanos) {
+	this.createCostNanos = createCostNanos;
+	return this;
+    }
+
+    /**
+     * Set the number of transitions to drive.
+     *
+     * @param transitions number of transitions
+     * @return this instance for chaining
+     */
+    public ScreenGraphStress withTransitions(final long transitions) {
+	this.transitions = transitions;
+	return this;
+    }
+
+    /**
+     * Set the seed of the generated graph and of the choices made.
+     *
+     * @param seed random seed
+     * @return this instance for chaining
+     */
+    public ScreenGraphStress withSeed(final long seed) {
+	this.seed = seed;
+	return this;
+    }
+
+    /**
+     * Set whether inactive screens may be disposed of under heap pressure, see <code>ScreenControllerBuilder.withSoftRetention()</code>.
+     *
+     * @param softRetention true to enable soft retention
+     * @return this instance for chaining
+     */
+    public ScreenGraphStress withSoftRetention(final boolean softRetention) {
+	this.softRetention = softRetention;
+	return this;
+    }
+
+    /**
+     * Generate the graph, drive it and measure the run.
+     *
+     * @return measurements of the run
+     */
+    public Result run() {
+	final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+	final long heapBefore = usedHeapAfterGc(memory);
+	final StressScreens stressScreens = new StressScreens(fanOut, createCostNanos, seed);
+	final ScreenControllerBuilder builder = new ScreenControllerBuilder()
+	    .withSoftRetention(softRetention);
+	final IChoiceScreenFactory<StressScreen> choiceFactory = stressScreens::create;
+	final ITransitionScreenFactory<StressScreen> transitionFactory = stressScreens::create;
+	final XorShift random = new XorShift(seed);
+	for (int i = 0; i < screens; i++) {
+	    if (random.nextDouble() < choiceRatio) {
+		builder.register(nameOf(i), choiceFactory);
+		for (int choice = 0; choice < fanOut; choice++) {
+		    builder.choice(nameOf(i), nameOf(random.nextInt(screens)), choice);
+		}
+	    }
+	    else {
+		builder.register(nameOf(i), transitionFactory);
+		builder.setSuccession(nameOf(i), nameOf(random.nextInt(screens)));
+	    }
+	}
+	final ScreenController controller = builder.withStartingScreen(nameOf(0)).build();
+	final long heapAfter = usedHeapAfterGc(memory);
+
+	final long allocatedBefore = AllocationCounter.currentThreadAllocatedBytes();
+	final long start = System.nanoTime();
+	long changes = 0;
+	int peakResident = 0;
+	for (long i = 0; i < transitions; i++) {
+	    if (controller.update()) {
+		changes++;
+	    }
+	    peakResident = Math.max(peakResident, stressScreens.resident);
+	}
+	final long elapsed = System.nanoTime() - start;
+	final long allocated = AllocationCounter.currentThreadAllocatedBytes() - allocatedBefore;
+	controller.dispose();
+	return new Result(
+	    screens,
+	    changes,
+	    elapsed,
+	    allocatedBefore < 0 ? -1 : (double) allocated / Math.max(1, changes),
+	    peakResident,
+	    retainedBytesPerScreen(heapAfter - heapBefore)
+	);
+    }
+
+    private static String nameOf(final int screen) {
+	return "screen-" + screen;
+    }
+
+    // Collects until the used heap stops shrinking, so garbage left over from before is not counted
+    private static long usedHeapAfterGc(@NonNull final MemoryMXBean memory) {
+	long used = Long.MAX_VALUE;
+	for (int i = 0; i < MAX_GCS; i++) {
+	    System.gc();
+	    final long previous = used;
+	    used = memory.getHeapMemoryUsage().getUsed();
+	    if (previous - used < SETTLED_HEAP_BYTES) {
+		break;
+	    }
+	}
+	return used;
+    }
+
+    // NaN when the measurement is unreliable, for small graphs or a heap which shrank
+    private double retainedBytesPerScreen(final long retainedBytes) {
+	if (screens < MIN_RETAINED_SCREENS || retainedBytes < 0) {
+	    return Double.NaN;
+	}
+	return (double) retainedBytes / screens;
+    }
+
+    public static void main(final String[] args) {
+	final ScreenGraphStress stress = new ScreenGraphStress();
+	for (int i = 0; i + 1 < args.length; i += 2) {
+	    final String value = args[i + 1];
+	    switch (args[i]) {
+	    case "--screens":
+		stress.withScreens(Integer.parseInt(value));
+		break;
+	    case "--fan-out":
+		stress.withFanOut(Integer.parseInt(value));
+		break;
+	    case "--choice-ratio":
+		stress.withChoiceRatio(Double.parseDouble(value));
+		break;
+	    case "--create-cost-nanos":
+		stress.withCreateCost(Long.parseLong(value));
+		break;
+	    case "--transitions":
+		stress.withTransitions(Long.parseLong(value));
+		break;
+	    case "--seed":
+		stress.withSeed(Long.parseLong(value));
+		break;
+	    case "--soft-retention":
+		stress.withSoftRetention(Boolean.parseBoolean(value));
+		break;
+	    default:
+		throw new IllegalArgumentException("Unknown option: " + args[i]);
+	    }
+	}
+	System.out.println(stress.run());
+    }
+
+    /**
+     * Measurements of a run of the harness.
+     */
+    public static final class Result {
+
+	private final int screens;
+	private final long transitions;
+	private final long elapsedNanos;
+	private final double bytesPerTransition;
+	private final int peakResidentScreens;
+	private final double retainedBytesPerScreen;
+
+	private Result(
+	    final int screens,
+	    final long transitions,
+	    final long elapsedNanos,
+	    final double bytesPerTransition,
+	    final int peakResidentScreens,
+	    final double retainedBytesPerScreen
+	) {
+	    this.screens = screens;
+	    this.transitions = transitions;
+	    this.elapsedNanos = elapsedNanos;
+	    this.bytesPerTransition = bytesPerTransition;
+	    this.peakResidentScreens = peakResidentScreens;
+	    this.retainedBytesPerScreen = retainedBytesPerScreen;
+	}
+
+	public long getTransitions() {
+	    return transitions;
+	}
+
+	public double getTransitionsPerSecond() {
+	    return transitions * 1e9 / Math.max(1, elapsedNanos);
+	}
+
+	public double getBytesPerTransition() {
+	    return bytesPerTransition;
+	}
+
+	public int getPeakResidentScreens() {
+	    return peakResidentScreens;
+	}
+
+	/**
+	 * Get the heap retained per registered screen.
+	 *
+	 * @return retained bytes per screen, or NaN if too few screens were registered to measure it reliably
+	 */
+	public double getRetainedBytesPerScreen() {
+	    return retainedBytesPerScreen;
+	}
+
+	@Override
+	public String toString() {
+	    return String.format(
+		"screens=%d transitions=%d transitionsPerSecond=%.0f bytesPerTransition=%.2f" +
+		" peakResidentScreens=%d retainedBytesPerScreen=%s",
+		screens, transitions, getTransitionsPerSecond(), bytesPerTransition,
+		peakResidentScreens, Double.isNaN(retainedBytesPerScreen) ?
+		"unreliable" : String.format("%.1f", retainedBytesPerScreen)
+	    );
+	}
+    }
+
+    // Factories shared by every screen, so the heap retained is the library's
+    private static final class StressScreens {
+
+	private final int fanOut;
+	private final long createCostNanos;
+	@NonNull
+	private final XorShift random;
+	private int resident;
+
+	private StressScreens(final int fanOut, final long createCostNanos, final long seed) {
+	    this.fanOut = fanOut;
+	    this.createCostNanos = createCostNanos;
+	    this.random = new XorShift(seed ^ 0x5DEECE66DL);
+	}
+
+	private StressScreen create() {
+	    final long end = System.nanoTime() + createCostNanos;
+	    while (createCostNanos > 0 && System.nanoTime() < end) {
+		// Spin to simulate the cost of creating a screen
+	    }
+	    resident++;
+	    return new StressScreen(this);
+	}
+    }
+
+    private static final class StressScreen extends ScreenAdapter implements IChoiceScreen {
+
+	@NonNull
+	private final StressScreens screens;
+
+	private StressScreen(@NonNull final StressScreens screens) {
+	    this.screens = screens;
+	}
+
+	@Override
+	public boolean isFinished() {
+	    return true;
+	}
+
+	@Override
+	public void reset() {
+
+	}
+
+	@Override
+	public int getChoice() {
+	    return screens.random.nextInt(screens.fanOut);
+	}
+
+	@Override
+	public void dispose() {
+	    screens.resident--;
+	}
+    }
+
+    // Unlike java.util.Random, does not update an AtomicLong seed by compare-and-set on every call, which would be counted as the library's cost
+    private static final class XorShift {
+
+	private long state;
+
+	private XorShift(final long seed) {
+	    this.state = seed == 0 ? 1 : seed;
+	}
+
+	private long next() {
+	    state ^= state << 13;
+	    state ^= state >>> 7;
+	    state ^= state << 17;
+	    return state;
+	}
+
+	private int nextInt(final int bound) {
+	    return (int) ((next() >>> 1) % bound);
+	}
+
+	private double nextDouble() {
+	    return (next() >>> 11) * 0x1.0p-53;
+	}
+    }
+}
@@ -0,0 +1,21 @@
+package libgdxscreencontrol.stress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ScreenGraphStressTest {
+
+    @Test
+    public void testSmallGraphDrivenThroughEveryUpdate() {
+	final ScreenGraphStress.Result result = new ScreenGraphStress()
+	    .withScreens(100)
+	    .withFanOut(3)
+	    .withTransitions(10_000)
+	    .run();
+	assertEquals(10_000, result.getTransitions());
+	assertTrue(result.getPeakResidentScreens() <= 100);
+	assertTrue(result.getTransitionsPerSecond() > 0);
+    }
+}